@@ -0,0 +1,27 @@
+package com.wdp.start.bench;
+
+import com.wdp.start.world.MaterialTraits;
+
+/**
+ * Trait table for the synthetic worlds
+ *
+ * There is no server in a benchmark run, so the table is not built when the class loads.
+ * The plugin's own defaults are built instead, so benchmarks classify blocks exactly
+ * like the plugin does without config additions.
+ */
+final class BenchmarkTraits {
+
+    private static boolean installed = false;
+
+    private BenchmarkTraits() {
+    }
+
+    static synchronized void install() {
+        if (installed) {
+            return;
+        }
+
+        MaterialTraits.loadDefaults();
+        installed = true;
+    }
+}
@@ -0,0 +1,148 @@
+package com.wdp.start.bench;
+
+import com.wdp.start.path.AStarPathfinder;
+import com.wdp.start.world.TreeScanner;
+import org.bukkit.Location;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Fixed scenario set for checking that optimizations do not change results
+ *
+ * Every scenario runs on a synthetic world generated from {@link #SEED} and produces a short
+ * text result (path length and end point, tree position). Record the results once, then
+ * verify against them after a change; any difference means the change altered behavior,
+ * not just speed.
+ *
+ * Usage: {@code java -cp target/benchmarks.jar com.wdp.start.bench.GoldenScenarios record|verify <file>}
+ */
+public final class GoldenScenarios {
+
+    // Seed used by the benchmarks and the scenarios, changing it invalidates recorded results
+    public static final long SEED = 0x5744505354415254L;
+
+    private GoldenScenarios() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || !(args[0].equals("record") || args[0].equals("verify"))) {
+            System.err.println("Usage: GoldenScenarios record|verify <file>");
+            System.exit(2);
+            return;
+        }
+
+        BenchmarkTraits.install();
+        Path file = Path.of(args[1]);
+        Map<String, String> results = run();
+
+        if (args[0].equals("record")) {
+            List<String> unreached = checkFullPaths(results);
+            if (!unreached.isEmpty()) {
+                // Every world is built so its start and end are connected, a shorter path means broken traits
+                unreached.forEach(System.err::println);
+                System.err.println("Not recording, check the API jar and the trait table");
+                System.exit(1);
+                return;
+            }
+            Properties properties = new Properties();
+            properties.putAll(results);
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "WDP-Start golden scenario results");
+            }
+            System.out.println("Recorded " + results.size() + " scenarios to " + file);
+            return;
+        }
+
+        Properties expected = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            expected.load(reader);
+        }
+
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, String> entry : results.entrySet()) {
+            String want = expected.getProperty(entry.getKey());
+            if (!entry.getValue().equals(want)) {
+                failures.add(entry.getKey() + ": expected " + want + ", got " + entry.getValue());
+            }
+        }
+        for (String key : expected.stringPropertyNames()) {
+            if (!results.containsKey(key)) {
+                failures.add(key + ": recorded but no longer run");
+            }
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("All " + results.size() + " scenarios match " + file);
+        } else {
+            failures.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run every scenario
+     * @return Result text by scenario name, sorted by name
+     */
+    static Map<String, String> run() {
+        Map<String, String> results = new TreeMap<>();
+
+        for (Terrain terrain : Terrain.values()) {
+            SyntheticWorld world = SyntheticWorld.generate(terrain, SEED);
+            String prefix = terrain.name().toLowerCase() + ".";
+
+            List<Location> path = AStarPathfinder.findPath(world.getBlocks(), world.getStart(), world.getEnd(), 400);
+            results.put(prefix + "path", describePath(path));
+
+            // Short path, stays within a single region of the world
+            Location near = world.getStart().clone().add(12, 0, 6);
+            near.setY(world.getBlocks().getHighestBlockYAt(near.getBlockX(), near.getBlockZ()) + 1);
+            results.put(prefix + "path.short", describePath(AStarPathfinder.findPath(world.getBlocks(), world.getStart(), near, 400)));
+
+            Location tree = TreeScanner.findNearbyTree(world.getBlocks(), SyntheticWorld.SIZE / 2, SyntheticWorld.SIZE / 2,
+                WorldScanBenchmark.SEARCH_RADIUS, WorldScanBenchmark.MIN_Y, WorldScanBenchmark.MAX_Y);
+            results.put(prefix + "tree", describe(tree));
+        }
+
+        return results;
+    }
+
+    /**
+     * Full paths that do not end at their world's end point
+     * @return One message per terrain whose path falls short
+     */
+    static List<String> checkFullPaths(Map<String, String> results) {
+        List<String> unreached = new ArrayList<>();
+        for (Terrain terrain : Terrain.values()) {
+            String key = terrain.name().toLowerCase() + ".path";
+            String end = describe(SyntheticWorld.generate(terrain, SEED).getEnd());
+            String result = results.get(key);
+            if (result == null || !result.endsWith(" to " + end)) {
+                unreached.add(key + ": expected to reach " + end + ", got " + result);
+            }
+        }
+        return unreached;
+    }
+
+    private static String describePath(List<Location> path) {
+        if (path.isEmpty()) {
+            return "none";
+        }
+        return path.size() + " points to " + describe(path.get(path.size() - 1));
+    }
+
+    private static String describe(Location loc) {
+        if (loc == null) {
+            return "none";
+        }
+        return loc.getBlockX() + "," + loc.getBlockY() + "," + loc.getBlockZ();
+    }
+}
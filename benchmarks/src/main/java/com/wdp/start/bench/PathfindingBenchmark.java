@@ -0,0 +1,55 @@
+package com.wdp.start.bench;
+
+import com.wdp.start.path.AStarPathfinder;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A* path search between the corners of each synthetic world
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathfindingBenchmark {
+
+    @Param({"FLAT", "FOREST", "MOUNTAINOUS", "MAZE", "CAVE"})
+    public Terrain terrain;
+
+    @Param({"400"})
+    public int maxDistance;
+
+    private VoxelBlockSource blocks;
+    private Location start;
+    private Location end;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkTraits.install();
+        SyntheticWorld world = SyntheticWorld.generate(terrain, GoldenScenarios.SEED);
+        blocks = world.getBlocks();
+        start = world.getStart();
+        end = world.getEnd();
+    }
+
+    @Benchmark
+    public List<Location> findPath() {
+        return AStarPathfinder.findPath(blocks, start, end, maxDistance);
+    }
+}
@@ -0,0 +1,116 @@
+package com.wdp.start.bench;
+
+import com.wdp.start.path.PortalZone;
+import com.wdp.start.path.PortalZoneRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portal zone lookup as run on every player move
+ *
+ * The registry holds {@link #zones} small zones spread over {@link #WORLDS} worlds, plus
+ * {@link #LARGE_ZONES} zones per world too large to index by chunk (such as a WorldGuard
+ * region spanning the world). One operation looks up a batch of positions the way
+ * PortalZoneManager.getZoneAt does: the registry's candidates, then the exact box test.
+ * Half of the positions are next to a zone, the rest anywhere in their world.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortalZoneBenchmark {
+
+    static final int POSITIONS = 1024;
+    static final int WORLDS = 4;
+    static final int LARGE_ZONES = 2;
+
+    // Zones and positions stay within this many blocks of the world origin
+    static final int SPREAD = 8192;
+
+    @Param({"16", "1024", "16384"})
+    public int zones;
+
+    private PortalZoneRegistry registry;
+    private String[] worlds;
+    private String[] positionWorlds;
+    private int[] positions;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        registry = new PortalZoneRegistry(null, new File("portal-zones.yml"));
+        worlds = new String[WORLDS];
+        for (int w = 0; w < WORLDS; w++) {
+            worlds[w] = "world_" + w;
+        }
+
+        Random random = new Random(GoldenScenarios.SEED);
+        PortalZone[] placed = new PortalZone[zones];
+        for (int i = 0; i < zones; i++) {
+            int x = random.nextInt(2 * SPREAD) - SPREAD;
+            int y = random.nextInt(160) - 32;
+            int z = random.nextInt(2 * SPREAD) - SPREAD;
+            placed[i] = new PortalZone("zone_" + i, worlds[i % WORLDS], x, y, z,
+                x + 4 + random.nextInt(44), y + 4 + random.nextInt(12), z + 4 + random.nextInt(44), null);
+            registry.add(placed[i]);
+        }
+        for (int w = 0; w < WORLDS; w++) {
+            for (int i = 0; i < LARGE_ZONES; i++) {
+                // More chunks than the registry indexes, full world height
+                int x = random.nextInt(SPREAD) - SPREAD;
+                int z = random.nextInt(SPREAD) - SPREAD;
+                registry.add(new PortalZone("large_" + w + "_" + i, worlds[w], x, -64, z,
+                    x + SPREAD, 320, z + SPREAD, null));
+            }
+        }
+
+        positionWorlds = new String[POSITIONS];
+        positions = new int[POSITIONS * 3];
+        for (int i = 0; i < POSITIONS; i++) {
+            if (i % 2 == 0) {
+                PortalZone near = placed[random.nextInt(zones)];
+                positionWorlds[i] = near.getWorldName();
+                positions[i * 3] = near.getMinX() - 8 + random.nextInt(near.getMaxX() - near.getMinX() + 16);
+                positions[i * 3 + 1] = near.getMinY() - 4 + random.nextInt(near.getMaxY() - near.getMinY() + 8);
+                positions[i * 3 + 2] = near.getMinZ() - 8 + random.nextInt(near.getMaxZ() - near.getMinZ() + 16);
+            } else {
+                positionWorlds[i] = worlds[random.nextInt(WORLDS)];
+                positions[i * 3] = random.nextInt(2 * SPREAD) - SPREAD;
+                positions[i * 3 + 1] = random.nextInt(384) - 64;
+                positions[i * 3 + 2] = random.nextInt(2 * SPREAD) - SPREAD;
+            }
+        }
+    }
+
+    @Benchmark
+    public void getZoneAt(Blackhole blackhole) {
+        for (int i = 0; i < POSITIONS; i++) {
+            blackhole.consume(zoneAt(positionWorlds[i], positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]));
+        }
+    }
+
+    private PortalZone zoneAt(String world, int x, int y, int z) {
+        for (PortalZone candidate : registry.getCandidates(world, x, z)) {
+            if (candidate.contains(world, x, y, z)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,291 @@
+package com.wdp.start.bench;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Deterministic voxel world for benchmarks
+ *
+ * The same terrain and seed always produce the same blocks, so results can be compared
+ * between runs and between versions of the pathfinder. Every world has a start and an end
+ * point on opposite corners for path searches.
+ */
+public final class SyntheticWorld {
+
+    public static final int SIZE = 160;
+    public static final int HEIGHT = 128;
+    public static final int GROUND = 64;
+
+    // Distance of the start and end points from the world edge
+    private static final int MARGIN = 8;
+
+    private final Terrain terrain;
+    private final VoxelBlockSource blocks;
+    private Location start;
+    private Location end;
+
+    private SyntheticWorld(Terrain terrain) {
+        this.terrain = terrain;
+        this.blocks = new VoxelBlockSource(0, 0, 0, SIZE, HEIGHT, SIZE);
+    }
+
+    /**
+     * Generate a world
+     */
+    public static SyntheticWorld generate(Terrain terrain, long seed) {
+        SyntheticWorld world = new SyntheticWorld(terrain);
+        Random random = new Random(seed);
+
+        switch (terrain) {
+            case FLAT -> world.flat();
+            case FOREST -> world.forest(random);
+            case MOUNTAINOUS -> world.mountains(random);
+            case MAZE -> world.maze(random);
+            case CAVE -> world.cave(random);
+        }
+
+        if (world.start == null) {
+            world.start = world.surfacePoint(MARGIN, MARGIN);
+            world.end = world.surfacePoint(SIZE - 1 - MARGIN, SIZE - 1 - MARGIN);
+        }
+        return world;
+    }
+
+    public Terrain getTerrain() {
+        return terrain;
+    }
+
+    public VoxelBlockSource getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Feet position to start path searches from
+     */
+    public Location getStart() {
+        return start;
+    }
+
+    /**
+     * Feet position path searches should reach
+     */
+    public Location getEnd() {
+        return end;
+    }
+
+    private Location surfacePoint(int x, int z) {
+        return new Location(null, x + 0.5, blocks.getHighestBlockYAt(x, z) + 1, z + 0.5);
+    }
+
+    private void flat() {
+        blocks.fill(0, 0, 0, SIZE - 1, 0, SIZE - 1, Material.BEDROCK);
+        blocks.fill(0, 1, 0, SIZE - 1, GROUND - 4, SIZE - 1, Material.STONE);
+        blocks.fill(0, GROUND - 3, 0, SIZE - 1, GROUND - 1, SIZE - 1, Material.DIRT);
+        blocks.fill(0, GROUND, 0, SIZE - 1, GROUND, SIZE - 1, Material.GRASS_BLOCK);
+    }
+
+    /**
+     * Flat ground with trees roughly every six blocks, the corners are kept clear
+     */
+    private void forest(Random random) {
+        flat();
+
+        for (int gx = 3; gx < SIZE - 3; gx += 6) {
+            for (int gz = 3; gz < SIZE - 3; gz += 6) {
+                if (random.nextInt(10) >= 7) {
+                    continue;
+                }
+                int x = gx + random.nextInt(5) - 2;
+                int z = gz + random.nextInt(5) - 2;
+                if (nearCorner(x, z, MARGIN / 2 + 3)) {
+                    continue;
+                }
+                tree(x, GROUND + 1, z, 4 + random.nextInt(3));
+            }
+        }
+
+        // Tall grass between the trees
+        for (int i = 0; i < SIZE * SIZE / 8; i++) {
+            int x = random.nextInt(SIZE);
+            int z = random.nextInt(SIZE);
+            if (blocks.getType(x, GROUND + 1, z) == Material.AIR) {
+                blocks.setType(x, GROUND + 1, z, Material.SHORT_GRASS);
+            }
+        }
+    }
+
+    private void tree(int x, int baseY, int z, int trunkHeight) {
+        int topY = baseY + trunkHeight - 1;
+        blocks.fill(x - 2, topY - 2, z - 2, x + 2, topY, z + 2, Material.OAK_LEAVES);
+        blocks.fill(x - 1, topY + 1, z, x + 1, topY + 1, z, Material.OAK_LEAVES);
+        blocks.fill(x, topY + 1, z - 1, x, topY + 1, z + 1, Material.OAK_LEAVES);
+        blocks.fill(x, baseY, z, x, topY, z, Material.OAK_LOG);
+    }
+
+    /**
+     * Rolling hills from a few overlapping waves, steep enough in places to force detours
+     */
+    private void mountains(Random random) {
+        double p1 = random.nextDouble() * Math.PI * 2;
+        double p2 = random.nextDouble() * Math.PI * 2;
+        double p3 = random.nextDouble() * Math.PI * 2;
+        double p4 = random.nextDouble() * Math.PI * 2;
+
+        blocks.fill(0, 0, 0, SIZE - 1, 0, SIZE - 1, Material.BEDROCK);
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                double wave = 12 * Math.sin(x * 0.07 + p1) * Math.cos(z * 0.05 + p2)
+                    + 8 * Math.sin((x + z) * 0.11 + p3)
+                    + 4 * Math.sin(z * 0.23 + p4);
+                int height = GROUND + (int) Math.round(wave);
+
+                blocks.fill(x, 1, z, x, height - 4, z, Material.STONE);
+                blocks.fill(x, height - 3, z, x, height - 1, z, Material.DIRT);
+                blocks.setType(x, height, z, Material.GRASS_BLOCK);
+            }
+        }
+
+        // Lakes in the lowest valleys
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                int top = blocks.getHighestBlockYAt(x, z);
+                if (top < GROUND - 14 && !nearCorner(x, z, MARGIN + 2)) {
+                    blocks.fill(x, top + 1, z, x, GROUND - 14, z, Material.WATER);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flat ground with a walled maze of 3 wide corridors between the corners
+     */
+    private void maze(Random random) {
+        flat();
+
+        int cell = 4;
+        int cells = (SIZE - 1) / cell;
+        blocks.fill(0, GROUND + 1, 0, cells * cell, GROUND + 3, cells * cell, Material.STONE);
+
+        // Depth first carve, iterative so a large maze does not overflow the stack
+        boolean[] visited = new boolean[cells * cells];
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, 0});
+        visited[0] = true;
+        carveCell(0, 0, cell);
+
+        int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        while (!stack.isEmpty()) {
+            int[] current = stack.peek();
+            int[] order = {0, 1, 2, 3};
+            for (int i = 3; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+
+            boolean moved = false;
+            for (int d : order) {
+                int nx = current[0] + directions[d][0];
+                int nz = current[1] + directions[d][1];
+                if (nx < 0 || nz < 0 || nx >= cells || nz >= cells || visited[nx * cells + nz]) {
+                    continue;
+                }
+                visited[nx * cells + nz] = true;
+                carveCell(nx, nz, cell);
+
+                // Open the wall between the two cells
+                int wx = Math.max(current[0], nx) * cell;
+                int wz = Math.max(current[1], nz) * cell;
+                if (nx != current[0]) {
+                    blocks.fill(wx, GROUND + 1, nz * cell + 1, wx, GROUND + 3, nz * cell + cell - 1, Material.AIR);
+                } else {
+                    blocks.fill(nx * cell + 1, GROUND + 1, wz, nx * cell + cell - 1, GROUND + 3, wz, Material.AIR);
+                }
+
+                stack.push(new int[]{nx, nz});
+                moved = true;
+                break;
+            }
+            if (!moved) {
+                stack.pop();
+            }
+        }
+
+        start = new Location(null, 2.5, GROUND + 1, 2.5);
+        int last = (cells - 1) * cell + 2;
+        end = new Location(null, last + 0.5, GROUND + 1, last + 0.5);
+    }
+
+    private void carveCell(int cx, int cz, int cell) {
+        blocks.fill(cx * cell + 1, GROUND + 1, cz * cell + 1, cx * cell + cell - 1, GROUND + 3, cz * cell + cell - 1, Material.AIR);
+    }
+
+    /**
+     * Solid rock with a winding tunnel between the corners and a few dead end branches
+     */
+    private void cave(Random random) {
+        int surface = GROUND + 36;
+        blocks.fill(0, 0, 0, SIZE - 1, 0, SIZE - 1, Material.BEDROCK);
+        blocks.fill(0, 1, 0, SIZE - 1, surface - 1, SIZE - 1, Material.STONE);
+        blocks.fill(0, surface, 0, SIZE - 1, surface, SIZE - 1, Material.GRASS_BLOCK);
+
+        int tunnelY = 40;
+        int endX = SIZE - 1 - MARGIN;
+        int endZ = SIZE - 1 - MARGIN;
+        int[] tunnelEnd = worm(random, MARGIN, tunnelY, MARGIN, endX, endZ, Integer.MAX_VALUE);
+
+        // Branches from random points along the main tunnel's rough line
+        for (int i = 0; i < 12; i++) {
+            int x = MARGIN + random.nextInt(SIZE - MARGIN * 2);
+            int z = MARGIN + random.nextInt(SIZE - MARGIN * 2);
+            worm(random, x, tunnelY, z, random.nextInt(SIZE), random.nextInt(SIZE), 60);
+        }
+
+        // Lava in place of the floor around the middle, tunnels crossing it must go around
+        int lx = SIZE / 2 + random.nextInt(20) - 10;
+        int lz = SIZE / 2 + random.nextInt(20) - 10;
+        blocks.fill(lx - 1, tunnelY - 1, lz - 1, lx + 1, tunnelY - 1, lz + 1, Material.LAVA);
+
+        start = new Location(null, MARGIN + 0.5, tunnelY, MARGIN + 0.5);
+        end = new Location(null, tunnelEnd[0] + 0.5, tunnelEnd[1], tunnelEnd[2] + 0.5);
+    }
+
+    /**
+     * Carve a 3x3 wide, 4 high tunnel wandering towards a target column
+     * The floor never changes by more than a block per step, so it can always be walked
+     * @return Final x, floor y + 1 and z of the tunnel
+     */
+    private int[] worm(Random random, int x, int y, int z, int targetX, int targetZ, int maxSteps) {
+        int steps = 0;
+        while ((x != targetX || z != targetZ) && steps++ < maxSteps) {
+            blocks.fill(x - 1, y, z - 1, x + 1, y + 3, z + 1, Material.CAVE_AIR);
+
+            // Mostly head for the target, sometimes wander sideways
+            if (random.nextInt(4) == 0) {
+                x += random.nextInt(3) - 1;
+                z += random.nextInt(3) - 1;
+            } else {
+                x += Integer.signum(targetX - x);
+                z += Integer.signum(targetZ - z);
+            }
+            x = Math.max(2, Math.min(SIZE - 3, x));
+            z = Math.max(2, Math.min(SIZE - 3, z));
+
+            if (random.nextInt(6) == 0) {
+                y = Math.max(10, Math.min(GROUND, y + random.nextInt(3) - 1));
+            }
+        }
+        blocks.fill(x - 1, y, z - 1, x + 1, y + 3, z + 1, Material.CAVE_AIR);
+        return new int[]{x, y, z};
+    }
+
+    private static boolean nearCorner(int x, int z, int distance) {
+        return (x < distance && z < distance) ||
+               (x >= SIZE - distance && z >= SIZE - distance);
+    }
+}
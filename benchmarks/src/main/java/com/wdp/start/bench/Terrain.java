@@ -0,0 +1,12 @@
+package com.wdp.start.bench;
+
+/**
+ * Kinds of synthetic world, see {@link SyntheticWorld}
+ */
+public enum Terrain {
+    FLAT,
+    FOREST,
+    MOUNTAINOUS,
+    MAZE,
+    CAVE
+}
@@ -0,0 +1,110 @@
+package com.wdp.start.bench;
+
+import com.wdp.start.world.BlockSource;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic in-memory block grid for benchmarks and reproducible scenarios
+ *
+ * Blocks are stored as one palette index byte each, so up to 256 different materials
+ * can be used. Everything outside the grid, and every block not set, is air.
+ */
+public class VoxelBlockSource implements BlockSource {
+
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final byte[] cells;
+    private final List<Material> palette = new ArrayList<>();
+
+    public VoxelBlockSource(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.cells = new byte[sizeX * sizeY * sizeZ];
+        palette.add(Material.AIR);
+    }
+
+    /**
+     * Set one block (ignored outside the grid)
+     */
+    public void setType(int x, int y, int z, Material material) {
+        if (contains(x, y, z)) {
+            cells[index(x, y, z)] = paletteIndex(material);
+        }
+    }
+
+    /**
+     * Fill a box, both corners inclusive (clipped to the grid)
+     */
+    public void fill(int x1, int y1, int z1, int x2, int y2, int z2, Material material) {
+        byte id = paletteIndex(material);
+        for (int x = Math.max(minX, Math.min(x1, x2)); x <= Math.min(minX + sizeX - 1, Math.max(x1, x2)); x++) {
+            for (int z = Math.max(minZ, Math.min(z1, z2)); z <= Math.min(minZ + sizeZ - 1, Math.max(z1, z2)); z++) {
+                for (int y = Math.max(minY, Math.min(y1, y2)); y <= Math.min(minY + sizeY - 1, Math.max(y1, y2)); y++) {
+                    cells[index(x, y, z)] = id;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        return contains(x, y, z) ? palette.get(cells[index(x, y, z)] & 0xFF) : Material.AIR;
+    }
+
+    @Override
+    public int getHighestBlockYAt(int x, int z) {
+        if (x < minX || x >= minX + sizeX || z < minZ || z >= minZ + sizeZ) {
+            return minY;
+        }
+        for (int y = minY + sizeY - 1; y >= minY; y--) {
+            Material type = palette.get(cells[index(x, y, z)] & 0xFF);
+            if (type != Material.AIR && type != Material.CAVE_AIR && type != Material.VOID_AIR) {
+                return y;
+            }
+        }
+        return minY;
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minY;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return minY + sizeY;
+    }
+
+    @Override
+    public World getWorld() {
+        return null;
+    }
+
+    private boolean contains(int x, int y, int z) {
+        return x >= minX && x < minX + sizeX && y >= minY && y < minY + sizeY && z >= minZ && z < minZ + sizeZ;
+    }
+
+    private int index(int x, int y, int z) {
+        return ((x - minX) * sizeZ + (z - minZ)) * sizeY + (y - minY);
+    }
+
+    private byte paletteIndex(Material material) {
+        int id = palette.indexOf(material);
+        if (id < 0) {
+            if (palette.size() >= 256) {
+                throw new IllegalStateException("Voxel palette is full (256 materials)");
+            }
+            palette.add(material);
+            id = palette.size() - 1;
+        }
+        return (byte) id;
+    }
+}
@@ -0,0 +1,71 @@
+package com.wdp.start.bench;
+
+import com.wdp.start.world.TreeScanner;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RTP tree scans on each synthetic world
+ *
+ * The tree search runs from the middle of the world with the radius RTP uses by default
+ * (twice the configured max distance from a tree). The leaves check runs at a trunk found
+ * during setup, or at the center on worlds without trees (the worst case, nothing found).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldScanBenchmark {
+
+    static final int SEARCH_RADIUS = 60;
+    static final int MIN_Y = 63;
+    static final int MAX_Y = 200;
+
+    @Param({"FLAT", "FOREST", "MOUNTAINOUS", "MAZE", "CAVE"})
+    public Terrain terrain;
+
+    private VoxelBlockSource blocks;
+    private int centerX;
+    private int centerZ;
+    private int leavesX;
+    private int leavesY;
+    private int leavesZ;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkTraits.install();
+        blocks = SyntheticWorld.generate(terrain, GoldenScenarios.SEED).getBlocks();
+        centerX = SyntheticWorld.SIZE / 2;
+        centerZ = SyntheticWorld.SIZE / 2;
+
+        Location tree = TreeScanner.findNearbyTree(blocks, centerX, centerZ, SEARCH_RADIUS, MIN_Y, MAX_Y);
+        leavesX = tree != null ? tree.getBlockX() : centerX;
+        leavesY = tree != null ? tree.getBlockY() + 2 : SyntheticWorld.GROUND + 1;
+        leavesZ = tree != null ? tree.getBlockZ() : centerZ;
+    }
+
+    @Benchmark
+    public Location findNearbyTree() {
+        return TreeScanner.findNearbyTree(blocks, centerX, centerZ, SEARCH_RADIUS, MIN_Y, MAX_Y);
+    }
+
+    @Benchmark
+    public boolean hasLeavesNearby() {
+        return TreeScanner.hasLeavesNearby(blocks, leavesX, leavesY, leavesZ);
+    }
+}
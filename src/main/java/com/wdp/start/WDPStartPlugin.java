@@ -4,12 +4,17 @@ import com.wdp.start.command.QuestCommand;
 import com.wdp.start.config.ConfigManager;
 import com.wdp.start.config.MessageManager;
 import com.wdp.start.integration.AuraSkillsIntegration;
+import com.wdp.start.integration.BaseDetIntegration;
+import com.wdp.start.integration.PlatformCapabilities;
+import com.wdp.start.integration.TickTimeMonitor;
 import com.wdp.start.integration.VaultIntegration;
 import com.wdp.start.integration.WorldGuardIntegration;
 import com.wdp.start.listener.QuestMenuListener;
 import com.wdp.start.listener.ShopMenuListener;
 import com.wdp.start.listener.PlayerListener;
 import com.wdp.start.listener.QuestListener;
+import com.wdp.start.listener.WorldChangeListener;
+import com.wdp.start.path.ParticleRenderer;
 import com.wdp.start.path.PathGuideManager;
 import com.wdp.start.path.PortalZoneManager;
 import com.wdp.start.path.RTPManager;
@@ -18,6 +23,8 @@ import com.wdp.start.quest.QuestManager;
 import com.wdp.start.shop.SimpleShopMenu;
 import com.wdp.start.storage.DatabaseManager;
 import com.wdp.start.ui.QuestMenu;
+import com.wdp.start.world.MaterialTraits;
+import com.wdp.start.world.NavGridManager;
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -48,11 +55,16 @@ public class WDPStartPlugin extends JavaPlugin {
     private PathGuideManager pathGuideManager;
     private PortalZoneManager portalZoneManager;
     private RTPManager rtpManager;
+    private NavGridManager navGridManager;
+    private ParticleRenderer particleRenderer;
     
     // Integrations
     private VaultIntegration vaultIntegration;
     private AuraSkillsIntegration auraSkillsIntegration;
     private WorldGuardIntegration worldGuardIntegration;
+    private BaseDetIntegration baseDetIntegration;
+    private PlatformCapabilities platform;
+    private TickTimeMonitor tickTimeMonitor;
     
     // Listeners (for API access)
     private QuestListener questListener;
@@ -109,6 +121,31 @@ public class WDPStartPlugin extends JavaPlugin {
             pathGuideManager.shutdown();
         }
         
+        // Stop RTP destination pool
+        if (rtpManager != null) {
+            rtpManager.shutdown();
+        }
+        
+        // Stop base index refresh
+        if (baseDetIntegration != null) {
+            baseDetIntegration.shutdown();
+        }
+        
+        // Stop particle renderer
+        if (particleRenderer != null) {
+            particleRenderer.shutdown();
+        }
+        
+        // Stop tick time monitor
+        if (tickTimeMonitor != null) {
+            tickTimeMonitor.shutdown();
+        }
+        
+        // Unload nav grid
+        if (navGridManager != null) {
+            navGridManager.shutdown();
+        }
+        
         // Save all player data to database
         if (databaseManager != null) {
             databaseManager.close();
@@ -127,6 +164,15 @@ public class WDPStartPlugin extends JavaPlugin {
         saveDefaultConfig();
         configManager = new ConfigManager(this);
         
+        // Material trait table (pathfinding, RTP, quest block checks)
+        MaterialTraits.load(this);
+        
+        // Paper features (async teleport and chunks, tick time)
+        platform = new PlatformCapabilities(this);
+        
+        // Server tick time (particle density, RTP pool refill)
+        tickTimeMonitor = new TickTimeMonitor(this);
+        
         // Extract navbar.yml if it doesn't exist
         java.io.File navbarFile = new java.io.File(getDataFolder(), "navbar.yml");
         if (!navbarFile.exists()) {
@@ -153,6 +199,12 @@ public class WDPStartPlugin extends JavaPlugin {
         simpleShopMenu = new SimpleShopMenu(this);
         simpleShopMenu.initialize();
         
+        // Baked spawn navigation grid (read by the pathfinders)
+        navGridManager = new NavGridManager(this);
+        
+        // Particle culling and budget (path guide, portal zone highlight)
+        particleRenderer = new ParticleRenderer(this);
+        
         // Path guide manager
         pathGuideManager = new PathGuideManager(this);
         
@@ -264,6 +316,10 @@ public class WDPStartPlugin extends JavaPlugin {
         } else {
             getLogger().warning("WorldGuard not found! Region-based portal zones will not work.");
         }
+        
+        // WDP-BaseDet (optional, resolved again whenever it is enabled or disabled)
+        baseDetIntegration = new BaseDetIntegration(this);
+        Bukkit.getPluginManager().registerEvents(baseDetIntegration, this);
     }
     
     private void registerListeners() {
@@ -278,6 +334,9 @@ public class WDPStartPlugin extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new QuestMenuListener(this), this);
         Bukkit.getPluginManager().registerEvents(new ShopMenuListener(this), this);
         
+        // Block changes (path cache invalidation)
+        Bukkit.getPluginManager().registerEvents(new WorldChangeListener(this), this);
+        
         getLogger().info("Listeners registered successfully.");
     }
     
@@ -305,7 +364,12 @@ public class WDPStartPlugin extends JavaPlugin {
     public void reload() {
         reloadConfig();
         configManager.reload();
+        MaterialTraits.load(this);
+        navGridManager.load();
         messageManager.reload();
+        if (portalZoneManager != null) {
+            portalZoneManager.loadZoneBounds();
+        }
         if (simpleShopMenu != null) {
             simpleShopMenu.reload();
         }
@@ -354,6 +418,18 @@ public class WDPStartPlugin extends JavaPlugin {
         return worldGuardIntegration;
     }
     
+    public BaseDetIntegration getBaseDetIntegration() {
+        return baseDetIntegration;
+    }
+    
+    public PlatformCapabilities getPlatform() {
+        return platform;
+    }
+    
+    public TickTimeMonitor getTickTimeMonitor() {
+        return tickTimeMonitor;
+    }
+    
     public QuestListener getQuestListener() {
         return questListener;
     }
@@ -370,6 +446,14 @@ public class WDPStartPlugin extends JavaPlugin {
         return rtpManager;
     }
     
+    public NavGridManager getNavGridManager() {
+        return navGridManager;
+    }
+    
+    public ParticleRenderer getParticleRenderer() {
+        return particleRenderer;
+    }
+    
     public DatabaseManager getDatabaseManager() {
         return databaseManager;
     }
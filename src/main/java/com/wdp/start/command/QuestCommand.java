@@ -1,8 +1,18 @@
 package com.wdp.start.command;
 
 import com.wdp.start.WDPStartPlugin;
+import com.wdp.start.integration.WorldGuardIntegration;
+import com.wdp.start.path.ParticleRenderer;
+import com.wdp.start.path.PortalZone;
+import com.wdp.start.path.PortalZoneManager;
+import com.wdp.start.path.RTPDestinationPool;
+import com.wdp.start.path.RTPManager;
+import com.wdp.start.path.RTPScheduler;
 import com.wdp.start.player.PlayerData;
+import com.wdp.start.world.GeneratedChunkIndex;
+import com.wdp.start.world.NavGrid;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -12,6 +22,7 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +65,9 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
             case "complete" -> handleComplete(sender, args);
             case "setquest" -> handleSetQuest(sender, args);
             case "debug" -> handleDebug(sender, args);
+            case "navbake" -> handleNavBake(sender, args);
+            case "rtpstats" -> handleRtpStats(sender);
+            case "zone" -> handleZone(sender, args);
             default -> {
                 if (sender instanceof Player player) {
                     plugin.getMessageManager().send(player, "commands.unknown");
@@ -241,6 +255,180 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    private void handleNavBake(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("wdpstart.admin.navbake")) {
+            if (sender instanceof Player player) {
+                plugin.getMessageManager().send(player, "commands.no-permission");
+            } else {
+                sender.sendMessage(plugin.getMessageManager().get("commands.no-permission"));
+            }
+            return;
+        }
+        
+        boolean force = args.length > 1 && args[1].equalsIgnoreCase("force");
+        plugin.getNavGridManager().bake(sender, force);
+    }
+    
+    private void handleRtpStats(CommandSender sender) {
+        if (!sender.hasPermission("wdpstart.admin.debug")) {
+            if (sender instanceof Player player) {
+                plugin.getMessageManager().send(player, "commands.no-permission");
+            } else {
+                sender.sendMessage(plugin.getMessageManager().get("commands.no-permission"));
+            }
+            return;
+        }
+        
+        World rtpWorld = plugin.getRtpManager().getRtpWorld();
+        if (rtpWorld == null) {
+            sender.sendMessage("§cRTP world is not loaded");
+            return;
+        }
+        
+        RTPManager.SearchSettings settings = RTPManager.SearchSettings.read(plugin, rtpWorld);
+        sender.sendMessage("§6§l=== WDP-Start RTP Tuning: " + rtpWorld.getName() + " ===");
+        if (!settings.tuning()) {
+            sender.sendMessage("§7Tuning is off, using the configured values");
+        }
+        for (String line : plugin.getRtpManager().getTuner().describe(rtpWorld.getName(), settings)) {
+            sender.sendMessage(line);
+        }
+        int[] explored = plugin.getRtpManager().getSectorGrid().getExplored(rtpWorld.getName());
+        sender.sendMessage("§7Sectors: §f" + explored[0] + "§7/§f" + explored[1] + " §7explored");
+        RTPScheduler scheduler = plugin.getRtpManager().getScheduler();
+        sender.sendMessage("§7Searches: §f" + scheduler.getStarted() + " §7started, " +
+            String.format("%.1f", scheduler.getAverageAttempts()) + " attempts on average, " +
+            String.format("%.0f", scheduler.getSuccessRate() * 100) + "% found");
+    }
+    
+    private void handleZone(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("wdpstart.admin.zone")) {
+            if (sender instanceof Player player) {
+                plugin.getMessageManager().send(player, "commands.no-permission");
+            } else {
+                sender.sendMessage(plugin.getMessageManager().get("commands.no-permission"));
+            }
+            return;
+        }
+        
+        PortalZoneManager zones = plugin.getPortalZoneManager();
+        String action = args.length > 1 ? args[1].toLowerCase() : "list";
+        switch (action) {
+            case "list" -> {
+                sender.sendMessage("§6§l=== Portal Zones (" + zones.getRegistry().size() + ") ===");
+                for (PortalZone zone : zones.getRegistry().getZones()) {
+                    sender.sendMessage("§f" + zone.getName() + " §7" + zone);
+                }
+            }
+            case "info" -> {
+                PortalZone zone = args.length > 2 ? zones.getRegistry().get(args[2]) : null;
+                if (zone == null) {
+                    sender.sendMessage("§cUsage: /start zone info <name>");
+                    return;
+                }
+                sender.sendMessage("§6§l=== Portal Zone: " + zone.getName() + " ===");
+                sender.sendMessage("§7Bounds: §f" + zone);
+                sender.sendMessage("§7Source: §f" + (zone.getName().equalsIgnoreCase(PortalZoneManager.CONFIG_ZONE) ? "config.yml" : "portal-zones.yml"));
+                for (Map.Entry<String, String> entry : zone.getMetadata().entrySet()) {
+                    sender.sendMessage("§7" + entry.getKey() + ": §f" + entry.getValue());
+                }
+            }
+            case "add" -> {
+                // /start zone add <name> <x1> <y1> <z1> <x2> <y2> <z2> [world]
+                String world = args.length > 9 ? args[9] : sender instanceof Player player ? player.getWorld().getName() : null;
+                int[] bounds = args.length > 8 ? parseInts(args, 3, 6) : null;
+                if (bounds == null || world == null || args[2].equalsIgnoreCase(PortalZoneManager.CONFIG_ZONE)) {
+                    sender.sendMessage("§cUsage: /start zone add <name> <x1> <y1> <z1> <x2> <y2> <z2> [world]");
+                    return;
+                }
+                if (!isValidZoneKey(args[2])) {
+                    sender.sendMessage("§cZone names may only use letters, digits, - and _");
+                    return;
+                }
+                PortalZone zone = new PortalZone(args[2], world, bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5], null);
+                zones.addZone(zone);
+                sender.sendMessage("§aAdded portal zone §f" + zone.getName() + " §a" + zone);
+            }
+            case "addregion" -> {
+                // /start zone addregion <name> <region> [world]
+                World world = args.length > 4 ? Bukkit.getWorld(args[4]) : sender instanceof Player player ? player.getWorld() : null;
+                if (args.length < 4 || world == null || args[2].equalsIgnoreCase(PortalZoneManager.CONFIG_ZONE)) {
+                    sender.sendMessage("§cUsage: /start zone addregion <name> <region> [world]");
+                    return;
+                }
+                if (!isValidZoneKey(args[2])) {
+                    sender.sendMessage("§cZone names may only use letters, digits, - and _");
+                    return;
+                }
+                WorldGuardIntegration wg = plugin.getWorldGuardIntegration();
+                WorldGuardIntegration.RegionBounds bounds = wg != null && wg.isEnabled() ? wg.getRegionBounds(world, args[3]) : null;
+                if (bounds == null) {
+                    sender.sendMessage("§cWorldGuard region not found: §f" + args[3]);
+                    return;
+                }
+                PortalZone zone = new PortalZone(args[2], world.getName(), bounds.minX, bounds.minY, bounds.minZ,
+                    bounds.maxX, bounds.maxY, bounds.maxZ, args[3]);
+                zones.addZone(zone);
+                sender.sendMessage("§aAdded portal zone §f" + zone.getName() + " §a" + zone);
+            }
+            case "remove" -> {
+                if (args.length < 3) {
+                    sender.sendMessage("§cUsage: /start zone remove <name>");
+                    return;
+                }
+                PortalZone removed = zones.removeZone(args[2]);
+                if (removed != null) {
+                    sender.sendMessage("§aRemoved portal zone §f" + removed.getName());
+                } else if (args[2].equalsIgnoreCase(PortalZoneManager.CONFIG_ZONE)) {
+                    sender.sendMessage("§cThe main zone is set in config.yml");
+                } else {
+                    sender.sendMessage("§cNo portal zone named §f" + args[2]);
+                }
+            }
+            case "set" -> {
+                // /start zone set <name> <key> [value...], no value removes the key
+                if (args.length < 4) {
+                    sender.sendMessage("§cUsage: /start zone set <name> <key> [value]");
+                    return;
+                }
+                if (!isValidZoneKey(args[3])) {
+                    sender.sendMessage("§cMetadata keys may only use letters, digits, - and _");
+                    return;
+                }
+                String value = args.length > 4 ? String.join(" ", Arrays.copyOfRange(args, 4, args.length)) : null;
+                if (!zones.setZoneMetadata(args[2], args[3], value)) {
+                    sender.sendMessage("§cNo portal zone named §f" + args[2] + " §c(the main zone is set in config.yml)");
+                    return;
+                }
+                sender.sendMessage("§aSet §f" + args[3] + " §aof §f" + args[2] + " §ato §f" + (value != null ? value : "nothing"));
+            }
+            default -> sender.sendMessage("§cUsage: /start zone <list|info|add|addregion|remove|set>");
+        }
+    }
+    
+    /**
+     * Check a zone name or metadata key, both are saved as keys of portal-zones.yml where a dot would nest them
+     */
+    private static boolean isValidZoneKey(String key) {
+        return key.matches("[A-Za-z0-9_-]+");
+    }
+    
+    /**
+     * Parse count whole numbers starting at an argument
+     * @return The numbers, or null if one is not a number
+     */
+    private static int[] parseInts(String[] args, int start, int count) {
+        int[] values = new int[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                values[i] = Integer.parseInt(args[start + i]);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return values;
+    }
+    
     private void handleDebug(CommandSender sender, String[] args) {
         if (!sender.hasPermission("wdpstart.admin.debug")) {
             if (sender instanceof Player player) {
@@ -285,6 +473,37 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
         // Portal zone status
         sender.sendMessage("§7In Portal Zone: §f" + plugin.getPortalZoneManager().isPlayerInZone(target.getUniqueId()));
         sender.sendMessage("§7Debug Mode: §f" + plugin.getPortalZoneManager().hasDebugEnabled(target.getUniqueId()));
+        sender.sendMessage("§7Cached Path Chunks: §f" + plugin.getPathGuideManager().getHierarchicalPathfinder().getCachedChunkCount());
+        sender.sendMessage("§7Pending Path Searches: §f" + plugin.getPathGuideManager().getPathScheduler().getPendingCount() +
+            " §7(last tick " + (plugin.getPathGuideManager().getPathScheduler().getLastTickNanos() / 1000) + "µs)");
+        sender.sendMessage("§7Incremental Path Planners: §f" + plugin.getPathGuideManager().getPlannerCount());
+        sender.sendMessage("§7Animated Guides: §f" + plugin.getPathGuideManager().getActiveSessionCount() +
+            " §7(last tick " + (plugin.getPathGuideManager().getLastAnimationTickNanos() / 1000) + "µs, " +
+            plugin.getPathGuideManager().getCohortCount() + " shared paths)");
+        NavGrid navGrid = NavGrid.getActive();
+        sender.sendMessage("§7Nav Grid: §f" + (navGrid != null ? navGrid.getVolume() + " blocks" : "not loaded"));
+        World rtpWorld = plugin.getRtpManager().getRtpWorld();
+        if (rtpWorld != null) {
+            RTPDestinationPool pool = plugin.getRtpManager().getPool();
+            sender.sendMessage("§7RTP Pool: §f" + pool.getSize(rtpWorld) + " §7ready (generated " + pool.getGenerated() +
+                ", restored " + pool.getLoaded() + ", used " + pool.getHandedOut() + ", discarded " + pool.getDiscarded() + ")");
+            RTPScheduler scheduler = plugin.getRtpManager().getScheduler();
+            sender.sendMessage("§7RTP Queue: §f" + scheduler.getQueued() + " §7waiting, §f" + scheduler.getInFlight() +
+                " §7searching (avg wait " + scheduler.getAverageWaitMillis() + "ms, " +
+                String.format("%.1f", scheduler.getAverageAttempts()) + " attempts, " +
+                String.format("%.0f", scheduler.getSuccessRate() * 100) + "% found, " + scheduler.getExpired() + " expired)");
+            GeneratedChunkIndex chunkIndex = plugin.getRtpManager().getChunkIndex(rtpWorld);
+            sender.sendMessage("§7RTP Generated Chunks: §f" + (chunkIndex != null ? chunkIndex.getChunkCount() : "not indexed"));
+            int bases = plugin.getBaseDetIntegration() != null ? plugin.getBaseDetIntegration().getIndexedBases() : -1;
+            sender.sendMessage("§7RTP Base Index: §f" + (bases >= 0 ? bases + " bases" : "not available"));
+            int[] explored = plugin.getRtpManager().getSectorGrid().getExplored(rtpWorld.getName());
+            sender.sendMessage("§7RTP Sectors: §f" + explored[0] + "§7/§f" + explored[1] + " §7explored");
+        }
+        sender.sendMessage("§7RTP Biome Map: §f" + plugin.getRtpManager().getBiomeMap().getKnownCells() + " §7cells known");
+        ParticleRenderer particles = plugin.getParticleRenderer();
+        sender.sendMessage("§7Particle Density: §f" + String.format("%.2f", particles.getDensity()) +
+            " §7(tick " + String.format("%.1f", plugin.getTickTimeMonitor().getTickTime()) + "ms, culled " +
+            particles.getCulledParticles() + ", capped " + particles.getCappedParticles() + ")");
         
         for (int i = 1; i <= 6; i++) {
             PlayerData.QuestProgress progress = data.getQuestProgress(i);
@@ -309,6 +528,8 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
                     plugin.getPortalZoneManager().getMaxX() + ", " + plugin.getPortalZoneManager().getMaxY() + ", " + plugin.getPortalZoneManager().getMaxZ() + ")");
             }
             sender.sendMessage("§7World: §f" + plugin.getPortalZoneManager().getZoneWorld());
+            sender.sendMessage("§7Zones: §f" + plugin.getPortalZoneManager().getRegistry().size() + " §7(in " +
+                plugin.getPortalZoneManager().getRegistry().getIndexedChunks() + " chunks)");
         }
         
         sender.sendMessage("§eTip: Use §f/quests debug §ewithout args to toggle zone visualization");
@@ -337,6 +558,15 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("wdpstart.admin.debug")) {
                 subCommands = new ArrayList<>(subCommands);
                 subCommands.add("debug");
+                subCommands.add("rtpstats");
+            }
+            if (sender.hasPermission("wdpstart.admin.navbake")) {
+                subCommands = new ArrayList<>(subCommands);
+                subCommands.add("navbake");
+            }
+            if (sender.hasPermission("wdpstart.admin.zone")) {
+                subCommands = new ArrayList<>(subCommands);
+                subCommands.add("zone");
             }
             
             return subCommands.stream()
@@ -353,6 +583,18 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
                     .collect(Collectors.toList());
             }
             
+            if (sub.equals("navbake") && sender.hasPermission("wdpstart.admin.navbake")) {
+                return Arrays.asList("force").stream()
+                    .filter(s -> s.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+            }
+            
+            if (sub.equals("zone") && sender.hasPermission("wdpstart.admin.zone")) {
+                return Arrays.asList("list", "info", "add", "addregion", "remove", "set").stream()
+                    .filter(s -> s.startsWith(args[1].toLowerCase()))
+                    .collect(Collectors.toList());
+            }
+            
             if (sub.equals("start") && sender.isOp()) {
                 return Arrays.asList("force").stream()
                     .filter(s -> s.startsWith(args[1].toLowerCase()))
@@ -367,6 +609,14 @@ public class QuestCommand implements CommandExecutor, TabCompleter {
             }
         }
         
+        if (args.length == 3 && args[0].equalsIgnoreCase("zone") && sender.hasPermission("wdpstart.admin.zone") &&
+            Arrays.asList("info", "remove", "set").contains(args[1].toLowerCase())) {
+            return plugin.getPortalZoneManager().getRegistry().getZones().stream()
+                .map(PortalZone::getName)
+                .filter(s -> s.toLowerCase().startsWith(args[2].toLowerCase()))
+                .collect(Collectors.toList());
+        }
+        
         if (args.length == 3 && (args[0].equalsIgnoreCase("complete") || args[0].equalsIgnoreCase("setquest"))) {
             return Arrays.asList("1", "2", "3", "4", "5", "6").stream()
                 .filter(s -> s.startsWith(args[2]))
@@ -97,6 +97,10 @@ public class ConfigManager {
         return config.getInt("particle-path.animation-speed", 2);
     }
     
+    public double getPathPointSpacing() {
+        return Math.max(0.25, config.getDouble("particle-path.point-spacing", 1.0));
+    }
+    
     public int getPathLength() {
         return config.getInt("particle-path.path-length", 999);
     }
@@ -109,6 +113,112 @@ public class ConfigManager {
         return config.getInt("particle-path.minimum-runtime", 20);
     }
     
+    public int getPathSearchBudgetMicros() {
+        return config.getInt("particle-path.search-budget-micros", 2000);
+    }
+    
+    public boolean isHierarchicalPathEnabled() {
+        return config.getBoolean("particle-path.hierarchical.enabled", true);
+    }
+    
+    public int getHierarchicalMinDistance() {
+        return config.getInt("particle-path.hierarchical.min-distance", 48);
+    }
+    
+    public int getHierarchicalVerticalBand() {
+        return config.getInt("particle-path.hierarchical.vertical-band", 24);
+    }
+    
+    public int getHierarchicalRefineSegments() {
+        return config.getInt("particle-path.hierarchical.refine-segments", 4);
+    }
+    
+    public int getHierarchicalCacheSize() {
+        return config.getInt("particle-path.hierarchical.max-cached-chunks", 1024);
+    }
+    
+    public boolean isIncrementalPathEnabled() {
+        return config.getBoolean("particle-path.incremental.enabled", true);
+    }
+    
+    public int getIncrementalMaxDeviation() {
+        return config.getInt("particle-path.incremental.max-deviation", 24);
+    }
+    
+    public int getIncrementalMaxNodes() {
+        return config.getInt("particle-path.incremental.max-nodes", 20000);
+    }
+    
+    public boolean isPathSharingEnabled() {
+        return config.getBoolean("particle-path.sharing.enabled", true);
+    }
+    
+    public int getPathSharingCellSize() {
+        return Math.max(1, config.getInt("particle-path.sharing.cell-size", 6));
+    }
+    
+    public double getPathSharingSplitDistance() {
+        return Math.max(1.0, config.getDouble("particle-path.sharing.split-distance", 12.0));
+    }
+    
+    public int getPathSharingMaxAgeSeconds() {
+        return Math.max(0, config.getInt("particle-path.sharing.max-age", 10));
+    }
+    
+    // ==================== NAV GRID ====================
+    
+    public boolean isNavGridEnabled() {
+        return config.getBoolean("nav-grid.enabled", true);
+    }
+    
+    public int getNavGridRadius() {
+        return Math.max(16, config.getInt("nav-grid.radius", 96));
+    }
+    
+    public int getNavGridVerticalRange() {
+        return Math.max(8, config.getInt("nav-grid.vertical-range", 48));
+    }
+    
+    public int getNavGridChunksPerTick() {
+        return Math.max(1, config.getInt("nav-grid.chunks-per-tick", 4));
+    }
+    
+    // ==================== PARTICLE RENDERING ====================
+    
+    public double getParticleViewDistance() {
+        return Math.max(1.0, config.getDouble("particle-rendering.view-distance", 48.0));
+    }
+    
+    public double getParticleNearDistance() {
+        return Math.max(0.0, config.getDouble("particle-rendering.near-distance", 6.0));
+    }
+    
+    public double getParticleFacingCone() {
+        return Math.max(0.0, Math.min(360.0, config.getDouble("particle-rendering.facing-cone", 140.0)));
+    }
+    
+    public int getParticleMaxPacketsPerTick() {
+        return Math.max(1, config.getInt("particle-rendering.max-packets-per-tick", 64));
+    }
+    
+    public boolean isAdaptiveParticleDensity() {
+        return config.getBoolean("particle-rendering.adaptive-density.enabled", true);
+    }
+    
+    public double getParticleMsptThreshold() {
+        return config.getDouble("particle-rendering.adaptive-density.mspt-threshold", 40.0);
+    }
+    
+    public double getParticleMinDensity() {
+        return Math.max(0.1, Math.min(1.0, config.getDouble("particle-rendering.adaptive-density.min-density", 0.25)));
+    }
+    
+    // ==================== MATERIAL TRAITS ====================
+    
+    public List<String> getMaterialTraitEntries(String trait) {
+        return config.getStringList("material-traits." + trait);
+    }
+    
     // ==================== QUEST 1: LEAVE & TELEPORT ====================
     
     public int getQuest1SkillCoins() {
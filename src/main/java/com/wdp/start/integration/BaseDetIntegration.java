@@ -0,0 +1,321 @@
+package com.wdp.start.integration;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Integration with WDP-BaseDet for RTP base avoidance
+ *
+ * WDP-BaseDet has no API jar, so its methods are looked up by name once, when it is enabled,
+ * and kept as method handles. Its isLocationNearBase is the authority: each check calls it on
+ * the main thread.
+ *
+ * Bases can also be copied into a grid index on the main thread every refresh interval, so
+ * checks run on any thread without calling into WDP-BaseDet. The names the index relies on are
+ * guesses, not a documented API: the list methods in {@link #LIST_METHODS} and the getters
+ * getLocation/getCenter, getX/getCenterX, getZ/getCenterZ, getWorld/getWorldName and isPending.
+ * Each base is also stored as the single point those getters return, so any base size or
+ * radius WDP-BaseDet takes into account is lost. The index therefore replaces
+ * isLocationNearBase only when rtp.base-detection.use-index is on, for a WDP-BaseDet that was
+ * checked to match, or when isLocationNearBase is missing.
+ */
+public class BaseDetIntegration implements Listener {
+
+    private static final String PLUGIN_NAME = "WDP-BaseDet";
+
+    // Tried in order for the bulk query
+    private static final String[] LIST_METHODS = {"getAllBases", "getBases", "getDetectedBases"};
+
+    // Grid cell size of the base index (blocks)
+    private static final int CELL_SIZE = 256;
+
+    private final WDPStartPlugin plugin;
+    private volatile MethodHandle nearBase;  // (World, int, int, int) boolean, bound to the detection manager
+    private volatile MethodHandle listBases; // () Object, bound to the detection manager
+    private final Map<Class<?>, BaseReader> readers = new HashMap<>();
+    private volatile BaseIndex index;
+    private BukkitTask refreshTask;
+
+    public BaseDetIntegration(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+        resolve();
+
+        long interval = Math.max(5, plugin.getConfig().getInt("rtp.base-detection.refresh-interval", 60)) * 20L;
+        this.refreshTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refreshIndex, 20L, interval);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        if (event.getPlugin().getName().equals(PLUGIN_NAME)) {
+            resolve();
+            refreshIndex();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin().getName().equals(PLUGIN_NAME)) {
+            nearBase = null;
+            listBases = null;
+            index = null;
+            plugin.debug("[BaseDet] WDP-BaseDet disabled, base avoidance off");
+        }
+    }
+
+    /**
+     * Look up the WDP-BaseDet methods and bind them to its detection manager
+     */
+    private void resolve() {
+        nearBase = null;
+        listBases = null;
+        index = null;
+        readers.clear();
+
+        Plugin baseDet = Bukkit.getPluginManager().getPlugin(PLUGIN_NAME);
+        if (baseDet == null || !baseDet.isEnabled()) {
+            return;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Object detectionManager;
+        try {
+            detectionManager = lookup.unreflect(baseDet.getClass().getMethod("getDetectionManager")).invoke(baseDet);
+        } catch (Throwable e) {
+            plugin.getLogger().warning("[BaseDet] WDP-BaseDet has no detection manager, base avoidance off: " + e.getMessage());
+            return;
+        }
+        if (detectionManager == null) {
+            plugin.getLogger().warning("[BaseDet] WDP-BaseDet detection manager not ready, base avoidance off");
+            return;
+        }
+
+        try {
+            Method method = detectionManager.getClass().getMethod("isLocationNearBase", World.class, int.class, int.class, int.class);
+            nearBase = lookup.unreflect(method).bindTo(detectionManager)
+                .asType(MethodType.methodType(boolean.class, World.class, int.class, int.class, int.class));
+        } catch (Throwable e) {
+            plugin.debug("[BaseDet] isLocationNearBase not available: " + e.getMessage());
+        }
+
+        // Without a confirmed base shape the index is only a fallback for a missing isLocationNearBase
+        if (nearBase != null && !plugin.getConfig().getBoolean("rtp.base-detection.use-index", false)) {
+            plugin.getLogger().info("[BaseDet] WDP-BaseDet bridge resolved (main thread queries)");
+            return;
+        }
+
+        for (String name : LIST_METHODS) {
+            try {
+                Method method = detectionManager.getClass().getMethod(name);
+                if (Collection.class.isAssignableFrom(method.getReturnType()) || Map.class.isAssignableFrom(method.getReturnType())) {
+                    listBases = lookup.unreflect(method).bindTo(detectionManager).asType(MethodType.methodType(Object.class));
+                    break;
+                }
+            } catch (Throwable ignored) {
+                // Try the next name
+            }
+        }
+
+        plugin.getLogger().info("[BaseDet] WDP-BaseDet bridge resolved (" +
+            (listBases != null ? "base index" : nearBase != null ? "main thread queries" : "no usable methods") + ")");
+    }
+
+    /**
+     * Copy the base positions into a new index (main thread)
+     */
+    private void refreshIndex() {
+        MethodHandle list = listBases;
+        if (list == null) {
+            return;
+        }
+
+        boolean includePending = plugin.getConfig().getBoolean("rtp.base-detection.include-pending", true);
+        BaseIndex built = new BaseIndex();
+        try {
+            Object result = list.invoke();
+            Collection<?> bases = result instanceof Map<?, ?> map ? map.values() : (Collection<?>) result;
+            if (bases != null) {
+                for (Object base : bases) {
+                    if (base == null) {
+                        continue;
+                    }
+                    BaseReader reader = readers.computeIfAbsent(base.getClass(), BaseReader::of);
+                    if (reader == null) {
+                        // Unknown base shape, an index missing this base would let RTP land on it
+                        if (nearBase != null) {
+                            plugin.debug("[BaseDet] Cannot read the position of " + base.getClass().getName() + ", using isLocationNearBase");
+                            index = null;
+                            return;
+                        }
+                        continue;
+                    }
+                    reader.addTo(built, base, includePending);
+                }
+            }
+        } catch (Throwable e) {
+            plugin.debug("[BaseDet] Could not list bases: " + e.getMessage());
+            return;
+        }
+
+        index = built;
+        plugin.debug("[BaseDet] Indexed " + built.size + " bases");
+    }
+
+    /**
+     * Whether checks can run off the main thread (a base index is available, or there is nothing to call)
+     */
+    public boolean canQueryOffThread() {
+        return index != null || nearBase == null;
+    }
+
+    /**
+     * Number of indexed bases, or -1 without an index
+     */
+    public int getIndexedBases() {
+        BaseIndex current = index;
+        return current != null ? current.size : -1;
+    }
+
+    /**
+     * Check if a location is near any detected base
+     * Any thread when {@link #canQueryOffThread()}, otherwise main thread only
+     */
+    public boolean isNearBase(World world, int x, int z, int distance) {
+        BaseIndex current = index;
+        if (current != null) {
+            return current.isNear(world.getName(), x, z, distance);
+        }
+
+        MethodHandle handle = nearBase;
+        if (handle == null) {
+            return false; // No base detection available
+        }
+        try {
+            return (boolean) handle.invokeExact(world, x, z, distance);
+        } catch (Throwable e) {
+            plugin.debug("[BaseDet] Error checking base proximity: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stop refreshing the index
+     */
+    public void shutdown() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        index = null;
+    }
+
+    /**
+     * Reads the position of one base object, with handles looked up once per base class
+     */
+    private record BaseReader(MethodHandle location, MethodHandle x, MethodHandle z, MethodHandle world, MethodHandle pending) {
+
+        static BaseReader of(Class<?> type) {
+            MethodHandle location = find(type, Location.class, "getLocation", "getCenter");
+            MethodHandle x = find(type, double.class, "getX", "getCenterX");
+            MethodHandle z = find(type, double.class, "getZ", "getCenterZ");
+            MethodHandle world = find(type, Object.class, "getWorld", "getWorldName");
+            MethodHandle pending = find(type, boolean.class, "isPending");
+            if (location == null && (x == null || z == null || world == null)) {
+                return null;
+            }
+            return new BaseReader(location, x, z, world, pending);
+        }
+
+        private static MethodHandle find(Class<?> type, Class<?> returnType, String... names) {
+            for (String name : names) {
+                try {
+                    return MethodHandles.publicLookup().unreflect(type.getMethod(name))
+                        .asType(MethodType.methodType(returnType, Object.class));
+                } catch (Throwable ignored) {
+                    // Try the next name
+                }
+            }
+            return null;
+        }
+
+        void addTo(BaseIndex index, Object base, boolean includePending) throws Throwable {
+            if (!includePending && pending != null && (boolean) pending.invokeExact(base)) {
+                return;
+            }
+            if (location != null) {
+                Location loc = (Location) location.invokeExact(base);
+                if (loc != null && loc.getWorld() != null) {
+                    index.add(loc.getWorld().getName(), loc.getBlockX(), loc.getBlockZ());
+                }
+                return;
+            }
+            Object worldValue = world.invokeExact(base);
+            String worldName = worldValue instanceof World w ? w.getName() : worldValue != null ? worldValue.toString() : null;
+            if (worldName != null) {
+                index.add(worldName, (int) Math.floor((double) x.invokeExact(base)), (int) Math.floor((double) z.invokeExact(base)));
+            }
+        }
+    }
+
+    /**
+     * Base positions in a grid of cells per world, built once and then only read
+     */
+    private static class BaseIndex {
+        private final Map<String, Map<Long, List<int[]>>> worlds = new HashMap<>();
+        private int size = 0;
+
+        void add(String world, int x, int z) {
+            worlds.computeIfAbsent(world, name -> new HashMap<>())
+                .computeIfAbsent(cellKey(Math.floorDiv(x, CELL_SIZE), Math.floorDiv(z, CELL_SIZE)), key -> new ArrayList<>())
+                .add(new int[] {x, z});
+            size++;
+        }
+
+        boolean isNear(String world, int x, int z, int distance) {
+            Map<Long, List<int[]>> cells = worlds.get(world);
+            if (cells == null) {
+                return false;
+            }
+
+            long distanceSquared = (long) distance * distance;
+            for (int cx = Math.floorDiv(x - distance, CELL_SIZE); cx <= Math.floorDiv(x + distance, CELL_SIZE); cx++) {
+                for (int cz = Math.floorDiv(z - distance, CELL_SIZE); cz <= Math.floorDiv(z + distance, CELL_SIZE); cz++) {
+                    List<int[]> bases = cells.get(cellKey(cx, cz));
+                    if (bases == null) {
+                        continue;
+                    }
+                    for (int[] base : bases) {
+                        long dx = x - base[0];
+                        long dz = z - base[1];
+                        if (dx * dx + dz * dz <= distanceSquared) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static long cellKey(int cx, int cz) {
+            return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        }
+    }
+}
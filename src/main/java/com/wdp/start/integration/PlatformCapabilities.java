@@ -0,0 +1,108 @@
+package com.wdp.start.integration;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Server features beyond the Spigot API, detected once at startup
+ *
+ * Paper adds async teleports, async chunk loading and the average tick time. They are
+ * looked up once as method handles; callers ask whether a feature exists and use the
+ * Spigot way otherwise.
+ */
+public class PlatformCapabilities {
+
+    private final MethodHandle teleportAsync;   // (Entity, Location) CompletableFuture
+    private final MethodHandle chunkAtAsync;    // (World, int, int) CompletableFuture
+    private final MethodHandle averageTickTime; // () double, bound to the server
+
+    public PlatformCapabilities(WDPStartPlugin plugin) {
+        this.teleportAsync = find(Entity.class, "teleportAsync",
+            MethodType.methodType(CompletableFuture.class, Entity.class, Location.class), Location.class);
+        this.chunkAtAsync = find(World.class, "getChunkAtAsync",
+            MethodType.methodType(CompletableFuture.class, World.class, int.class, int.class), int.class, int.class);
+        this.averageTickTime = findAverageTickTime();
+
+        List<String> found = new ArrayList<>();
+        if (teleportAsync != null) found.add("async teleport");
+        if (chunkAtAsync != null) found.add("async chunks");
+        if (averageTickTime != null) found.add("tick time");
+        plugin.getLogger().info("Platform features: " + (found.isEmpty() ? "none (Spigot API only)" : String.join(", ", found)));
+    }
+
+    private static MethodHandle find(Class<?> owner, String name, MethodType type, Class<?>... parameters) {
+        try {
+            return MethodHandles.publicLookup().unreflect(owner.getMethod(name, parameters)).asType(type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findAverageTickTime() {
+        try {
+            return MethodHandles.publicLookup().unreflect(Bukkit.getServer().getClass().getMethod("getAverageTickTime"))
+                .bindTo(Bukkit.getServer())
+                .asType(MethodType.methodType(double.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    public boolean hasAsyncTeleport() {
+        return teleportAsync != null;
+    }
+
+    public boolean hasAsyncChunks() {
+        return chunkAtAsync != null;
+    }
+
+    public boolean hasAverageTickTime() {
+        return averageTickTime != null;
+    }
+
+    /**
+     * Teleport without blocking on the destination chunk (only when {@link #hasAsyncTeleport()})
+     * @return Completes with whether the teleport happened, on the main thread
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Boolean> teleportAsync(Entity entity, Location destination) {
+        try {
+            return (CompletableFuture<Boolean>) teleportAsync.invokeExact(entity, destination);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Load or generate a chunk off the main thread (only when {@link #hasAsyncChunks()})
+     * @return Completes with the chunk, on the main thread
+     */
+    public CompletableFuture<?> getChunkAtAsync(World world, int chunkX, int chunkZ) {
+        try {
+            return (CompletableFuture<?>) chunkAtAsync.invokeExact(world, chunkX, chunkZ);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Average server tick time in milliseconds (only when {@link #hasAverageTickTime()})
+     */
+    public double getAverageTickTime() {
+        try {
+            return (double) averageTickTime.invokeExact();
+        } catch (Throwable e) {
+            return 0;
+        }
+    }
+}
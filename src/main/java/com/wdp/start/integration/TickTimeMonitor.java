@@ -0,0 +1,64 @@
+package com.wdp.start.integration;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Smoothed server tick time, read by everything that backs off while the server is slow
+ *
+ * Paper reports the average tick time, which covers the work done in a tick. Spigot has
+ * no such number and a plugin task cannot see where a tick starts and ends, so the only
+ * measure is the time between two runs of a task: it stays at 50ms while the server keeps
+ * up and only grows once a tick takes longer. On Spigot a tick time threshold below 50ms
+ * therefore acts as "any tick slower than 50ms".
+ */
+public class TickTimeMonitor {
+
+    // Weight of the newest sample
+    private static final double SMOOTHING = 0.1;
+
+    // Ticks run every 50ms when the server keeps up
+    public static final double TICK_MILLIS = 50.0;
+
+    private final PlatformCapabilities platform;
+    private BukkitTask task;
+    private long lastTickStart = 0;
+    private double tickTime = 0;
+
+    public TickTimeMonitor(WDPStartPlugin plugin) {
+        this.platform = plugin.getPlatform();
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Smoothed server tick time in milliseconds (0 while no slow ticks were seen on Spigot)
+     */
+    public double getTickTime() {
+        return tickTime;
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        double sample = 0;
+        if (platform.hasAverageTickTime()) {
+            sample = platform.getAverageTickTime();
+        } else if (lastTickStart != 0) {
+            // Only the time between ticks is known, which is above 50ms only when the server falls behind
+            double interval = (now - lastTickStart) / 1_000_000.0;
+            sample = interval > TICK_MILLIS ? interval : 0;
+        }
+        lastTickStart = now;
+        tickTime += (sample - tickTime) * SMOOTHING;
+    }
+
+    /**
+     * Stop the tick task
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
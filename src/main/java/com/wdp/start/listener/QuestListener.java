@@ -2,9 +2,9 @@ package com.wdp.start.listener;
 
 import com.wdp.start.WDPStartPlugin;
 import com.wdp.start.player.PlayerData;
+import com.wdp.start.world.MaterialTraits;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -340,21 +340,8 @@ public class QuestListener implements Listener {
             return;
         }
         
-        Material blockType = event.getBlock().getType();
-        
-        // Check if stone type (all variants)
-        boolean isStone = blockType == Material.STONE ||
-                         blockType == Material.COBBLESTONE ||
-                         blockType == Material.DEEPSLATE ||
-                         blockType == Material.COBBLED_DEEPSLATE ||
-                         blockType == Material.ANDESITE ||
-                         blockType == Material.DIORITE ||
-                         blockType == Material.GRANITE ||
-                         blockType == Material.SMOOTH_STONE ||
-                         blockType == Material.STONE_BRICKS ||
-                         blockType == Material.INFESTED_STONE;
-        
-        if (!isStone) {
+        // Check if stone type (all variants, see material-traits.quest-stone)
+        if (!MaterialTraits.isStone(event.getBlock().getType())) {
             return;
         }
         
@@ -0,0 +1,58 @@
+package com.wdp.start.listener;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+
+/**
+ * Keeps cached pathfinding data in sync with block changes
+ */
+public class WorldChangeListener implements Listener {
+    
+    private final WDPStartPlugin plugin;
+    
+    public WorldChangeListener(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        onBlockChange(event.getBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        onBlockChange(event.getBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            onBlockChange(block);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            onBlockChange(block);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        plugin.getNavGridManager().onChunkLoad(event.getChunk());
+    }
+    
+    private void onBlockChange(Block block) {
+        plugin.getPathGuideManager().onBlockChange(block);
+        plugin.getNavGridManager().onBlockChange(block);
+    }
+}
@@ -1,9 +1,9 @@
 package com.wdp.start.path;
 
+import com.wdp.start.world.BlockSource;
+import com.wdp.start.world.MaterialTraits;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 
 import java.util.*;
 
@@ -17,11 +17,11 @@ public class AStarPathfinder {
     private static final int MAX_ITERATIONS = 5000;
     
     // Height tolerance for path finding
-    private static final int MAX_FALL_HEIGHT = 3;
-    private static final int MAX_JUMP_HEIGHT = 1;
+    static final int MAX_FALL_HEIGHT = 3;
+    static final int MAX_JUMP_HEIGHT = 1;
     
     // Directions for neighbors (8-directional + vertical)
-    private static final int[][] DIRECTIONS = {
+    static final int[][] DIRECTIONS = {
         {1, 0}, {-1, 0}, {0, 1}, {0, -1},  // Cardinal
         {1, 1}, {1, -1}, {-1, 1}, {-1, -1}  // Diagonal
     };
@@ -34,15 +34,48 @@ public class AStarPathfinder {
      * @return List of locations representing the path, or empty if no path found
      */
     public static List<Location> findPath(Location start, Location end, int maxDistance) {
+        SlicedSearch search = createSearch(start, end, maxDistance);
+        search.step(Long.MAX_VALUE);
+        return search.getResult();
+    }
+    
+    /**
+     * Find the shortest path reading blocks from the given source
+     * @see #findPath(Location, Location, int)
+     */
+    public static List<Location> findPath(BlockSource blocks, Location start, Location end, int maxDistance) {
+        SlicedSearch search = createSearch(blocks, start, end, maxDistance);
+        search.step(Long.MAX_VALUE);
+        return search.getResult();
+    }
+    
+    /**
+     * Create a resumable search from start to end, to be run in slices by the {@link PathScheduler}
+     * @param start Starting location
+     * @param end Target location
+     * @param maxDistance Maximum path length
+     * @return The search (already finished with an empty result if there is nothing to search)
+     */
+    public static SlicedSearch createSearch(Location start, Location end, int maxDistance) {
         if (start == null || end == null || start.getWorld() == null) {
-            return Collections.emptyList();
+            return SlicedSearch.completed(Collections.emptyList());
         }
         
-        World world = start.getWorld();
+        return createSearch(BlockSource.of(start.getWorld()), start, end, maxDistance);
+    }
+    
+    /**
+     * Create a resumable search reading blocks from the given source
+     * @see #createSearch(Location, Location, int)
+     */
+    public static SlicedSearch createSearch(BlockSource blocks, Location start, Location end, int maxDistance) {
+        if (start == null || end == null) {
+            return SlicedSearch.completed(Collections.emptyList());
+        }
         
         // Convert to path nodes
-        PathNode startNode = new PathNode(start.getBlockX(), getWalkableY(world, start.getBlockX(), start.getBlockY(), start.getBlockZ()), start.getBlockZ());
-        PathNode endNode = new PathNode(end.getBlockX(), getWalkableY(world, end.getBlockX(), end.getBlockY(), end.getBlockZ()), end.getBlockZ());
+        PathNode startNode = new PathNode(start.getBlockX(), getWalkableY(blocks, start.getBlockX(), start.getBlockY(), start.getBlockZ()), start.getBlockZ());
+        PathNode endNode = new PathNode(end.getBlockX(), getWalkableY(blocks, end.getBlockX(), end.getBlockY(), end.getBlockZ()), end.getBlockZ());
         
         // Check if already close enough
         double directDistance = Math.sqrt(
@@ -51,113 +84,33 @@ public class AStarPathfinder {
         );
         
         if (directDistance < 3) {
-            return Collections.emptyList(); // Too close
+            return SlicedSearch.completed(Collections.emptyList()); // Too close
         }
         
-        // A* algorithm
-        PriorityQueue<PathNode> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.fCost));
-        Map<Long, PathNode> allNodes = new HashMap<>();
-        Set<Long> closedSet = new HashSet<>();
-        
-        startNode.gCost = 0;
-        startNode.hCost = heuristic(startNode, endNode);
-        startNode.fCost = startNode.hCost;
-        
-        openSet.add(startNode);
-        allNodes.put(startNode.getKey(), startNode);
-        
-        int iterations = 0;
-        
-        while (!openSet.isEmpty() && iterations < MAX_ITERATIONS) {
-            iterations++;
-            
-            PathNode current = openSet.poll();
-            
-            // Check if we reached destination (within 2 blocks)
-            double distToEnd = Math.sqrt(
-                Math.pow(endNode.x - current.x, 2) + 
-                Math.pow(endNode.z - current.z, 2)
-            );
-            
-            if (distToEnd < 2) {
-                return reconstructPath(current, world, maxDistance);
-            }
-            
-            closedSet.add(current.getKey());
-            
-            // Check all neighbors
-            for (int[] dir : DIRECTIONS) {
-                int newX = current.x + dir[0];
-                int newZ = current.z + dir[1];
-                
-                // Find walkable Y at this position
-                int newY = findWalkableY(world, newX, current.y, newZ);
-                if (newY == Integer.MIN_VALUE) {
-                    continue; // Not walkable
-                }
-                
-                // Check height difference
-                int heightDiff = newY - current.y;
-                if (heightDiff > MAX_JUMP_HEIGHT || heightDiff < -MAX_FALL_HEIGHT) {
-                    continue; // Too high/low
-                }
-                
-                PathNode neighbor = new PathNode(newX, newY, newZ);
-                long neighborKey = neighbor.getKey();
-                
-                if (closedSet.contains(neighborKey)) {
-                    continue;
-                }
-                
-                // Calculate movement cost (diagonal costs more)
-                double moveCost = (dir[0] != 0 && dir[1] != 0) ? 1.414 : 1.0;
-                moveCost += Math.abs(heightDiff) * 0.5; // Height changes cost more
-                
-                double tentativeG = current.gCost + moveCost;
-                
-                PathNode existingNode = allNodes.get(neighborKey);
-                
-                if (existingNode == null) {
-                    neighbor.gCost = tentativeG;
-                    neighbor.hCost = heuristic(neighbor, endNode);
-                    neighbor.fCost = neighbor.gCost + neighbor.hCost;
-                    neighbor.parent = current;
-                    
-                    openSet.add(neighbor);
-                    allNodes.put(neighborKey, neighbor);
-                } else if (tentativeG < existingNode.gCost) {
-                    openSet.remove(existingNode);
-                    existingNode.gCost = tentativeG;
-                    existingNode.fCost = existingNode.gCost + existingNode.hCost;
-                    existingNode.parent = current;
-                    openSet.add(existingNode);
-                }
-            }
-        }
-        
-        // No path found - return partial path to closest point
-        PathNode closest = null;
-        double closestDist = Double.MAX_VALUE;
-        
-        for (PathNode node : allNodes.values()) {
-            double dist = heuristic(node, endNode);
-            if (dist < closestDist) {
-                closestDist = dist;
-                closest = node;
-            }
-        }
-        
-        if (closest != null && closest.parent != null) {
-            return reconstructPath(closest, world, maxDistance);
-        }
-        
-        return Collections.emptyList();
+        return new PathSearch(blocks, startNode, endNode, maxDistance,
+            Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+            2, MAX_ITERATIONS, true);
+    }
+    
+    /**
+     * Create a search between two walkable cells that never leaves the given X/Z bounds.
+     * Used by the hierarchical pathfinder to refine one segment inside a chunk.
+     * Its result is the path including both end cells, or empty if they are not connected within bounds.
+     */
+    static SlicedSearch createLocalSearch(BlockSource blocks, int startX, int startY, int startZ,
+                                          int endX, int endY, int endZ,
+                                          int minX, int minZ, int maxX, int maxZ, int maxIterations) {
+        PathNode startNode = new PathNode(startX, startY, startZ);
+        PathNode endNode = new PathNode(endX, endY, endZ);
+        
+        return new PathSearch(blocks, startNode, endNode, Integer.MAX_VALUE,
+            minX, minZ, maxX, maxZ, 1, maxIterations, false);
     }
     
     /**
      * Calculate heuristic (estimated cost to target)
      */
-    private static double heuristic(PathNode a, PathNode b) {
+    static double heuristic(PathNode a, PathNode b) {
         // Use Euclidean distance for more accurate estimation
         return Math.sqrt(
             Math.pow(b.x - a.x, 2) + 
@@ -169,18 +122,18 @@ public class AStarPathfinder {
     /**
      * Find a walkable Y coordinate starting from a given Y
      */
-    private static int findWalkableY(World world, int x, int startY, int z) {
+    static int findWalkableY(BlockSource blocks, int x, int startY, int z) {
         // Search up and down from startY
         for (int offset = 0; offset <= MAX_FALL_HEIGHT + MAX_JUMP_HEIGHT; offset++) {
             // Check below
             int yBelow = startY - offset;
-            if (yBelow > world.getMinHeight() && isWalkable(world, x, yBelow, z)) {
+            if (yBelow > blocks.getMinHeight() && isWalkable(blocks, x, yBelow, z)) {
                 return yBelow;
             }
             
             // Check above
             int yAbove = startY + offset;
-            if (yAbove < world.getMaxHeight() - 2 && isWalkable(world, x, yAbove, z)) {
+            if (yAbove < blocks.getMaxHeight() - 2 && isWalkable(blocks, x, yAbove, z)) {
                 return yAbove;
             }
         }
@@ -191,80 +144,47 @@ public class AStarPathfinder {
     /**
      * Get walkable Y from location
      */
-    private static int getWalkableY(World world, int x, int y, int z) {
-        int result = findWalkableY(world, x, y, z);
+    private static int getWalkableY(BlockSource blocks, int x, int y, int z) {
+        int result = findWalkableY(blocks, x, y, z);
         return result == Integer.MIN_VALUE ? y : result;
     }
     
     /**
      * Check if a position is walkable (solid ground with 2 air blocks above)
      */
-    private static boolean isWalkable(World world, int x, int y, int z) {
-        Block ground = world.getBlockAt(x, y - 1, z);
-        Block feet = world.getBlockAt(x, y, z);
-        Block head = world.getBlockAt(x, y + 1, z);
+    static boolean isWalkable(BlockSource blocks, int x, int y, int z) {
+        int ground = blocks.getTraits(x, y - 1, z);
         
-        // Ground must be solid
-        if (!ground.getType().isSolid()) {
-            return false;
-        }
-        
-        // Check for dangerous blocks
-        if (isDangerous(ground.getType())) {
+        // Ground must be solid and not dangerous
+        if ((ground & (MaterialTraits.SOLID | MaterialTraits.DANGEROUS)) != MaterialTraits.SOLID) {
             return false;
         }
         
         // Feet and head space must be passable
-        if (!isPassable(feet.getType()) || !isPassable(head.getType())) {
-            return false;
-        }
-        
-        return true;
+        return (blocks.getTraits(x, y, z) & MaterialTraits.PASSABLE) != 0 &&
+               (blocks.getTraits(x, y + 1, z) & MaterialTraits.PASSABLE) != 0;
     }
     
     /**
-     * Check if a material is passable (can walk through)
+     * Check walkability from the trait bits of the ground, feet and head blocks
      */
-    private static boolean isPassable(Material mat) {
-        return mat.isAir() || 
-               mat == Material.LIGHT ||
-               mat == Material.WATER ||
-               mat == Material.SHORT_GRASS ||
-               mat == Material.TALL_GRASS ||
-               mat == Material.FERN ||
-               mat == Material.LARGE_FERN ||
-               mat == Material.DEAD_BUSH ||
-               mat == Material.TORCH ||
-               mat == Material.WALL_TORCH ||
-               mat == Material.REDSTONE_TORCH ||
-               mat == Material.REDSTONE_WALL_TORCH ||
-               mat.name().contains("FLOWER") ||
-               mat.name().contains("CARPET") ||
-               mat.name().contains("PRESSURE_PLATE") ||
-               mat.name().contains("SIGN") ||
-               mat.name().contains("BANNER");
+    static boolean isWalkable(int ground, int feet, int head) {
+        return (ground & (MaterialTraits.SOLID | MaterialTraits.DANGEROUS)) == MaterialTraits.SOLID &&
+               (feet & MaterialTraits.PASSABLE) != 0 &&
+               (head & MaterialTraits.PASSABLE) != 0;
     }
     
     /**
-     * Check if material is dangerous
+     * Unique key for a block position
      */
-    private static boolean isDangerous(Material mat) {
-        return mat == Material.LAVA ||
-               mat == Material.FIRE ||
-               mat == Material.SOUL_FIRE ||
-               mat == Material.CAMPFIRE ||
-               mat == Material.SOUL_CAMPFIRE ||
-               mat == Material.MAGMA_BLOCK ||
-               mat == Material.CACTUS ||
-               mat == Material.SWEET_BERRY_BUSH ||
-               mat == Material.WITHER_ROSE ||
-               mat == Material.POINTED_DRIPSTONE;
+    static long packKey(int x, int y, int z) {
+        return ((long) x & 0xFFFFFFL) | (((long) y & 0xFFFL) << 24) | (((long) z & 0xFFFFFFL) << 36);
     }
     
     /**
      * Reconstruct the path from end node to start
      */
-    private static List<Location> reconstructPath(PathNode end, World world, int maxLength) {
+    static List<Location> reconstructPath(PathNode end, World world, int maxLength) {
         List<Location> path = new ArrayList<>();
         PathNode current = end;
         
@@ -280,7 +200,7 @@ public class AStarPathfinder {
     /**
      * Inner class representing a path node
      */
-    private static class PathNode {
+    static class PathNode {
         final int x, y, z;
         double gCost = Double.MAX_VALUE; // Cost from start
         double hCost = 0; // Heuristic cost to end
@@ -294,8 +214,7 @@ public class AStarPathfinder {
         }
         
         long getKey() {
-            // Unique key for this position
-            return ((long) x & 0xFFFFFFL) | (((long) y & 0xFFFL) << 24) | (((long) z & 0xFFFFFFL) << 36);
+            return packKey(x, y, z);
         }
         
         @Override
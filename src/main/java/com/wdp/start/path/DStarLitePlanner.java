@@ -0,0 +1,432 @@
+package com.wdp.start.path;
+
+import com.wdp.start.world.BlockSource;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * Incremental path planner (D* Lite) for one path guide
+ *
+ * Searches backwards from the quest target, so when the player moves only the start
+ * changes and the previous search tree stays valid. Blocks that change near explored
+ * cells are repaired locally on the next replan instead of starting a fresh search.
+ *
+ * Moves link cells at most {@link AStarPathfinder#MAX_JUMP_HEIGHT} apart in height so
+ * every edge can be walked both ways, which keeps predecessors and successors the same.
+ */
+class DStarLitePlanner {
+
+    private static final double INFINITY = Double.POSITIVE_INFINITY;
+    private static final int DEADLINE_CHECK_INTERVAL = 16;
+
+    // Walkability results kept per planner, least recently used ones are dropped first
+    private static final int MAX_CACHED_CELLS = 16384;
+
+    private final World world;
+    private final BlockSource blocks;
+    private final Node goal;
+    private final int maxNodes;
+
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final Map<Long, Boolean> walkableCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_CACHED_CELLS;
+        }
+    };
+    private final PriorityQueue<QueueEntry> openSet = new PriorityQueue<>();
+    private final List<int[]> changedCells = new ArrayList<>();
+
+    // Box around every node created so far, block changes outside it cannot affect the tree
+    private int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+
+    private Node start;
+    private double km = 0;
+    private boolean failed = false;
+
+    // Stats for the last replan
+    private int lastExpansions = 0;
+
+    private DStarLitePlanner(BlockSource blocks, int goalX, int goalY, int goalZ, int startX, int startY, int startZ, int maxNodes) {
+        this.world = blocks.getWorld();
+        this.blocks = blocks;
+        this.maxNodes = maxNodes;
+        this.goal = getNode(goalX, goalY, goalZ);
+        this.start = getNode(startX, startY, startZ);
+
+        goal.rhs = 0;
+        insert(goal);
+    }
+
+    /**
+     * Create a planner towards the target, or null if the target is not walkable
+     */
+    static DStarLitePlanner create(Location from, Location target, int maxNodes) {
+        World world = from.getWorld();
+        if (world == null || !world.equals(target.getWorld())) {
+            return null;
+        }
+
+        return create(BlockSource.of(world), from, target, maxNodes);
+    }
+
+    /**
+     * Create a planner reading blocks from the given source, or null if the target is not walkable
+     */
+    static DStarLitePlanner create(BlockSource blocks, Location from, Location target, int maxNodes) {
+        int goalY = AStarPathfinder.findWalkableY(blocks, target.getBlockX(), target.getBlockY(), target.getBlockZ());
+        int startY = AStarPathfinder.findWalkableY(blocks, from.getBlockX(), from.getBlockY(), from.getBlockZ());
+        if (goalY == Integer.MIN_VALUE || startY == Integer.MIN_VALUE) {
+            return null;
+        }
+
+        return new DStarLitePlanner(blocks, target.getBlockX(), goalY, target.getBlockZ(),
+            from.getBlockX(), startY, from.getBlockZ(), maxNodes);
+    }
+
+    /**
+     * Check if this planner can be reused for a new start location
+     * @param maxDeviation Maximum horizontal distance from the previous start
+     */
+    boolean canReuse(Location from, Location target, int maxDeviation) {
+        if (failed || !world.equals(from.getWorld()) || !world.equals(target.getWorld())) {
+            return false;
+        }
+        if (target.getBlockX() != goal.x || target.getBlockZ() != goal.z) {
+            return false;
+        }
+        if (nodes.size() >= maxNodes) {
+            return false;
+        }
+
+        double dx = from.getBlockX() - start.x;
+        double dz = from.getBlockZ() - start.z;
+        return dx * dx + dz * dz <= (double) maxDeviation * maxDeviation;
+    }
+
+    /**
+     * Create a resumable replan from a new start location
+     * @param maxLength Maximum number of points in the returned path
+     */
+    SlicedSearch replan(Location from, int maxLength) {
+        int startY = AStarPathfinder.findWalkableY(blocks, from.getBlockX(), from.getBlockY(), from.getBlockZ());
+        if (startY == Integer.MIN_VALUE) {
+            return SlicedSearch.completed(Collections.emptyList());
+        }
+
+        // Moving the start only shifts the key modifier, the search tree is kept
+        Node newStart = getNode(from.getBlockX(), startY, from.getBlockZ());
+        km += heuristic(start, newStart);
+        start = newStart;
+        lastExpansions = 0;
+
+        return new SlicedSearch() {
+            private List<Location> result = null;
+
+            @Override
+            public boolean step(long deadlineNanos) {
+                if (result != null) {
+                    return true;
+                }
+
+                applyChanges();
+
+                if (!computeShortestPath(deadlineNanos)) {
+                    return false;
+                }
+
+                result = failed ? Collections.emptyList() : extractPath(maxLength);
+                return true;
+            }
+
+            @Override
+            public List<Location> getResult() {
+                return result != null ? result : Collections.emptyList();
+            }
+        };
+    }
+
+    /**
+     * Record a block change, the affected cells are repaired on the next replan
+     */
+    void onBlockChange(int x, int y, int z) {
+        // Cells next to a node decide its edges, so the box is widened by one move
+        if (x < minX - 1 || x > maxX + 1 || z < minZ - 1 || z > maxZ + 1
+                || y < minY - AStarPathfinder.MAX_JUMP_HEIGHT - 2 || y > maxY + AStarPathfinder.MAX_JUMP_HEIGHT + 2) {
+            return;
+        }
+
+        // A block is the ground of the cell above, the feet of its own cell and the head of the cell below
+        for (int dy = -1; dy <= 1; dy++) {
+            walkableCache.remove(AStarPathfinder.packKey(x, y + dy, z));
+            changedCells.add(new int[]{x, y + dy, z});
+        }
+    }
+
+    /**
+     * Nodes expanded by the last replan
+     */
+    int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    /**
+     * Nodes kept in the search tree
+     */
+    int getNodeCount() {
+        return nodes.size();
+    }
+
+    // ==================== D* LITE ====================
+
+    private void applyChanges() {
+        if (changedCells.isEmpty()) {
+            return;
+        }
+
+        for (int[] cell : changedCells) {
+            // Every edge touching the cell changed, so update both of its ends
+            updateExisting(cell[0], cell[1], cell[2]);
+            for (int[] dir : AStarPathfinder.DIRECTIONS) {
+                for (int dy = -AStarPathfinder.MAX_JUMP_HEIGHT; dy <= AStarPathfinder.MAX_JUMP_HEIGHT; dy++) {
+                    updateExisting(cell[0] + dir[0], cell[1] + dy, cell[2] + dir[1]);
+                }
+            }
+        }
+        changedCells.clear();
+    }
+
+    private void updateExisting(int x, int y, int z) {
+        Node node = nodes.get(AStarPathfinder.packKey(x, y, z));
+        if (node != null) {
+            updateVertex(node);
+        }
+    }
+
+    /**
+     * @return true when finished (consistent start or nothing left to expand), false when out of time
+     */
+    private boolean computeShortestPath(long deadlineNanos) {
+        int sinceCheck = 0;
+
+        while (!openSet.isEmpty()) {
+            QueueEntry top = openSet.peek();
+            if (top.node.entry != top) {
+                openSet.poll(); // Stale entry
+                continue;
+            }
+
+            double[] startKey = calculateKey(start);
+            if (compareKeys(top.k1, top.k2, startKey[0], startKey[1]) >= 0 && start.rhs == start.g) {
+                return true;
+            }
+
+            if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                sinceCheck = 0;
+                if (System.nanoTime() >= deadlineNanos) {
+                    return false;
+                }
+            }
+
+            if (nodes.size() >= maxNodes) {
+                failed = true;
+                return true;
+            }
+
+            openSet.poll();
+            Node u = top.node;
+            u.entry = null;
+            lastExpansions++;
+
+            double[] newKey = calculateKey(u);
+            if (compareKeys(top.k1, top.k2, newKey[0], newKey[1]) < 0) {
+                insert(u);
+            } else if (u.g > u.rhs) {
+                u.g = u.rhs;
+                for (Node pred : neighbors(u)) {
+                    updateVertex(pred);
+                }
+            } else {
+                u.g = INFINITY;
+                updateVertex(u);
+                for (Node pred : neighbors(u)) {
+                    updateVertex(pred);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void updateVertex(Node u) {
+        if (u != goal) {
+            double best = INFINITY;
+            for (Node succ : neighbors(u)) {
+                double cost = cost(u, succ) + succ.g;
+                if (cost < best) {
+                    best = cost;
+                }
+            }
+            u.rhs = best;
+        }
+
+        u.entry = null; // Drops any queued entry
+        if (u.g != u.rhs) {
+            insert(u);
+        }
+    }
+
+    private void insert(Node node) {
+        double[] key = calculateKey(node);
+        QueueEntry entry = new QueueEntry(node, key[0], key[1]);
+        node.entry = entry;
+        openSet.add(entry);
+    }
+
+    private double[] calculateKey(Node node) {
+        double min = Math.min(node.g, node.rhs);
+        return new double[]{min + heuristic(start, node) + km, min};
+    }
+
+    private static int compareKeys(double a1, double a2, double b1, double b2) {
+        int first = Double.compare(a1, b1);
+        return first != 0 ? first : Double.compare(a2, b2);
+    }
+
+    /**
+     * Follow the cheapest neighbours from the start down to the goal
+     */
+    private List<Location> extractPath(int maxLength) {
+        if (start.g == INFINITY && start.rhs == INFINITY) {
+            return Collections.emptyList();
+        }
+
+        List<Location> path = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        Node current = start;
+
+        while (current != null && path.size() < maxLength && visited.add(current.key)) {
+            path.add(new Location(world, current.x + 0.5, current.y, current.z + 0.5));
+            if (current == goal) {
+                break;
+            }
+
+            Node next = null;
+            double best = INFINITY;
+            for (Node succ : neighbors(current)) {
+                double cost = cost(current, succ) + succ.g;
+                if (cost < best) {
+                    best = cost;
+                    next = succ;
+                }
+            }
+            current = next;
+        }
+
+        return path;
+    }
+
+    // ==================== GRAPH ====================
+
+    /**
+     * Walkable cells next to a node (the graph is undirected)
+     */
+    private List<Node> neighbors(Node u) {
+        List<Node> result = new ArrayList<>(8);
+        if (!isWalkable(u.x, u.y, u.z)) {
+            return result;
+        }
+
+        for (int[] dir : AStarPathfinder.DIRECTIONS) {
+            int nx = u.x + dir[0];
+            int nz = u.z + dir[1];
+            for (int dy = -AStarPathfinder.MAX_JUMP_HEIGHT; dy <= AStarPathfinder.MAX_JUMP_HEIGHT; dy++) {
+                int ny = u.y + dy;
+                if (isWalkable(nx, ny, nz)) {
+                    result.add(getNode(nx, ny, nz));
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isWalkable(int x, int y, int z) {
+        if (y <= blocks.getMinHeight() || y >= blocks.getMaxHeight() - 2) {
+            return false;
+        }
+        long key = AStarPathfinder.packKey(x, y, z);
+        Boolean cached = walkableCache.get(key);
+        if (cached == null) {
+            cached = AStarPathfinder.isWalkable(blocks, x, y, z);
+            walkableCache.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static double cost(Node a, Node b) {
+        // Same costs as the A* search
+        double moveCost = (a.x != b.x && a.z != b.z) ? 1.414 : 1.0;
+        return moveCost + Math.abs(b.y - a.y) * 0.5;
+    }
+
+    private static double heuristic(Node a, Node b) {
+        double dx = b.x - a.x;
+        double dy = b.y - a.y;
+        double dz = b.z - a.z;
+        return Math.sqrt(dx * dx + dy * dy * 0.5 + dz * dz);
+    }
+
+    private Node getNode(int x, int y, int z) {
+        long key = AStarPathfinder.packKey(x, y, z);
+        Node node = nodes.get(key);
+        if (node == null) {
+            node = new Node(x, y, z, key);
+            nodes.put(key, node);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            minZ = Math.min(minZ, z);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+            maxZ = Math.max(maxZ, z);
+        }
+        return node;
+    }
+
+    private static class Node {
+        final int x, y, z;
+        final long key;
+        double g = INFINITY;
+        double rhs = INFINITY;
+        QueueEntry entry = null;
+
+        Node(int x, int y, int z, long key) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Open set entry; replaced instead of removed when a node's key changes
+     */
+    private static class QueueEntry implements Comparable<QueueEntry> {
+        final Node node;
+        final double k1, k2;
+
+        QueueEntry(Node node, double k1, double k2) {
+            this.node = node;
+            this.k1 = k1;
+            this.k2 = k2;
+        }
+
+        @Override
+        public int compareTo(QueueEntry other) {
+            return compareKeys(k1, k2, other.k1, other.k2);
+        }
+    }
+}
@@ -0,0 +1,738 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import com.wdp.start.world.BlockSource;
+import com.wdp.start.world.NavGrid;
+import com.wdp.start.world.NavGridBlockSource;
+import com.wdp.start.world.SnapshotBlockSource;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * Hierarchical (chunk-level) pathfinding for long-distance guides
+ *
+ * Each chunk column gets a small graph: walkable cells inside a vertical band are
+ * labelled into connected components, and every run of walkable cells crossing a
+ * chunk border becomes an entrance. The coarse search runs over those entrances,
+ * so its cost grows with the number of chunks crossed instead of the number of blocks.
+ *
+ * The search only walks through loaded chunks, and a chunk graph is built from a
+ * snapshot of its chunk, so a search never loads or generates terrain.
+ *
+ * Only the first few segments near the player are refined with a local A* bounded
+ * to one chunk, and the returned path stops where refinement stops. The guide is
+ * recalculated from the player's position when its end is reached, which refines the
+ * next segments then. Refinement is a phase of the sliced search: a slice runs at most
+ * one local search, and the clock is checked before every chunk graph build. Refined segments are cached in the chunk graph, and a chunk graph
+ * is dropped as soon as a block inside (or on the border of) that chunk changes.
+ */
+public class HierarchicalPathfinder {
+
+    private static final int CHUNK_SIZE = 16;
+    private static final int MAX_COARSE_ITERATIONS = 20000;
+    private static final int LOCAL_ITERATIONS = 2048;
+
+    // Outward border directions: west, east, north, south
+    private static final int[][] BORDERS = {
+        {-1, 0}, {1, 0}, {0, -1}, {0, 1}
+    };
+
+    private static final int[][] DIRECTIONS = {
+        {1, 0}, {-1, 0}, {0, 1}, {0, -1},
+        {1, 1}, {1, -1}, {-1, 1}, {-1, -1}
+    };
+
+    private final WDPStartPlugin plugin;
+
+    // World name -> chunk key -> cached chunk graph
+    private final Map<String, Map<Long, ChunkGraph>> graphs = new HashMap<>();
+
+    public HierarchicalPathfinder(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Find a walkable path from start to end through the chunk graph
+     * @param maxLength Maximum number of points in the returned path
+     * @return List of locations (block centers), or empty if the coarse search failed
+     */
+    public List<Location> findPath(Location start, Location end, int maxLength) {
+        SlicedSearch search = createSearch(start, end, maxLength);
+        while (!search.step(Long.MAX_VALUE)) {
+            // Refinement runs one local search per step
+        }
+        return search.getResult();
+    }
+
+    /**
+     * Create a resumable search through the chunk graph, to be run in slices by the {@link PathScheduler}
+     * @param maxLength Maximum number of points in the returned path
+     */
+    public SlicedSearch createSearch(Location start, Location end, int maxLength) {
+        if (start == null || end == null || start.getWorld() == null || !start.getWorld().equals(end.getWorld())) {
+            return SlicedSearch.completed(Collections.emptyList());
+        }
+
+        BlockSource blocks = BlockSource.of(start.getWorld());
+
+        int sx = start.getBlockX();
+        int sz = start.getBlockZ();
+        int sy = AStarPathfinder.findWalkableY(blocks, sx, start.getBlockY(), sz);
+        int ex = end.getBlockX();
+        int ez = end.getBlockZ();
+        int ey = AStarPathfinder.findWalkableY(blocks, ex, end.getBlockY(), ez);
+
+        if (sy == Integer.MIN_VALUE || ey == Integer.MIN_VALUE) {
+            return SlicedSearch.completed(Collections.emptyList());
+        }
+
+        // Vertical band, aligned to sections so graphs are reusable between requests
+        int band = plugin.getConfigManager().getHierarchicalVerticalBand();
+        int minY = Math.max(blocks.getMinHeight() + 1, Math.floorDiv(Math.min(sy, ey) - band, 16) * 16);
+        int maxY = Math.min(blocks.getMaxHeight() - 2, (Math.floorDiv(Math.max(sy, ey) + band, 16) + 1) * 16 - 1);
+
+        return new CoarseSearch(blocks, sx, sy, sz, ex, ey, ez, minY, maxY, maxLength);
+    }
+
+    /**
+     * Drop cached graphs affected by a block change at the given position
+     */
+    public void invalidate(World world, int x, int z) {
+        Map<Long, ChunkGraph> worldGraphs = graphs.get(world.getName());
+        if (worldGraphs == null || worldGraphs.isEmpty()) {
+            return;
+        }
+
+        int cx = x >> 4;
+        int cz = z >> 4;
+        int lx = x & 15;
+        int lz = z & 15;
+
+        worldGraphs.remove(chunkKey(cx, cz));
+
+        // Neighbours read this chunk's border column when finding entrances
+        if (lx == 0) worldGraphs.remove(chunkKey(cx - 1, cz));
+        if (lx == 15) worldGraphs.remove(chunkKey(cx + 1, cz));
+        if (lz == 0) worldGraphs.remove(chunkKey(cx, cz - 1));
+        if (lz == 15) worldGraphs.remove(chunkKey(cx, cz + 1));
+    }
+
+    /**
+     * Clear all cached graphs
+     */
+    public void clear() {
+        graphs.clear();
+    }
+
+    /**
+     * Number of cached chunk graphs (for debug output)
+     */
+    public int getCachedChunkCount() {
+        int count = 0;
+        for (Map<Long, ChunkGraph> worldGraphs : graphs.values()) {
+            count += worldGraphs.size();
+        }
+        return count;
+    }
+
+    // ==================== COARSE SEARCH ====================
+
+    /**
+     * Resumable A* over chunk entrances, followed by resumable refinement of the found route
+     */
+    private class CoarseSearch implements SlicedSearch {
+        private final BlockSource blocks;
+        private final int ex, ey, ez;
+        private final int minY, maxY;
+        private final int maxLength;
+
+        private final PriorityQueue<CoarseNode> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.fCost));
+        private final Map<Long, CoarseNode> allNodes = new HashMap<>();
+        private final Set<Long> closedSet = new HashSet<>();
+
+        private int iterations = 0;
+        private List<Location> result = null;
+
+        // Refinement, set once the coarse route is found
+        private List<int[]> waypoints = null;
+        private List<Location> path;
+        private int segment;
+        private int refineBudget;
+        private SlicedSearch localSearch;
+        private ChunkGraph localGraph;
+
+        CoarseSearch(BlockSource blocks, int sx, int sy, int sz, int ex, int ey, int ez, int minY, int maxY, int maxLength) {
+            this.blocks = blocks;
+            this.ex = ex;
+            this.ey = ey;
+            this.ez = ez;
+            this.minY = minY;
+            this.maxY = maxY;
+            this.maxLength = maxLength;
+
+            CoarseNode startNode = new CoarseNode(sx, sy, sz);
+            startNode.gCost = 0;
+            startNode.fCost = distance(sx, sy, sz, ex, ey, ez);
+            openSet.add(startNode);
+            allNodes.put(startNode.key, startNode);
+        }
+
+        @Override
+        public boolean step(long deadlineNanos) {
+            if (result != null) {
+                return true;
+            }
+
+            if (waypoints != null) {
+                return refineStep(deadlineNanos);
+            }
+
+            // Goal must be loaded and walkable inside the band
+            if (iterations == 0) {
+                if (!isLoaded(blocks.getWorld(), ex >> 4, ez >> 4)) {
+                    result = Collections.emptyList();
+                    return true;
+                }
+                if (System.nanoTime() >= deadlineNanos) {
+                    return false;
+                }
+                if (getGraph(blocks, ex >> 4, ez >> 4, minY, maxY).labelAt(ex, ey, ez) <= 0) {
+                    result = Collections.emptyList();
+                    return true;
+                }
+            }
+
+            while (!openSet.isEmpty() && iterations < MAX_COARSE_ITERATIONS) {
+                // Every iteration may build a chunk graph, the expensive part, so check the clock before each
+                if (System.nanoTime() >= deadlineNanos) {
+                    return false;
+                }
+
+                iterations++;
+
+                CoarseNode current = openSet.poll();
+
+                if (current.x == ex && current.y == ey && current.z == ez) {
+                    List<int[]> route = new ArrayList<>();
+                    for (CoarseNode node = current; node != null; node = node.parent) {
+                        route.add(new int[]{node.x, node.y, node.z});
+                    }
+                    Collections.reverse(route);
+                    startRefinement(route);
+                    return refineStep(deadlineNanos);
+                }
+
+                if (!closedSet.add(current.key)) {
+                    continue;
+                }
+
+                ChunkGraph graph = getGraph(blocks, current.x >> 4, current.z >> 4, minY, maxY);
+                if (graph.overflowed) {
+                    plugin.debug("[Path] Too many components in chunk " + graph.cx + ", " + graph.cz + ", giving up");
+                    result = Collections.emptyList();
+                    return true;
+                }
+                int component = graph.labelAt(current.x, current.y, current.z);
+                if (component <= 0) {
+                    continue; // Outside the band
+                }
+
+                // Goal in the same connected component of this chunk
+                if (graph.labelAt(ex, ey, ez) == component) {
+                    relax(current, ex, ey, ez, distance(current.x, current.y, current.z, ex, ey, ez));
+                }
+
+                // Other entrances reachable inside this chunk
+                for (Entrance entrance : graph.entrances) {
+                    if (entrance.component != component) {
+                        continue;
+                    }
+                    if (entrance.x == current.x && entrance.y == current.y && entrance.z == current.z) {
+                        // Cross the border into the neighbouring chunk, never into an unloaded one
+                        if (!isLoaded(blocks.getWorld(), entrance.outX >> 4, entrance.outZ >> 4)) {
+                            continue;
+                        }
+                        double crossCost = 1.0 + Math.abs(entrance.outY - entrance.y) * 0.5;
+                        relax(current, entrance.outX, entrance.outY, entrance.outZ, crossCost);
+                    } else {
+                        relax(current, entrance.x, entrance.y, entrance.z,
+                            distance(current.x, current.y, current.z, entrance.x, entrance.y, entrance.z));
+                    }
+                }
+            }
+
+            plugin.debug("[Path] Coarse search gave up after " + iterations + " iterations");
+            result = Collections.emptyList();
+            return true;
+        }
+
+        @Override
+        public List<Location> getResult() {
+            return result != null ? result : Collections.emptyList();
+        }
+
+        // ==================== REFINEMENT ====================
+
+        private void startRefinement(List<int[]> route) {
+            waypoints = route;
+            segment = 1;
+            refineBudget = plugin.getConfigManager().getHierarchicalRefineSegments();
+            path = new ArrayList<>();
+            int[] first = route.get(0);
+            path.add(new Location(blocks.getWorld(), first[0] + 0.5, first[1], first[2] + 0.5));
+        }
+
+        /**
+         * Turn the coarse waypoints into a block-level path, resuming where the last slice stopped.
+         * Segments are refined with a bounded local A* or taken from the cache, at most one local
+         * search per slice; the path stops at the first segment that is not refined, so every point
+         * in it was checked. The result is empty if not even the first segment could be refined.
+         */
+        private boolean refineStep(long deadlineNanos) {
+            World world = blocks.getWorld();
+            boolean searched = false;
+
+            while (segment < waypoints.size() && path.size() < maxLength) {
+                int[] from = waypoints.get(segment - 1);
+                int[] to = waypoints.get(segment);
+
+                int cx = from[0] >> 4;
+                int cz = from[2] >> 4;
+
+                if (cx != to[0] >> 4 || cz != to[2] >> 4) {
+                    // Border crossing, the cells are adjacent
+                    path.add(new Location(world, to[0] + 0.5, to[1], to[2] + 0.5));
+                    segment++;
+                    continue;
+                }
+
+                if (localSearch == null) {
+                    // A graph build or a local search may follow
+                    if (searched || System.nanoTime() >= deadlineNanos) {
+                        return false;
+                    }
+                    localGraph = getGraph(blocks, cx, cz, minY, maxY);
+                    int[] cached = localGraph.getRefined(from, to);
+                    if (cached != null) {
+                        append(cached);
+                        segment++;
+                        continue;
+                    }
+                    if (refineBudget <= 0) {
+                        break; // Refined further when the guide is recalculated closer to it
+                    }
+                    refineBudget--;
+                    int baseX = cx << 4;
+                    int baseZ = cz << 4;
+                    localSearch = AStarPathfinder.createLocalSearch(blocks,
+                        from[0], from[1], from[2], to[0], to[1], to[2],
+                        baseX, baseZ, baseX + CHUNK_SIZE - 1, baseZ + CHUNK_SIZE - 1, LOCAL_ITERATIONS);
+                    searched = true;
+                }
+
+                if (!localSearch.step(deadlineNanos)) {
+                    return false;
+                }
+                List<Location> local = localSearch.getResult();
+                localSearch = null;
+                if (local.isEmpty()) {
+                    break;
+                }
+                int[] refined = pack(local);
+                // The first segment starts at the player, which is not worth caching
+                if (segment > 1) {
+                    localGraph.putRefined(from, to, refined);
+                }
+                append(refined);
+                segment++;
+            }
+
+            result = path.size() > 1 ? path : Collections.emptyList();
+            return true;
+        }
+
+        private void append(int[] refined) {
+            World world = blocks.getWorld();
+            // Skip the first point, it is the end of the previous segment
+            for (int p = 3; p < refined.length && path.size() < maxLength; p += 3) {
+                path.add(new Location(world, refined[p] + 0.5, refined[p + 1], refined[p + 2] + 0.5));
+            }
+        }
+
+        private void relax(CoarseNode current, int x, int y, int z, double cost) {
+            long key = AStarPathfinder.packKey(x, y, z);
+            if (closedSet.contains(key)) {
+                return;
+            }
+
+            double tentativeG = current.gCost + cost;
+            CoarseNode existing = allNodes.get(key);
+
+            if (existing == null) {
+                CoarseNode node = new CoarseNode(x, y, z);
+                node.gCost = tentativeG;
+                node.fCost = tentativeG + distance(x, y, z, ex, ey, ez);
+                node.parent = current;
+                openSet.add(node);
+                allNodes.put(key, node);
+            } else if (tentativeG < existing.gCost) {
+                openSet.remove(existing);
+                existing.fCost = existing.fCost - existing.gCost + tentativeG;
+                existing.gCost = tentativeG;
+                existing.parent = current;
+                openSet.add(existing);
+            }
+        }
+    }
+
+    private static int[] pack(List<Location> locations) {
+        int[] packed = new int[locations.size() * 3];
+        for (int i = 0; i < locations.size(); i++) {
+            Location loc = locations.get(i);
+            packed[i * 3] = loc.getBlockX();
+            packed[i * 3 + 1] = loc.getBlockY();
+            packed[i * 3 + 2] = loc.getBlockZ();
+        }
+        return packed;
+    }
+
+    // ==================== CHUNK GRAPHS ====================
+
+    /**
+     * Get the cached graph for a chunk, building it if missing or if its band is too small
+     */
+    private ChunkGraph getGraph(BlockSource blocks, int cx, int cz, int minY, int maxY) {
+        Map<Long, ChunkGraph> worldGraphs = graphs.computeIfAbsent(blocks.getWorld().getName(), k -> createCache());
+        long key = chunkKey(cx, cz);
+
+        World world = blocks.getWorld();
+        ChunkGraph graph = worldGraphs.get(key);
+        if (graph != null && graph.minY <= minY && graph.maxY >= maxY && !hasNewNeighbours(world, graph)) {
+            return graph;
+        }
+
+        // Grow the band instead of replacing it so other requests keep their coverage
+        int buildMinY = graph != null ? Math.min(graph.minY, minY) : minY;
+        int buildMaxY = graph != null ? Math.max(graph.maxY, maxY) : maxY;
+
+        graph = new ChunkGraph(blocks, snapshotOf(blocks, cx, cz), cx, cz, buildMinY, buildMaxY);
+        worldGraphs.put(key, graph);
+        return graph;
+    }
+
+    /**
+     * Check if a neighbour that was unloaded when the graph was built has loaded since,
+     * so the graph is missing the entrances on that border
+     */
+    private static boolean hasNewNeighbours(World world, ChunkGraph graph) {
+        for (int b = 0; b < BORDERS.length; b++) {
+            if ((graph.unloadedBorders & (1 << b)) != 0
+                    && isLoaded(world, graph.cx + BORDERS[b][0], graph.cz + BORDERS[b][1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Block source reading one chunk from a snapshot instead of the live world, so
+     * building its graph does not go through a block lookup per cell
+     */
+    private static BlockSource snapshotOf(BlockSource blocks, int cx, int cz) {
+        World world = blocks.getWorld();
+        if (world == null) {
+            return blocks; // Synthetic source, already cheap to read
+        }
+        SnapshotBlockSource snapshot = new SnapshotBlockSource(world);
+        snapshot.add(world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false));
+
+        // Cells inside the baked nav grid are still read from the grid
+        NavGrid grid = NavGrid.getActive();
+        if (grid != null && grid.getWorldName().equals(world.getName())) {
+            return new NavGridBlockSource(grid, snapshot);
+        }
+        return snapshot;
+    }
+
+    private static boolean isLoaded(World world, int cx, int cz) {
+        return world == null || world.isChunkLoaded(cx, cz);
+    }
+
+    private Map<Long, ChunkGraph> createCache() {
+        int maxChunks = plugin.getConfigManager().getHierarchicalCacheSize();
+        return new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ChunkGraph> eldest) {
+                return size() > maxChunks;
+            }
+        };
+    }
+
+    private static long chunkKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private static double distance(int x1, int y1, int z1, int x2, int y2, int z2) {
+        // Same weighting as the A* heuristic
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double dz = z2 - z1;
+        return Math.sqrt(dx * dx + dy * dy * 0.5 + dz * dz);
+    }
+
+    /**
+     * Walkable cells, connected components and border entrances of one chunk
+     */
+    private static class ChunkGraph {
+        final int cx, cz;
+        final int minY, maxY;
+        final int baseX, baseZ;
+
+        // Component label per cell, index = (y - minY) * 256 + lz * 16 + lx; 0 = not walkable
+        final short[] labels;
+        final List<Entrance> entrances = new ArrayList<>();
+
+        // Bit per BORDERS entry whose neighbour chunk was unloaded, so it has no entrances
+        int unloadedBorders = 0;
+
+        // More components than a short label holds; the graph cannot be used
+        boolean overflowed = false;
+
+        // Refined local paths between two cells of this chunk, packed as x, y, z triples
+        private final Map<Long, Map<Long, int[]>> refined = new HashMap<>();
+
+        /**
+         * @param blocks Source for the neighbouring columns
+         * @param chunk Source for the chunk itself
+         */
+        ChunkGraph(BlockSource blocks, BlockSource chunk, int cx, int cz, int minY, int maxY) {
+            this.cx = cx;
+            this.cz = cz;
+            this.minY = minY;
+            this.maxY = maxY;
+            this.baseX = cx << 4;
+            this.baseZ = cz << 4;
+            this.labels = new short[(maxY - minY + 1) * 256];
+
+            markWalkable(chunk);
+            labelComponents();
+            if (!overflowed) {
+                findEntrances(blocks);
+            }
+        }
+
+        int labelAt(int x, int y, int z) {
+            if (y < minY || y > maxY || x >> 4 != cx || z >> 4 != cz) {
+                return 0;
+            }
+            return labels[index(x - baseX, y, z - baseZ)];
+        }
+
+        int[] getRefined(int[] from, int[] to) {
+            Map<Long, int[]> byTarget = refined.get(AStarPathfinder.packKey(from[0], from[1], from[2]));
+            return byTarget != null ? byTarget.get(AStarPathfinder.packKey(to[0], to[1], to[2])) : null;
+        }
+
+        void putRefined(int[] from, int[] to, int[] segment) {
+            refined.computeIfAbsent(AStarPathfinder.packKey(from[0], from[1], from[2]), k -> new HashMap<>())
+                .put(AStarPathfinder.packKey(to[0], to[1], to[2]), segment);
+        }
+
+        private int index(int lx, int y, int lz) {
+            return (y - minY) * 256 + (lz << 4) + lx;
+        }
+
+        /**
+         * Mark walkable cells with -1, reading each block of a column once
+         */
+        private void markWalkable(BlockSource blocks) {
+            int height = maxY - minY + 3;
+            int[] traits = new int[height];
+
+            for (int lx = 0; lx < CHUNK_SIZE; lx++) {
+                for (int lz = 0; lz < CHUNK_SIZE; lz++) {
+                    int x = baseX + lx;
+                    int z = baseZ + lz;
+
+                    // traits[i] is the block at minY - 1 + i
+                    for (int i = 0; i < height; i++) {
+                        traits[i] = blocks.getTraits(x, minY - 1 + i, z);
+                    }
+
+                    for (int y = minY; y <= maxY; y++) {
+                        int i = y - minY + 1;
+                        if (AStarPathfinder.isWalkable(traits[i - 1], traits[i], traits[i + 1])) {
+                            labels[index(lx, y, lz)] = -1;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Flood fill walkable cells into components.
+         * Only steps of at most MAX_JUMP_HEIGHT link cells, so a component is walkable both ways.
+         */
+        private void labelComponents() {
+            short next = 1;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+            for (int start = 0; start < labels.length; start++) {
+                if (labels[start] != -1) {
+                    continue;
+                }
+
+                if (next == Short.MAX_VALUE) {
+                    // Labels must stay unique, a shared one would join separate components
+                    overflowed = true;
+                    return;
+                }
+                short label = next++;
+                labels[start] = label;
+                queue.add(start);
+
+                while (!queue.isEmpty()) {
+                    int cell = queue.poll();
+                    int y = cell / 256 + minY;
+                    int lz = (cell % 256) >> 4;
+                    int lx = cell & 15;
+
+                    for (int[] dir : DIRECTIONS) {
+                        int nx = lx + dir[0];
+                        int nz = lz + dir[1];
+                        if (nx < 0 || nx >= CHUNK_SIZE || nz < 0 || nz >= CHUNK_SIZE) {
+                            continue;
+                        }
+                        for (int dy = -AStarPathfinder.MAX_JUMP_HEIGHT; dy <= AStarPathfinder.MAX_JUMP_HEIGHT; dy++) {
+                            int ny = y + dy;
+                            if (ny < minY || ny > maxY) {
+                                continue;
+                            }
+                            int neighbor = index(nx, ny, nz);
+                            if (labels[neighbor] == -1) {
+                                labels[neighbor] = label;
+                                queue.add(neighbor);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Find border crossings and merge each contiguous run into one entrance at its middle
+         */
+        private void findEntrances(BlockSource blocks) {
+            for (int b = 0; b < BORDERS.length; b++) {
+                int[] border = BORDERS[b];
+                if (!isLoaded(blocks.getWorld(), cx + border[0], cz + border[1])) {
+                    unloadedBorders |= 1 << b;
+                    continue;
+                }
+
+                List<List<int[]>> runs = new ArrayList<>();
+                List<List<int[]>> open = new ArrayList<>();
+
+                for (int pos = 0; pos < CHUNK_SIZE; pos++) {
+                    int lx = border[0] == 0 ? pos : (border[0] < 0 ? 0 : CHUNK_SIZE - 1);
+                    int lz = border[1] == 0 ? pos : (border[1] < 0 ? 0 : CHUNK_SIZE - 1);
+                    int x = baseX + lx;
+                    int z = baseZ + lz;
+                    int outX = x + border[0];
+                    int outZ = z + border[1];
+
+                    List<List<int[]>> stillOpen = new ArrayList<>();
+
+                    for (int y = minY; y <= maxY; y++) {
+                        int label = labels[index(lx, y, lz)];
+                        if (label <= 0) {
+                            continue;
+                        }
+
+                        int outY = findCrossingY(blocks, outX, y, outZ);
+                        if (outY == Integer.MIN_VALUE) {
+                            continue;
+                        }
+
+                        // crossing = {x, y, z, outY, label, pos}
+                        int[] crossing = {x, y, z, outY, label, pos};
+
+                        List<int[]> run = null;
+                        for (List<int[]> candidate : open) {
+                            int[] last = candidate.get(candidate.size() - 1);
+                            if (last[4] == label && last[5] == pos - 1 && Math.abs(last[1] - y) <= AStarPathfinder.MAX_JUMP_HEIGHT) {
+                                run = candidate;
+                                break;
+                            }
+                        }
+                        if (run == null) {
+                            run = new ArrayList<>();
+                            runs.add(run);
+                        } else {
+                            open.remove(run);
+                        }
+                        run.add(crossing);
+                        stillOpen.add(run);
+                    }
+
+                    open = stillOpen;
+                }
+
+                for (List<int[]> run : runs) {
+                    int[] mid = run.get(run.size() / 2);
+                    entrances.add(new Entrance(mid[0], mid[1], mid[2], mid[4],
+                        mid[0] + border[0], mid[3], mid[2] + border[1]));
+                }
+            }
+        }
+
+        /**
+         * Walkable Y in the neighbouring column reachable with a step both ways
+         */
+        private int findCrossingY(BlockSource blocks, int x, int y, int z) {
+            if (AStarPathfinder.isWalkable(blocks, x, y, z)) return y;
+            if (y + 1 <= maxY && AStarPathfinder.isWalkable(blocks, x, y + 1, z)) return y + 1;
+            if (y - 1 >= minY && AStarPathfinder.isWalkable(blocks, x, y - 1, z)) return y - 1;
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Border cell of a chunk and the walkable cell just across the border
+     */
+    private static class Entrance {
+        final int x, y, z;
+        final int component;
+        final int outX, outY, outZ;
+
+        Entrance(int x, int y, int z, int component, int outX, int outY, int outZ) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.component = component;
+            this.outX = outX;
+            this.outY = outY;
+            this.outZ = outZ;
+        }
+    }
+
+    /**
+     * Node of the coarse search
+     */
+    private static class CoarseNode {
+        final int x, y, z;
+        final long key;
+        double gCost = Double.MAX_VALUE;
+        double fCost = Double.MAX_VALUE;
+        CoarseNode parent = null;
+
+        CoarseNode(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.key = AStarPathfinder.packKey(x, y, z);
+        }
+    }
+}
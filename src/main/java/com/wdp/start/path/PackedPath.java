@@ -0,0 +1,251 @@
+package com.wdp.start.path;
+
+import com.wdp.start.world.BlockSource;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Path guide route stored as a polyline in a flat coordinate array
+ *
+ * Search results come in one point per block; straight walkable stretches are pulled
+ * into single segments (in slices under the path search budget) and particle positions
+ * are interpolated along the segments when the guide is drawn, so a long guide keeps a
+ * handful of vertices instead of a {@link Location} per block.
+ */
+final class PackedPath {
+
+    static final PackedPath EMPTY = new PackedPath(null, new double[0], new double[0]);
+
+    // Longest run of search points merged into one segment, bounds the walk checks
+    private static final int MAX_PULL_POINTS = 24;
+
+    // Sample spacing along a segment when checking it can be walked
+    private static final double WALK_SAMPLE_STEP = 0.25;
+
+    private final World world;
+    private final double[] coords;    // x, y, z per vertex
+    private final double[] distances; // Distance from the first vertex to each vertex
+
+    private PackedPath(World world, double[] coords, double[] distances) {
+        this.world = world;
+        this.coords = coords;
+        this.distances = distances;
+    }
+
+    /**
+     * Pack points as they are, one vertex per point
+     * @param yOffset Added to every Y (particle height)
+     */
+    static PackedPath of(List<Location> points, double yOffset) {
+        if (points.isEmpty()) {
+            return EMPTY;
+        }
+
+        double[] coords = new double[points.size() * 3];
+        for (int i = 0; i < points.size(); i++) {
+            Location loc = points.get(i);
+            coords[i * 3] = loc.getX();
+            coords[i * 3 + 1] = loc.getY() + yOffset;
+            coords[i * 3 + 2] = loc.getZ();
+        }
+        return new PackedPath(points.get(0).getWorld(), coords, measure(coords));
+    }
+
+    /**
+     * Create a resumable string pulling pass over a search result, to be run in slices by
+     * the {@link PathScheduler}. Consecutive points are merged into one segment while the
+     * straight line between them can be walked; the result holds the points kept as
+     * vertices, ready for {@link #of(List, double)}.
+     * @param points Search result, one walkable cell per point
+     */
+    static SlicedSearch simplify(List<Location> points) {
+        if (points.size() <= 2) {
+            return SlicedSearch.completed(points);
+        }
+        return new Simplifier(points);
+    }
+
+    /**
+     * String pulling state, resumed where the last slice stopped
+     */
+    private static final class Simplifier implements SlicedSearch {
+        private final List<Location> points;
+        private final BlockSource blocks;
+        private final Map<Long, Boolean> walkable = new HashMap<>();
+        private final List<Location> kept = new ArrayList<>();
+        private int anchor = 0;
+        private int end = 1;
+        private boolean done = false;
+
+        Simplifier(List<Location> points) {
+            this.points = points;
+            this.blocks = BlockSource.of(points.get(0).getWorld());
+            kept.add(points.get(0));
+        }
+
+        @Override
+        public boolean step(long deadlineNanos) {
+            if (done) {
+                return true;
+            }
+
+            int n = points.size();
+            boolean first = true;
+            while (end < n - 1) {
+                // A walk check reads up to a few dozen columns, so check the clock every pull
+                if (!first && System.nanoTime() >= deadlineNanos) {
+                    return false;
+                }
+                first = false;
+
+                int next = end + 1;
+                if (next - anchor <= MAX_PULL_POINTS && canWalk(blocks, points.get(anchor), points.get(next), walkable)) {
+                    end = next;
+                } else {
+                    kept.add(points.get(end));
+                    anchor = end;
+                    end = anchor + 1;
+                }
+            }
+            kept.add(points.get(n - 1));
+            done = true;
+            return true;
+        }
+
+        @Override
+        public List<Location> getResult() {
+            return done ? kept : Collections.emptyList();
+        }
+    }
+
+    /**
+     * Check that every block column crossed by the line from a to b is walkable,
+     * with the ground close to the straight height between the two ends
+     */
+    private static boolean canWalk(BlockSource blocks, Location a, Location b, Map<Long, Boolean> walkable) {
+        double dx = b.getX() - a.getX();
+        double dy = b.getY() - a.getY();
+        double dz = b.getZ() - a.getZ();
+        double length = Math.sqrt(dx * dx + dz * dz);
+        int samples = Math.max(1, (int) Math.ceil(length / WALK_SAMPLE_STEP));
+
+        int lastX = a.getBlockX();
+        int lastZ = a.getBlockZ();
+        int lastY = a.getBlockY();
+
+        for (int i = 1; i <= samples; i++) {
+            double t = (double) i / samples;
+            int x = (int) Math.floor(a.getX() + dx * t);
+            int z = (int) Math.floor(a.getZ() + dz * t);
+            if (x == lastX && z == lastZ) {
+                continue;
+            }
+
+            // The ground must stay within a block of the interpolated height
+            double lineY = a.getY() + dy * t;
+            int y = Integer.MIN_VALUE;
+            for (int offset = -AStarPathfinder.MAX_JUMP_HEIGHT; offset <= AStarPathfinder.MAX_JUMP_HEIGHT; offset++) {
+                int candidate = lastY + offset;
+                if (Math.abs(candidate - lineY) < 1.0 && isWalkable(blocks, x, candidate, z, walkable)) {
+                    y = candidate;
+                    break;
+                }
+            }
+            if (y == Integer.MIN_VALUE) {
+                return false;
+            }
+
+            lastX = x;
+            lastZ = z;
+            lastY = y;
+        }
+        return true;
+    }
+
+    private static boolean isWalkable(BlockSource blocks, int x, int y, int z, Map<Long, Boolean> walkable) {
+        long key = AStarPathfinder.packKey(x, y, z);
+        Boolean cached = walkable.get(key);
+        if (cached == null) {
+            cached = AStarPathfinder.isWalkable(blocks, x, y, z);
+            walkable.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static double[] measure(double[] coords) {
+        int count = coords.length / 3;
+        double[] distances = new double[count];
+        for (int i = 1; i < count; i++) {
+            double dx = coords[i * 3] - coords[(i - 1) * 3];
+            double dy = coords[i * 3 + 1] - coords[(i - 1) * 3 + 1];
+            double dz = coords[i * 3 + 2] - coords[(i - 1) * 3 + 2];
+            distances[i] = distances[i - 1] + Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+        return distances;
+    }
+
+    boolean isEmpty() {
+        return coords.length == 0;
+    }
+
+    int getVertexCount() {
+        return coords.length / 3;
+    }
+
+    /**
+     * Total length along the polyline in blocks
+     */
+    double getLength() {
+        return distances.length == 0 ? 0 : distances[distances.length - 1];
+    }
+
+    /**
+     * Write the position at a distance along the path into a location
+     * @param distance Distance from the start, clamped to the path
+     * @param out Location to reuse
+     * @return out
+     */
+    Location getPointAt(double distance, Location out) {
+        int count = distances.length;
+        int segment = 0;
+
+        if (distance >= getLength()) {
+            segment = count - 1;
+        } else if (distance > 0) {
+            // Last vertex at or before the distance
+            int low = 0;
+            int high = count - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (distances[mid] <= distance) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            segment = low;
+        }
+
+        int i = segment * 3;
+        out.setWorld(world);
+        if (segment >= count - 1) {
+            out.setX(coords[i]);
+            out.setY(coords[i + 1]);
+            out.setZ(coords[i + 2]);
+            return out;
+        }
+
+        double segmentLength = distances[segment + 1] - distances[segment];
+        double t = segmentLength > 0 ? (distance - distances[segment]) / segmentLength : 0;
+        out.setX(coords[i] + (coords[i + 3] - coords[i]) * t);
+        out.setY(coords[i + 1] + (coords[i + 4] - coords[i + 1]) * t);
+        out.setZ(coords[i + 2] + (coords[i + 5] - coords[i + 2]) * t);
+        return out;
+    }
+}
@@ -0,0 +1,200 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import com.wdp.start.integration.TickTimeMonitor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.Vector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends guide and highlight particles to players with culling and a packet budget
+ *
+ * Points too far away or outside the cone in front of the player are not sent. Each player
+ * gets at most a fixed number of particle packets per tick; callers send the most important
+ * points first so the cap trims detail rather than structure. When the server tick time
+ * ({@link TickTimeMonitor}) rises above the configured threshold the density drops, callers
+ * read {@link #getDensity()} to thin out what they draw.
+ */
+public class ParticleRenderer {
+
+    private final WDPStartPlugin plugin;
+    private final Map<UUID, View> views = new HashMap<>();
+    private BukkitTask task;
+
+    private final TickTimeMonitor tickTimeMonitor;
+    private double density = 1.0;
+
+    // Settings read once per tick
+    private double viewDistanceSquared;
+    private double nearDistanceSquared;
+    private double coneCos;
+    private int maxPackets;
+
+    // Stats for debug output
+    private long culledParticles = 0;
+    private long cappedParticles = 0;
+
+    public ParticleRenderer(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+        this.tickTimeMonitor = plugin.getTickTimeMonitor();
+        readSettings();
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Spawn particles for one player if the point passes culling and the player has budget left
+     * @return true if the packet was sent
+     */
+    public boolean spawn(Player player, Particle particle, double x, double y, double z,
+                         int count, double offset, double extra) {
+        View view = views.get(player.getUniqueId());
+        if (view == null) {
+            view = new View(player.getEyeLocation());
+            views.put(player.getUniqueId(), view);
+        }
+
+        if (!isVisible(view, player.getWorld(), x, y, z)) {
+            culledParticles++;
+            return false;
+        }
+        if (view.packets >= maxPackets) {
+            cappedParticles++;
+            return false;
+        }
+        view.packets++;
+
+        try {
+            player.spawnParticle(particle, x, y, z, count, offset, offset, offset, extra);
+        } catch (Exception e) {
+            // Ignore particle spawn errors
+        }
+        return true;
+    }
+
+    /**
+     * Spawn particles at a location, see {@link #spawn(Player, Particle, double, double, double, int, double, double)}
+     */
+    public boolean spawn(Player player, Particle particle, Location loc, int count, double offset, double extra) {
+        return spawn(player, particle, loc.getX(), loc.getY(), loc.getZ(), count, offset, extra);
+    }
+
+    private boolean isVisible(View view, World world, double x, double y, double z) {
+        if (view.world != world) {
+            return false;
+        }
+
+        double dx = x - view.x;
+        double dy = y - view.y;
+        double dz = z - view.z;
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+
+        if (distanceSquared > viewDistanceSquared) {
+            return false;
+        }
+        if (distanceSquared <= nearDistanceSquared || coneCos <= -1.0) {
+            return true;
+        }
+
+        // Angle between the look direction and the point, without the square root
+        double dot = dx * view.dirX + dy * view.dirY + dz * view.dirZ;
+        if (coneCos >= 0) {
+            return dot >= 0 && dot * dot >= coneCos * coneCos * distanceSquared;
+        }
+        return dot >= 0 || dot * dot <= coneCos * coneCos * distanceSquared;
+    }
+
+    /**
+     * Scale a particle count by the current density, never below one
+     */
+    public int scaleCount(int count) {
+        return Math.max(1, (int) Math.round(count * density));
+    }
+
+    /**
+     * Particle density from the minimum density (server overloaded) to 1.0 (normal)
+     */
+    public double getDensity() {
+        return density;
+    }
+
+    public long getCulledParticles() {
+        return culledParticles;
+    }
+
+    public long getCappedParticles() {
+        return cappedParticles;
+    }
+
+    private void tick() {
+        views.clear();
+        readSettings();
+        density = calculateDensity();
+    }
+
+    private double calculateDensity() {
+        if (!plugin.getConfigManager().isAdaptiveParticleDensity()) {
+            return 1.0;
+        }
+
+        double threshold = plugin.getConfigManager().getParticleMsptThreshold();
+        double current = tickTimeMonitor.getTickTime();
+        if (current <= threshold) {
+            return 1.0;
+        }
+
+        // Falls linearly to the minimum at 50ms (or 5ms above the threshold if it is set higher)
+        double span = Math.max(5.0, TickTimeMonitor.TICK_MILLIS - threshold);
+        double t = Math.min(1.0, (current - threshold) / span);
+        double minDensity = plugin.getConfigManager().getParticleMinDensity();
+        return 1.0 - t * (1.0 - minDensity);
+    }
+
+    private void readSettings() {
+        double viewDistance = plugin.getConfigManager().getParticleViewDistance();
+        double nearDistance = plugin.getConfigManager().getParticleNearDistance();
+        viewDistanceSquared = viewDistance * viewDistance;
+        nearDistanceSquared = nearDistance * nearDistance;
+        coneCos = Math.cos(Math.toRadians(plugin.getConfigManager().getParticleFacingCone() / 2.0));
+        maxPackets = plugin.getConfigManager().getParticleMaxPacketsPerTick();
+    }
+
+    /**
+     * Stop the tick task
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        views.clear();
+    }
+
+    /**
+     * Where a player looks from this tick, and how many packets they were sent
+     */
+    private static class View {
+        final World world;
+        final double x, y, z;
+        final double dirX, dirY, dirZ;
+        int packets = 0;
+
+        View(Location eye) {
+            Vector direction = eye.getDirection();
+            this.world = eye.getWorld();
+            this.x = eye.getX();
+            this.y = eye.getY();
+            this.z = eye.getZ();
+            this.dirX = direction.getX();
+            this.dirY = direction.getY();
+            this.dirZ = direction.getZ();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.wdp.start.path;
 
 import com.wdp.start.WDPStartPlugin;
 import com.wdp.start.player.PlayerData;
+import com.wdp.start.world.BlockSource;
+import com.wdp.start.world.MaterialTraits;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -11,6 +13,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Manages particle path guides for Quest 1
@@ -20,6 +23,18 @@ public class PathGuideManager {
     
     private final WDPStartPlugin plugin;
     private final Map<UUID, PathSession> activePaths = new HashMap<>();
+    
+    // Sessions split into tick phases by UUID, one phase is animated per tick
+    private final List<Map<UUID, PathSession>> phases = new ArrayList<>();
+    private int currentPhase = 0;
+    private long lastTickNanos = 0;
+    
+    // Paths shared by players who start from the same grid cell
+    private final Map<CellKey, Cohort> cohorts = new HashMap<>();
+    private final Map<UUID, Cohort> waitingCohorts = new HashMap<>();
+    private final Map<UUID, DStarLitePlanner> planners = new HashMap<>();
+    private final HierarchicalPathfinder hierarchicalPathfinder;
+    private final PathScheduler pathScheduler;
     private BukkitTask animationTask;
     
     // Cache for path calculations (to avoid recalculating every tick)
@@ -28,11 +43,14 @@ public class PathGuideManager {
     
     public PathGuideManager(WDPStartPlugin plugin) {
         this.plugin = plugin;
+        this.hierarchicalPathfinder = new HierarchicalPathfinder(plugin);
+        this.pathScheduler = new PathScheduler(plugin);
         startAnimationTask();
     }
     
     /**
      * Start showing path for a player
+     * The path is calculated over the next ticks and the guide appears once it is ready
      */
     public void startPath(Player player) {
         if (!plugin.getConfigManager().isPathEnabled()) {
@@ -44,78 +62,276 @@ public class PathGuideManager {
         // Stop existing path
         stopPath(player);
         
-        // Calculate initial path using A* algorithm
-        List<Location> path = calculatePathAStar(player.getLocation());
-        if (path.isEmpty()) {
-            // Fallback to simple path if A* fails
-            path = calculateSimplePath(player.getLocation());
+        requestSharedPath(player, cohort -> {
+            if (cohort.path.isEmpty() || !player.isOnline()) {
+                return;
+            }
+            
+            addSession(uuid, new PathSession(player, cohort));
+            lastPathCalculation.put(uuid, System.currentTimeMillis());
+        });
+    }
+    
+    /**
+     * Stop showing path for a player
+     */
+    public void stopPath(Player player) {
+        removeSession(player.getUniqueId());
+        planners.remove(player.getUniqueId());
+        pathScheduler.cancel(player.getUniqueId());
+        leaveWaitingCohort(player.getUniqueId());
+    }
+    
+    private void addSession(UUID uuid, PathSession session) {
+        removeSession(uuid);
+        activePaths.put(uuid, session);
+        phases.get(session.phase).put(uuid, session);
+    }
+    
+    private void removeSession(UUID uuid) {
+        PathSession session = activePaths.remove(uuid);
+        if (session != null) {
+            phases.get(session.phase).remove(uuid, session);
+            session.release();
+        }
+    }
+    
+    /**
+     * Check if player has active path (or one being calculated)
+     */
+    public boolean hasActivePath(Player player) {
+        return activePaths.containsKey(player.getUniqueId()) || isCalculating(player.getUniqueId());
+    }
+    
+    private boolean isCalculating(UUID uuid) {
+        return pathScheduler.isPending(uuid) || waitingCohorts.containsKey(uuid);
+    }
+    
+    /**
+     * Get a path for a player, shared with other players starting from the same grid cell
+     * A fresh path from the cell is handed out right away, a search already running for the
+     * cell is joined, otherwise this player's search becomes the cell's path.
+     */
+    private void requestSharedPath(Player player, Consumer<Cohort> callback) {
+        UUID uuid = player.getUniqueId();
+        Location from = player.getLocation();
+        if (plugin.getConfigManager().getPathTarget() == null || from.getWorld() == null) {
+            return; // No search would run, so nobody could be waiting on it
+        }
+        if (!plugin.getConfigManager().isPathSharingEnabled()) {
+            Cohort single = new Cohort(null, from);
+            requestPath(player, path -> {
+                single.path = path;
+                callback.accept(single);
+            });
+            return;
         }
         
-        if (path.isEmpty()) {
+        int cellSize = plugin.getConfigManager().getPathSharingCellSize();
+        CellKey key = new CellKey(from.getWorld().getName(),
+            Math.floorDiv(from.getBlockX(), cellSize),
+            Math.floorDiv(from.getBlockY(), cellSize),
+            Math.floorDiv(from.getBlockZ(), cellSize));
+        
+        Cohort cohort = cohorts.get(key);
+        long maxAge = plugin.getConfigManager().getPathSharingMaxAgeSeconds() * 1000L;
+        if (cohort != null && cohort.ready && System.currentTimeMillis() - cohort.createdAt > maxAge) {
+            cohorts.remove(key); // Too old to hand out, sessions using it keep it
+            cohort = null;
+        }
+        
+        if (cohort == null) {
+            cohort = new Cohort(key, from);
+            cohorts.put(key, cohort);
+        } else if (cohort.ready) {
+            callback.accept(cohort);
             return;
         }
         
-        PathSession session = new PathSession(player, path);
-        activePaths.put(uuid, session);
-        lastPathCalculation.put(uuid, System.currentTimeMillis());
+        cohort.waiters.put(uuid, callback);
+        waitingCohorts.put(uuid, cohort);
+        if (cohort.leader == null) {
+            startCohortSearch(cohort, player);
+        }
     }
     
     /**
-     * Stop showing path for a player
+     * Run the search for a cohort from one of its waiting players
      */
-    public void stopPath(Player player) {
-        activePaths.remove(player.getUniqueId());
+    private void startCohortSearch(Cohort cohort, Player leader) {
+        cohort.leader = leader.getUniqueId();
+        requestPath(leader, path -> {
+            cohort.path = path;
+            cohort.ready = true;
+            cohort.leader = null;
+            cohort.createdAt = System.currentTimeMillis();
+            if (path.isEmpty()) {
+                cohorts.remove(cohort.key, cohort); // Never share a failed search
+            }
+            
+            Map<UUID, Consumer<Cohort>> waiters = new HashMap<>(cohort.waiters);
+            cohort.waiters.clear();
+            for (Map.Entry<UUID, Consumer<Cohort>> waiter : waiters.entrySet()) {
+                waitingCohorts.remove(waiter.getKey(), cohort);
+                waiter.getValue().accept(cohort);
+            }
+        });
     }
     
     /**
-     * Check if player has active path
+     * Stop waiting for a shared path, handing the search to another waiting player if this one ran it
      */
-    public boolean hasActivePath(Player player) {
-        return activePaths.containsKey(player.getUniqueId());
+    private void leaveWaitingCohort(UUID uuid) {
+        Cohort cohort = waitingCohorts.remove(uuid);
+        if (cohort == null) {
+            return;
+        }
+        cohort.waiters.remove(uuid);
+        
+        if (!uuid.equals(cohort.leader)) {
+            return;
+        }
+        cohort.leader = null;
+        
+        for (UUID next : cohort.waiters.keySet()) {
+            Player player = Bukkit.getPlayer(next);
+            if (player != null && player.isOnline()) {
+                startCohortSearch(cohort, player);
+                return;
+            }
+        }
+        
+        // Nobody left to run the search for
+        cohorts.remove(cohort.key, cohort);
+        for (UUID waiter : cohort.waiters.keySet()) {
+            waitingCohorts.remove(waiter, cohort);
+        }
+        cohort.waiters.clear();
+    }
+    
+    private void releaseCohort(Cohort cohort) {
+        cohort.refs--;
+        if (cohort.refs <= 0 && cohort.ready && cohort.key != null) {
+            cohorts.remove(cohort.key, cohort);
+        }
     }
     
     /**
-     * Calculate shortest WALKABLE path using A* algorithm
-     * Always shows the full path to target when show-full-path is enabled
+     * Queue a path calculation from the player's current location.
+     * The search and the string pulling after it run in slices on the {@link PathScheduler};
+     * the callback receives the finished path (or the simple fallback path) on the main thread.
      */
-    private List<Location> calculatePathAStar(Location from) {
+    private void requestPath(Player player, Consumer<PackedPath> callback) {
+        UUID uuid = player.getUniqueId();
+        Location from = player.getLocation();
         Location target = plugin.getConfigManager().getPathTarget();
-        if (target == null) {
-            return Collections.emptyList();
+        if (target == null || from.getWorld() == null) {
+            return;
         }
-        if (from.getWorld() == null) {
-            return Collections.emptyList();
+        
+        int pathLength = getSearchLength(from, target);
+        
+        // Long guides go through the chunk-level graph so A* does not run out of iterations
+        boolean hierarchical = false;
+        if (plugin.getConfigManager().isHierarchicalPathEnabled() && from.getWorld().equals(target.getWorld())) {
+            double dx = target.getX() - from.getX();
+            double dz = target.getZ() - from.getZ();
+            int minDistance = plugin.getConfigManager().getHierarchicalMinDistance();
+            hierarchical = dx * dx + dz * dz >= (double) minDistance * minDistance;
         }
         
+        if (hierarchical) {
+            pathScheduler.submit(uuid, hierarchicalPathfinder.createSearch(from, target, pathLength * 3), path -> {
+                if (!path.isEmpty()) {
+                    finishPath(uuid, from, path, pathLength, callback);
+                    return;
+                }
+                // Coarse search failed, fall back to plain A*
+                pathScheduler.submit(uuid, AStarPathfinder.createSearch(from, target, pathLength * 3),
+                    fallback -> finishPath(uuid, from, fallback, pathLength, callback));
+            });
+        } else if (plugin.getConfigManager().isIncrementalPathEnabled()) {
+            DStarLitePlanner planner = getPlanner(uuid, from, target);
+            if (planner == null) {
+                submitAStar(uuid, from, target, pathLength, callback);
+                return;
+            }
+            
+            pathScheduler.submit(uuid, planner.replan(from, pathLength * 3), path -> {
+                if (!path.isEmpty()) {
+                    finishPath(uuid, from, path, pathLength, callback);
+                    return;
+                }
+                // No route in the planner graph, start over with a full search
+                planners.remove(uuid, planner);
+                submitAStar(uuid, from, target, pathLength, callback);
+            });
+        } else {
+            submitAStar(uuid, from, target, pathLength, callback);
+        }
+    }
+    
+    private void submitAStar(UUID uuid, Location from, Location target, int pathLength, Consumer<PackedPath> callback) {
+        // Use A* pathfinder with larger search radius
+        pathScheduler.submit(uuid, AStarPathfinder.createSearch(from, target, pathLength * 3),
+            path -> finishPath(uuid, from, path, pathLength, callback));
+    }
+    
+    /**
+     * Get the player's incremental planner, creating a new one when the old search tree
+     * cannot be reused (new target, too far off the previous start, or grown too large)
+     */
+    private DStarLitePlanner getPlanner(UUID uuid, Location from, Location target) {
+        DStarLitePlanner planner = planners.get(uuid);
+        int maxDeviation = plugin.getConfigManager().getIncrementalMaxDeviation();
+        
+        if (planner == null || !planner.canReuse(from, target, maxDeviation)) {
+            planner = DStarLitePlanner.create(from, target, plugin.getConfigManager().getIncrementalMaxNodes());
+            if (planner == null) {
+                planners.remove(uuid);
+                return null;
+            }
+            planners.put(uuid, planner);
+        }
+        return planner;
+    }
+    
+    /**
+     * Get the number of path points to show from a location
+     * Always covers the full path to target when show-full-path is enabled
+     */
+    private int getSearchLength(Location from, Location target) {
         int pathLength = plugin.getConfigManager().getPathLength();
-        boolean showFullPath = plugin.getConfigManager().isShowFullPath();
         
         // If show full path is enabled, calculate distance and use that as max
-        if (showFullPath) {
+        if (plugin.getConfigManager().isShowFullPath()) {
             double distance = from.distance(target);
             pathLength = Math.max(pathLength, (int) (distance * 2)); // Ensure we can reach target
         }
         
-        // Use A* pathfinder with larger search radius
-        List<Location> path = AStarPathfinder.findPath(from, target, pathLength * 3);
-        
+        return pathLength;
+    }
+    
+    /**
+     * Turn a search result into the displayed path
+     * Straight walkable stretches are merged into single segments (string pulling), which
+     * reads blocks and so runs as one more sliced step of the player's request
+     * Falls back to the simple path if the search found nothing
+     */
+    private void finishPath(UUID uuid, Location from, List<Location> path, int pathLength, Consumer<PackedPath> callback) {
         if (path.isEmpty()) {
-            return Collections.emptyList();
+            // Fallback to simple path if A* fails
+            callback.accept(PackedPath.of(calculateSimplePath(from), 0));
+            return;
         }
         
-        // Add particle height to all path points - NO length limit if showFullPath
-        double particleHeight = plugin.getConfigManager().getParticleHeight();
-        List<Location> adjustedPath = new ArrayList<>();
-        
-        int maxPoints = showFullPath ? path.size() : Math.min(path.size(), pathLength);
+        // NO length limit if showFullPath
+        int maxPoints = plugin.getConfigManager().isShowFullPath() ? path.size() : Math.min(path.size(), pathLength);
         
-        for (int i = 0; i < maxPoints; i++) {
-            Location loc = path.get(i).clone();
-            loc.setY(loc.getY() + particleHeight);
-            adjustedPath.add(loc);
-        }
-        
-        return adjustedPath;
+        // Particle height is added to all path points
+        double height = plugin.getConfigManager().getParticleHeight();
+        pathScheduler.submit(uuid, PackedPath.simplify(path.subList(0, maxPoints)),
+            kept -> callback.accept(PackedPath.of(kept, height)));
     }
     
     /**
@@ -148,11 +364,12 @@ public class PathGuideManager {
         
         List<Location> path = new ArrayList<>();
         double particleHeight = plugin.getConfigManager().getParticleHeight();
+        BlockSource blocks = BlockSource.of(world);
         
         for (int i = 1; i <= maxSteps; i++) {
             double x = from.getX() + dx * i * stepSize;
             double z = from.getZ() + dz * i * stepSize;
-            int y = findGroundLevel(world, (int) x, (int) from.getY(), (int) z);
+            int y = findGroundLevel(blocks, (int) x, (int) from.getY(), (int) z);
             
             Location point = new Location(world, x, y + particleHeight, z);
             path.add(point);
@@ -164,41 +381,50 @@ public class PathGuideManager {
     /**
      * Find the ground level at a position
      */
-    private int findGroundLevel(World world, int x, int startY, int z) {
+    private int findGroundLevel(BlockSource blocks, int x, int startY, int z) {
         // Search up and down from start Y
         for (int offset = 0; offset < 10; offset++) {
             // Check below
             int yBelow = startY - offset;
-            if (yBelow > world.getMinHeight()) {
-                Block block = world.getBlockAt(x, yBelow, z);
-                Block above = world.getBlockAt(x, yBelow + 1, z);
-                if (block.getType().isSolid() && !above.getType().isSolid()) {
-                    return yBelow + 1;
-                }
+            if (yBelow > blocks.getMinHeight() && isGround(blocks, x, yBelow, z)) {
+                return yBelow + 1;
             }
             
             // Check above
             int yAbove = startY + offset;
-            if (yAbove < world.getMaxHeight()) {
-                Block block = world.getBlockAt(x, yAbove, z);
-                Block above = world.getBlockAt(x, yAbove + 1, z);
-                if (block.getType().isSolid() && !above.getType().isSolid()) {
-                    return yAbove + 1;
-                }
+            if (yAbove < blocks.getMaxHeight() && isGround(blocks, x, yAbove, z)) {
+                return yAbove + 1;
             }
         }
         
         return startY;
     }
     
+    /**
+     * Solid block with a non-solid block above it
+     */
+    private boolean isGround(BlockSource blocks, int x, int y, int z) {
+        return (blocks.getTraits(x, y, z) & MaterialTraits.SOLID) != 0 &&
+               (blocks.getTraits(x, y + 1, z) & MaterialTraits.SOLID) == 0;
+    }
+    
     /**
      * Start the animation task
+     * Runs every tick and animates one phase, so every session still moves once per
+     * animation-speed ticks but the sessions are spread evenly over those ticks
      */
     private void startAnimationTask() {
-        int speed = plugin.getConfigManager().getAnimationSpeed();
+        int phaseCount = Math.max(1, plugin.getConfigManager().getAnimationSpeed());
+        for (int i = 0; i < phaseCount; i++) {
+            phases.add(new LinkedHashMap<>());
+        }
         
         animationTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            Iterator<Map.Entry<UUID, PathSession>> iter = activePaths.entrySet().iterator();
+            long start = System.nanoTime();
+            Map<UUID, PathSession> phase = phases.get(currentPhase);
+            currentPhase = (currentPhase + 1) % phases.size();
+            
+            Iterator<Map.Entry<UUID, PathSession>> iter = phase.entrySet().iterator();
             
             while (iter.hasNext()) {
                 Map.Entry<UUID, PathSession> entry = iter.next();
@@ -208,6 +434,10 @@ public class PathGuideManager {
                 // Check if player is still valid
                 if (!player.isOnline()) {
                     iter.remove();
+                    activePaths.remove(entry.getKey());
+                    session.release();
+                    planners.remove(entry.getKey());
+                    leaveWaitingCohort(entry.getKey());
                     continue;
                 }
                 
@@ -215,37 +445,101 @@ public class PathGuideManager {
                 PlayerData data = plugin.getPlayerDataManager().getData(player);
                 if (!data.isStarted() || data.getCurrentQuest() != 1 || data.isQuestCompleted(1)) {
                     iter.remove();
+                    activePaths.remove(entry.getKey());
+                    session.release();
+                    planners.remove(entry.getKey());
+                    leaveWaitingCohort(entry.getKey());
                     continue;
                 }
                 
-                // Animate and check if path ended
+                // Animate and check if path ended, or the player walked away from a shared path
                 boolean pathEnded = session.animate();
+                boolean diverged = !pathEnded && session.hasDiverged();
                 
-                if (pathEnded) {
+                if (pathEnded || diverged) {
                     // Check cooldown before recalculating
                     long now = System.currentTimeMillis();
                     Long lastCalc = lastPathCalculation.get(entry.getKey());
                     
-                    if (lastCalc == null || now - lastCalc > PATH_RECALC_COOLDOWN) {
-                        // Recalculate path using A*
-                        List<Location> newPath = calculatePathAStar(player.getLocation());
-                        if (newPath.isEmpty()) {
-                            newPath = calculateSimplePath(player.getLocation());
-                        }
-                        
-                        if (newPath.isEmpty()) {
-                            iter.remove();
-                        } else {
-                            session.resetPath(newPath);
-                            lastPathCalculation.put(entry.getKey(), now);
-                        }
-                    } else {
-                        // Just restart from beginning
+                    if ((lastCalc == null || now - lastCalc > PATH_RECALC_COOLDOWN) && !isCalculating(entry.getKey())) {
+                        // Recalculate path in the background, keep replaying the old one meanwhile
+                        UUID uuid = entry.getKey();
+                        lastPathCalculation.put(uuid, now);
+                        requestSharedPath(player, cohort -> {
+                            if (activePaths.get(uuid) != session) {
+                                return; // Stopped or restarted while calculating
+                            }
+                            if (cohort.path.isEmpty()) {
+                                removeSession(uuid);
+                                planners.remove(uuid);
+                            } else {
+                                session.resetPath(cohort);
+                            }
+                        });
+                    }
+                    
+                    // Restart from beginning
+                    if (pathEnded) {
                         session.restartAnimation();
                     }
                 }
             }
-        }, 0L, speed);
+            
+            lastTickNanos = System.nanoTime() - start;
+        }, 0L, 1L);
+    }
+    
+    /**
+     * Called when a block changes so cached path data around it is rebuilt
+     */
+    public void onBlockChange(Block block) {
+        hierarchicalPathfinder.invalidate(block.getWorld(), block.getX(), block.getZ());
+        
+        for (DStarLitePlanner planner : planners.values()) {
+            planner.onBlockChange(block.getX(), block.getY(), block.getZ());
+        }
+    }
+    
+    /**
+     * Number of guides being animated
+     */
+    public int getActiveSessionCount() {
+        return activePaths.size();
+    }
+    
+    /**
+     * Time the animation loop took on its last tick, in nanoseconds
+     */
+    public long getLastAnimationTickNanos() {
+        return lastTickNanos;
+    }
+    
+    /**
+     * Number of shared paths handed out or being calculated
+     */
+    public int getCohortCount() {
+        return cohorts.size();
+    }
+    
+    /**
+     * Number of incremental planners kept for active guides
+     */
+    public int getPlannerCount() {
+        return planners.size();
+    }
+    
+    /**
+     * Get the hierarchical pathfinder (for debug output)
+     */
+    public HierarchicalPathfinder getHierarchicalPathfinder() {
+        return hierarchicalPathfinder;
+    }
+    
+    /**
+     * Get the path search scheduler (for debug output)
+     */
+    public PathScheduler getPathScheduler() {
+        return pathScheduler;
     }
     
     /**
@@ -256,7 +550,13 @@ public class PathGuideManager {
             animationTask.cancel();
         }
         activePaths.clear();
+        phases.forEach(Map::clear);
+        cohorts.clear();
+        waitingCohorts.clear();
+        planners.clear();
         lastPathCalculation.clear();
+        pathScheduler.shutdown();
+        hierarchicalPathfinder.clear();
     }
     
     /**
@@ -264,35 +564,93 @@ public class PathGuideManager {
      */
     private class PathSession {
         private final Player player;
-        private List<Location> path;
-        private int currentIndex;
+        private final int phase;
+        private final Location cursor = new Location(null, 0, 0, 0); // Reused for every particle
+        private final Location position = new Location(null, 0, 0, 0); // Reused for divergence checks
+        private Cohort cohort;
+        private PackedPath path;
+        private double distance;
         private long startTime;
         private boolean isPaused;
         private long pauseEndTime;
         
-        public PathSession(Player player, List<Location> path) {
+        // Settings resolved when the path is set instead of on every animation step
+        private Particle particle;
+        private int particleCount;
+        private double pointSpacing;
+        private int minimumRuntime;
+        
+        public PathSession(Player player, Cohort cohort) {
             this.player = player;
-            this.path = path;
-            this.currentIndex = 0;
+            this.phase = Math.floorMod(player.getUniqueId().hashCode(), phases.size());
+            this.cohort = cohort;
+            this.path = cohort.path;
+            cohort.refs++;
+            this.distance = 0;
             this.startTime = System.currentTimeMillis();
             this.isPaused = false;
             this.pauseEndTime = 0;
+            loadSettings();
+        }
+        
+        private void loadSettings() {
+            try {
+                particle = Particle.valueOf(plugin.getConfigManager().getParticleType());
+            } catch (Exception e) {
+                particle = Particle.TOTEM_OF_UNDYING;
+            }
+            particleCount = plugin.getConfigManager().getParticleCount();
+            pointSpacing = plugin.getConfigManager().getPathPointSpacing();
+            minimumRuntime = plugin.getConfigManager().getPathMinimumRuntime();
         }
         
         public Player getPlayer() {
             return player;
         }
         
-        public void resetPath(List<Location> newPath) {
-            this.path = newPath;
-            this.currentIndex = 0;
+        public void resetPath(Cohort newCohort) {
+            if (newCohort != cohort) {
+                newCohort.refs++;
+                releaseCohort(cohort);
+                this.cohort = newCohort;
+            }
+            this.path = newCohort.path;
+            this.distance = 0;
             this.startTime = System.currentTimeMillis();
             this.isPaused = false;
             this.pauseEndTime = 0;
+            loadSettings();
+        }
+        
+        /**
+         * Drop this session's reference to its path
+         */
+        public void release() {
+            if (cohort != null) {
+                releaseCohort(cohort);
+                cohort = null;
+            }
+        }
+        
+        /**
+         * Check if the player moved too far from where a path shared with others starts
+         */
+        public boolean hasDiverged() {
+            if (cohort == null || cohort.refs <= 1) {
+                return false;
+            }
+            player.getLocation(position);
+            if (position.getWorld() != cohort.origin.getWorld()) {
+                return true;
+            }
+            double split = plugin.getConfigManager().getPathSharingSplitDistance();
+            double dx = position.getX() - cohort.origin.getX();
+            double dz = position.getZ() - cohort.origin.getZ();
+            return dx * dx + dz * dz > split * split;
         }
         
         public void restartAnimation() {
-            this.currentIndex = 0;
+            this.distance = 0;
             this.startTime = System.currentTimeMillis();
             this.isPaused = false;
             this.pauseEndTime = 0;
@@ -318,32 +676,22 @@ public class PathGuideManager {
                 return false; // Still paused, don't animate
             }
             
-            // Show particle at current position
-            Location loc = path.get(currentIndex);
+            // Show particle at current position, interpolated along the path segments
+            Location loc = path.getPointAt(distance, cursor);
             
-            Particle particle;
-            try {
-                particle = Particle.valueOf(plugin.getConfigManager().getParticleType());
-            } catch (Exception e) {
-                particle = Particle.TOTEM_OF_UNDYING;
-            }
-            
-            int count = plugin.getConfigManager().getParticleCount();
+            ParticleRenderer renderer = plugin.getParticleRenderer();
+            int count = renderer.scaleCount(particleCount);
             
-            // Spawn particle
-            try {
-                player.spawnParticle(particle, loc, count, 0.1, 0.1, 0.1, 0.01);
-            } catch (Exception e) {
-                // Ignore particle spawn errors
-            }
+            // Spawn particle (skipped when out of view, the guide keeps moving either way)
+            renderer.spawn(player, particle, loc, count, 0.1, 0.01);
             
             // Move to next position
-            currentIndex++;
+            double previous = distance;
+            distance += pointSpacing;
             
-            // Check if we've reached the end
-            if (currentIndex >= path.size()) {
+            // Check if we've reached the end (the last point is always shown)
+            if (previous >= path.getLength()) {
                 // Check minimum runtime requirement
-                int minimumRuntime = plugin.getConfigManager().getPathMinimumRuntime();
                 if (minimumRuntime > 0) {
                     long now = System.currentTimeMillis();
                     long elapsedSeconds = (now - startTime) / 1000;
@@ -369,4 +717,30 @@ public class PathGuideManager {
             return (System.currentTimeMillis() - startTime) / 1000;
         }
     }
+    
+    /**
+     * Grid cell players start from, players in the same cell share a path
+     */
+    private record CellKey(String world, int x, int y, int z) {
+    }
+    
+    /**
+     * Path shared by the players who requested it from one cell
+     * Counted by the sessions showing it, dropped from the cell when none are left
+     */
+    private static class Cohort {
+        private final CellKey key; // Null when the path is not shared
+        private final Location origin;
+        private final Map<UUID, Consumer<Cohort>> waiters = new LinkedHashMap<>();
+        private PackedPath path = PackedPath.EMPTY;
+        private UUID leader; // Player whose search is running for the cohort
+        private boolean ready = false;
+        private long createdAt = System.currentTimeMillis();
+        private int refs = 0;
+        
+        Cohort(CellKey key, Location origin) {
+            this.key = key;
+            this.origin = origin;
+        }
+    }
 }
@@ -0,0 +1,163 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Runs path searches in slices under a global per-tick time budget
+ *
+ * Every tick the pending searches get a share of the budget in round-robin order.
+ * A search that runs out of time keeps its state and continues on the next tick,
+ * so the tick cost stays bounded no matter how many players need a path at once.
+ * Results are delivered to the callback on the main thread.
+ */
+public class PathScheduler {
+
+    // Smallest slice given to one search, so a long queue still makes progress
+    private static final long MIN_SLICE_NANOS = 100_000L;
+
+    private final WDPStartPlugin plugin;
+    private final ArrayDeque<Request> queue = new ArrayDeque<>();
+    private final Map<UUID, Request> requests = new HashMap<>();
+    private BukkitTask task;
+
+    // Stats for debug output
+    private long lastTickNanos = 0;
+    private long completedSearches = 0;
+
+    public PathScheduler(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Queue a search for a player, replacing any search still pending for them
+     */
+    public void submit(UUID owner, SlicedSearch search, Consumer<List<Location>> callback) {
+        cancel(owner);
+
+        Request request = new Request(owner, search, callback);
+        requests.put(owner, request);
+        queue.add(request);
+    }
+
+    /**
+     * Cancel the pending search of a player (the callback is never called)
+     */
+    public void cancel(UUID owner) {
+        Request request = requests.remove(owner);
+        if (request != null) {
+            request.cancelled = true;
+        }
+    }
+
+    /**
+     * Check if a player has a search waiting or running
+     */
+    public boolean isPending(UUID owner) {
+        return requests.containsKey(owner);
+    }
+
+    /**
+     * Number of searches waiting or running
+     */
+    public int getPendingCount() {
+        return requests.size();
+    }
+
+    /**
+     * Time spent on searches during the last tick that had work, in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getCompletedSearches() {
+        return completedSearches;
+    }
+
+    private void tick() {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long budget = plugin.getConfigManager().getPathSearchBudgetMicros() * 1000L;
+        long start = System.nanoTime();
+        long deadline = start + budget;
+        long slice = Math.max(MIN_SLICE_NANOS, budget / queue.size());
+
+        // At least one slice runs per tick, later ones only while budget is left
+        boolean ranSlice = false;
+        while (!queue.isEmpty()) {
+            long now = System.nanoTime();
+            if (ranSlice && now >= deadline) {
+                break;
+            }
+
+            Request request = queue.poll();
+            if (request.cancelled) {
+                continue;
+            }
+            ranSlice = true;
+
+            boolean done;
+            try {
+                done = request.search.step(Math.min(deadline, now + slice));
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "[Path] Search failed", e);
+                requests.remove(request.owner, request);
+                continue;
+            }
+
+            if (!done) {
+                queue.add(request); // Back of the line
+                continue;
+            }
+
+            requests.remove(request.owner, request);
+            completedSearches++;
+
+            try {
+                request.callback.accept(request.search.getResult());
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "[Path] Search callback failed", e);
+            }
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Cancel all pending searches and stop the tick task
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Request request : queue) {
+            request.cancelled = true;
+        }
+        queue.clear();
+        requests.clear();
+    }
+
+    private static class Request {
+        final UUID owner;
+        final SlicedSearch search;
+        final Consumer<List<Location>> callback;
+        boolean cancelled = false;
+
+        Request(UUID owner, SlicedSearch search, Consumer<List<Location>> callback) {
+            this.owner = owner;
+            this.search = search;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.wdp.start.path;
+
+import com.wdp.start.path.AStarPathfinder.PathNode;
+import com.wdp.start.world.BlockSource;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * Resumable A* search
+ *
+ * Keeps the open set and explored nodes between calls, so one search can be spread
+ * over several ticks by the {@link PathScheduler}. Running a single step with no
+ * deadline behaves exactly like the old one-shot search.
+ */
+class PathSearch implements SlicedSearch {
+
+    // Check the clock every few iterations, nanoTime is not free
+    private static final int DEADLINE_CHECK_INTERVAL = 16;
+
+    private final BlockSource blocks;
+    private final World world;
+    private final PathNode endNode;
+    private final int maxDistance;
+    private final int minX, minZ, maxX, maxZ;
+    private final double goalRadius;
+    private final int maxIterations;
+    private final boolean allowPartial;
+
+    private final PriorityQueue<PathNode> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.fCost));
+    private final Map<Long, PathNode> allNodes = new HashMap<>();
+    private final Set<Long> closedSet = new HashSet<>();
+
+    private int iterations = 0;
+    private List<Location> result = null;
+
+    /**
+     * @param goalRadius Horizontal distance to the end node that counts as arrived
+     * @param allowPartial Return the path to the closest explored node when the end is not reached
+     */
+    PathSearch(BlockSource blocks, PathNode startNode, PathNode endNode, int maxDistance,
+               int minX, int minZ, int maxX, int maxZ,
+               double goalRadius, int maxIterations, boolean allowPartial) {
+        this.blocks = blocks;
+        this.world = blocks.getWorld();
+        this.endNode = endNode;
+        this.maxDistance = maxDistance;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+        this.goalRadius = goalRadius;
+        this.maxIterations = maxIterations;
+        this.allowPartial = allowPartial;
+
+        startNode.gCost = 0;
+        startNode.hCost = AStarPathfinder.heuristic(startNode, endNode);
+        startNode.fCost = startNode.hCost;
+
+        openSet.add(startNode);
+        allNodes.put(startNode.getKey(), startNode);
+    }
+
+    @Override
+    public boolean step(long deadlineNanos) {
+        if (result != null) {
+            return true;
+        }
+
+        int sinceCheck = 0;
+
+        while (!openSet.isEmpty() && iterations < maxIterations) {
+            if (++sinceCheck >= DEADLINE_CHECK_INTERVAL) {
+                sinceCheck = 0;
+                if (System.nanoTime() >= deadlineNanos) {
+                    return false; // Out of time, resume next slice
+                }
+            }
+
+            iterations++;
+
+            PathNode current = openSet.poll();
+
+            // Check if we reached destination (within goal radius)
+            double distToEnd = Math.sqrt(
+                Math.pow(endNode.x - current.x, 2) +
+                Math.pow(endNode.z - current.z, 2)
+            );
+
+            if (distToEnd < goalRadius) {
+                result = AStarPathfinder.reconstructPath(current, world, maxDistance);
+                return true;
+            }
+
+            closedSet.add(current.getKey());
+            expand(current);
+        }
+
+        result = allowPartial ? partialPath() : Collections.emptyList();
+        return true;
+    }
+
+    @Override
+    public List<Location> getResult() {
+        return result != null ? result : Collections.emptyList();
+    }
+
+    /**
+     * Number of nodes expanded so far
+     */
+    int getIterations() {
+        return iterations;
+    }
+
+    private void expand(PathNode current) {
+        // Check all neighbors
+        for (int[] dir : AStarPathfinder.DIRECTIONS) {
+            int newX = current.x + dir[0];
+            int newZ = current.z + dir[1];
+
+            if (newX < minX || newX > maxX || newZ < minZ || newZ > maxZ) {
+                continue; // Outside search bounds
+            }
+
+            // Find walkable Y at this position
+            int newY = AStarPathfinder.findWalkableY(blocks, newX, current.y, newZ);
+            if (newY == Integer.MIN_VALUE) {
+                continue; // Not walkable
+            }
+
+            // Check height difference
+            int heightDiff = newY - current.y;
+            if (heightDiff > AStarPathfinder.MAX_JUMP_HEIGHT || heightDiff < -AStarPathfinder.MAX_FALL_HEIGHT) {
+                continue; // Too high/low
+            }
+
+            long neighborKey = AStarPathfinder.packKey(newX, newY, newZ);
+
+            if (closedSet.contains(neighborKey)) {
+                continue;
+            }
+
+            // Calculate movement cost (diagonal costs more)
+            double moveCost = (dir[0] != 0 && dir[1] != 0) ? 1.414 : 1.0;
+            moveCost += Math.abs(heightDiff) * 0.5; // Height changes cost more
+
+            double tentativeG = current.gCost + moveCost;
+
+            PathNode existingNode = allNodes.get(neighborKey);
+
+            if (existingNode == null) {
+                PathNode neighbor = new PathNode(newX, newY, newZ);
+                neighbor.gCost = tentativeG;
+                neighbor.hCost = AStarPathfinder.heuristic(neighbor, endNode);
+                neighbor.fCost = neighbor.gCost + neighbor.hCost;
+                neighbor.parent = current;
+
+                openSet.add(neighbor);
+                allNodes.put(neighborKey, neighbor);
+            } else if (tentativeG < existingNode.gCost) {
+                openSet.remove(existingNode);
+                existingNode.gCost = tentativeG;
+                existingNode.fCost = existingNode.gCost + existingNode.hCost;
+                existingNode.parent = current;
+                openSet.add(existingNode);
+            }
+        }
+    }
+
+    /**
+     * No path found - path to the explored node closest to the end
+     */
+    private List<Location> partialPath() {
+        PathNode closest = null;
+        double closestDist = Double.MAX_VALUE;
+
+        for (PathNode node : allNodes.values()) {
+            double dist = AStarPathfinder.heuristic(node, endNode);
+            if (dist < closestDist) {
+                closestDist = dist;
+                closest = node;
+            }
+        }
+
+        if (closest != null && closest.parent != null) {
+            return AStarPathfinder.reconstructPath(closest, world, maxDistance);
+        }
+
+        return Collections.emptyList();
+    }
+}
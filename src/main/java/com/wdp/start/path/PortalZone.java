@@ -0,0 +1,100 @@
+package com.wdp.start.path;
+
+import org.bukkit.Location;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Block box of a portal zone in one world (all bounds inclusive)
+ * A zone backed by a WorldGuard region uses the region's bounds as its box; the region
+ * itself decides for positions inside the box.
+ */
+public final class PortalZone {
+
+    private final String name;
+    private final String worldName;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+    private final String region;
+    private final Map<String, String> metadata = new LinkedHashMap<>();
+
+    public PortalZone(String name, String worldName, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, String region) {
+        this.name = name;
+        this.worldName = worldName;
+        this.minX = Math.min(minX, maxX);
+        this.minY = Math.min(minY, maxY);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxX = Math.max(minX, maxX);
+        this.maxY = Math.max(minY, maxY);
+        this.maxZ = Math.max(minZ, maxZ);
+        this.region = region;
+    }
+
+    /**
+     * Check if a location is inside the zone's box
+     */
+    public boolean contains(Location loc) {
+        if (loc == null || loc.getWorld() == null) {
+            return false;
+        }
+        return contains(loc.getWorld().getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    /**
+     * Check if a block position is inside the zone's box
+     */
+    public boolean contains(String world, int x, int y, int z) {
+        return x >= minX && x <= maxX &&
+               y >= minY && y <= maxY &&
+               z >= minZ && z <= maxZ &&
+               worldName.equalsIgnoreCase(world);
+    }
+
+    /**
+     * Number of chunks the box touches
+     */
+    public long getChunkCount() {
+        return ((long) (maxX >> 4) - (minX >> 4) + 1) * ((long) (maxZ >> 4) - (minZ >> 4) + 1);
+    }
+
+    public String getName() { return name; }
+    public String getWorldName() { return worldName; }
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+
+    /**
+     * WorldGuard region name, or null for a plain box
+     */
+    public String getRegion() { return region; }
+
+    public Map<String, String> getMetadata() {
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    public String getMetadata(String key) {
+        return metadata.get(key);
+    }
+
+    /**
+     * Set a metadata value, null removes it
+     */
+    public void setMetadata(String key, String value) {
+        if (value == null) {
+            metadata.remove(key);
+        } else {
+            metadata.put(key, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        String box = String.format("(%d, %d, %d) to (%d, %d, %d) in %s", minX, minY, minZ, maxX, maxY, maxZ, worldName);
+        return region != null ? "region " + region + " " + box : box;
+    }
+}
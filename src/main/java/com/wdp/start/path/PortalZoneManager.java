@@ -12,10 +12,23 @@ import java.util.*;
 /**
  * Manages the portal zone detection and visualization
  * Handles debug mode highlighting and player entry detection
+ * 
+ * The zone from config.yml is registered as "main" next to the zones added with
+ * /start zone, all of them looked up by chunk in a {@link PortalZoneRegistry}.
  */
 public class PortalZoneManager {
     
+    // Name of the zone from config.yml
+    public static final String CONFIG_ZONE = "main";
+    
+    // Zones further away than this are not highlighted, and only their part within this range of the player is drawn (blocks)
+    private static final int HIGHLIGHT_RANGE = 128;
+    
+    // Only this many blocks above and below the player are drawn
+    private static final int HIGHLIGHT_HEIGHT = 32;
+    
     private final WDPStartPlugin plugin;
+    private final PortalZoneRegistry registry;
     private final Set<UUID> debugModeEnabled = new HashSet<>();
     private final Map<UUID, BukkitTask> highlightTasks = new HashMap<>();
     private final Set<UUID> playersInZone = new HashSet<>();
@@ -25,16 +38,19 @@ public class PortalZoneManager {
     private String worldGuardRegion;
     private int minX, maxX, minY, maxY, minZ, maxZ;
     private String zoneWorld;
+    private PortalZone zone;
     
     public PortalZoneManager(WDPStartPlugin plugin) {
         this.plugin = plugin;
+        this.registry = new PortalZoneRegistry(plugin);
         loadZoneBounds();
     }
     
     /**
-     * Load portal zone bounds from config
+     * Load portal zone bounds from config and the zones added with commands
      */
     public void loadZoneBounds() {
+        boolean regionResolved = false;
         this.useWorldGuard = plugin.getConfigManager().isPortalZoneUseWorldGuard();
         this.worldGuardRegion = plugin.getConfigManager().getPortalZoneWorldGuardRegion();
         this.zoneWorld = plugin.getConfigManager().getPortalZoneWorld();
@@ -55,6 +71,7 @@ public class PortalZoneManager {
                         this.maxY = bounds.maxY;
                         this.minZ = bounds.minZ;
                         this.maxZ = bounds.maxZ;
+                        regionResolved = true;
                         plugin.getLogger().info("[PortalZone] WorldGuard region bounds: " + bounds);
                     } else {
                         plugin.getLogger().warning("[PortalZone] WorldGuard region '" + worldGuardRegion + "' not found!");
@@ -75,6 +92,59 @@ public class PortalZoneManager {
                 String.format("(%d, %d, %d) to (%d, %d, %d) in %s",
                     minX, minY, minZ, maxX, maxY, maxZ, zoneWorld));
         }
+        
+        if (useWorldGuard && !regionResolved) {
+            // Bounds unknown, the zone spans the world and the region decides
+            this.zone = new PortalZone(CONFIG_ZONE, zoneWorld, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, worldGuardRegion);
+        } else {
+            this.zone = new PortalZone(CONFIG_ZONE, zoneWorld, minX, minY, minZ, maxX, maxY, maxZ,
+                useWorldGuard ? worldGuardRegion : null);
+        }
+        
+        registry.clear();
+        registry.add(zone);
+        registry.load();
+        plugin.debug("[PortalZone] Registered " + registry.size() + " zones in " + registry.getIndexedChunks() + " chunks");
+    }
+    
+    /**
+     * Add or replace a zone and save the zones added with commands
+     */
+    public void addZone(PortalZone added) {
+        registry.add(added);
+        registry.save(CONFIG_ZONE);
+        plugin.debug("[PortalZone] Added zone " + added.getName() + ": " + added);
+    }
+    
+    /**
+     * Remove a zone added with commands
+     * @return The removed zone, or null if there was none (the zone from config.yml is never removed)
+     */
+    public PortalZone removeZone(String name) {
+        if (name.equalsIgnoreCase(CONFIG_ZONE)) {
+            return null;
+        }
+        PortalZone removed = registry.remove(name);
+        if (removed != null) {
+            registry.save(CONFIG_ZONE);
+            plugin.debug("[PortalZone] Removed zone " + removed.getName());
+        }
+        return removed;
+    }
+    
+    /**
+     * Set a metadata value of a zone added with commands, null removes it
+     * @return False if there is no such zone
+     */
+    public boolean setZoneMetadata(String name, String key, String value) {
+        PortalZone target = registry.get(name);
+        if (target == null || name.equalsIgnoreCase(CONFIG_ZONE)) {
+            return false;
+        }
+        target.setMetadata(key, value);
+        registry.save(CONFIG_ZONE);
+        return true;
     }
     
     /**
@@ -126,6 +196,9 @@ public class PortalZoneManager {
                 String.format("(%d, %d, %d) to (%d, %d, %d)", minX, minY, minZ, maxX, maxY, maxZ)));
             player.sendMessage(WDPStartPlugin.hex("&#AAAAAAWorld: &#FFFFFF" + zoneWorld));
         }
+        if (registry.size() > 1) {
+            player.sendMessage(WDPStartPlugin.hex("&#AAAAAAZones: &#FFFFFF" + registry.size() + " &#AAAAAA(see /start zone list)"));
+        }
         
         player.sendMessage(WDPStartPlugin.hex("&#FFFF55Use /quests debug again to disable"));
         player.sendMessage("");
@@ -150,49 +223,88 @@ public class PortalZoneManager {
     }
     
     /**
-     * Show the portal zone with particle highlighting
+     * Show the portal zones near a player with particle highlighting
      */
     private void showZoneHighlight(Player player) {
-        World world = Bukkit.getWorld(zoneWorld);
-        if (world == null || !player.getWorld().equals(world)) {
+        Location loc = player.getLocation();
+        for (PortalZone shown : registry.getZones()) {
+            if (!shown.getWorldName().equalsIgnoreCase(player.getWorld().getName())) {
+                continue;
+            }
+            // Distance from the player to the box, horizontally
+            int dx = Math.max(0, Math.max(shown.getMinX() - loc.getBlockX(), loc.getBlockX() - shown.getMaxX()));
+            int dz = Math.max(0, Math.max(shown.getMinZ() - loc.getBlockZ(), loc.getBlockZ() - shown.getMaxZ()));
+            if (dx > HIGHLIGHT_RANGE || dz > HIGHLIGHT_RANGE) {
+                continue;
+            }
+            showZoneHighlight(player, shown, loc);
+        }
+    }
+    
+    /**
+     * Show one zone with particle highlighting
+     * Drawn corners first, then edges, then the floor, so the packet cap trims the floor first.
+     * Only the part within {@link #HIGHLIGHT_RANGE} of the player (and {@link #HIGHLIGHT_HEIGHT}
+     * above and below) is drawn, so a zone spanning the world or its full height costs no more
+     * than a small one. Top and bottom edges out of that height are drawn at its limit instead,
+     * so the sides stay visible.
+     */
+    private void showZoneHighlight(Player player, PortalZone shown, Location center) {
+        int fromX = center.getBlockX() - HIGHLIGHT_RANGE, toX = center.getBlockX() + HIGHLIGHT_RANGE;
+        int fromY = center.getBlockY() - HIGHLIGHT_HEIGHT, toY = center.getBlockY() + HIGHLIGHT_HEIGHT;
+        int fromZ = center.getBlockZ() - HIGHLIGHT_RANGE, toZ = center.getBlockZ() + HIGHLIGHT_RANGE;
+        
+        // Zone bounds clipped to the drawn range
+        int minX = Math.max(shown.getMinX(), fromX), maxX = Math.min(shown.getMaxX(), toX);
+        int minY = Math.max(shown.getMinY(), fromY), maxY = Math.min(shown.getMaxY(), toY);
+        int minZ = Math.max(shown.getMinZ(), fromZ), maxZ = Math.min(shown.getMaxZ(), toZ);
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
             return;
         }
         
+        // Sides of the zone that lie within the range
+        boolean westIn = shown.getMinX() >= fromX, eastIn = shown.getMaxX() <= toX;
+        boolean northIn = shown.getMinZ() >= fromZ, southIn = shown.getMaxZ() <= toZ;
+        
+        ParticleRenderer renderer = plugin.getParticleRenderer();
+        double density = renderer.getDensity();
+        
         // Draw the zone edges with particles
         Particle particle = Particle.FLAME;
         Particle cornerParticle = Particle.SOUL_FIRE_FLAME;
         
-        double step = 1.0; // Particle spacing
+        double step = 1.0 / density; // Particle spacing, wider while the server is slow
         
-        // Draw vertical edges (corners)
-        for (int y = minY; y <= maxY; y += 2) {
-            // All 4 corner pillars
-            spawnParticle(player, cornerParticle, minX, y, minZ);
-            spawnParticle(player, cornerParticle, maxX, y, minZ);
-            spawnParticle(player, cornerParticle, minX, y, maxZ);
-            spawnParticle(player, cornerParticle, maxX, y, maxZ);
+        // Draw vertical edges (the corners within range)
+        for (double y = minY; y <= maxY; y += 2 * step) {
+            if (westIn && northIn) spawnParticle(renderer, player, cornerParticle, minX, y, minZ);
+            if (eastIn && northIn) spawnParticle(renderer, player, cornerParticle, maxX, y, minZ);
+            if (westIn && southIn) spawnParticle(renderer, player, cornerParticle, minX, y, maxZ);
+            if (eastIn && southIn) spawnParticle(renderer, player, cornerParticle, maxX, y, maxZ);
         }
         
         // Draw horizontal edges at bottom and top
         for (int yLevel : new int[]{minY, maxY}) {
             // X edges
             for (double x = minX; x <= maxX; x += step) {
-                spawnParticle(player, particle, x, yLevel, minZ);
-                spawnParticle(player, particle, x, yLevel, maxZ);
+                if (northIn) spawnParticle(renderer, player, particle, x, yLevel, minZ);
+                if (southIn) spawnParticle(renderer, player, particle, x, yLevel, maxZ);
             }
             
             // Z edges
             for (double z = minZ; z <= maxZ; z += step) {
-                spawnParticle(player, particle, minX, yLevel, z);
-                spawnParticle(player, particle, maxX, yLevel, z);
+                if (westIn) spawnParticle(renderer, player, particle, minX, yLevel, z);
+                if (eastIn) spawnParticle(renderer, player, particle, maxX, yLevel, z);
             }
         }
         
-        // Draw middle highlight to show the floor/area
-        for (double x = minX + 0.5; x < maxX; x += 2) {
-            for (double z = minZ + 0.5; z < maxZ; z += 2) {
-                player.spawnParticle(Particle.HAPPY_VILLAGER, 
-                    new Location(world, x, minY + 0.5, z), 1, 0, 0, 0, 0);
+        // Draw middle highlight to show the floor/area, only where the real floor is in range
+        if (shown.getMinY() < fromY) {
+            return;
+        }
+        for (double x = minX + 0.5; x < maxX; x += 2 * step) {
+            for (double z = minZ + 0.5; z < maxZ; z += 2 * step) {
+                renderer.spawn(player, Particle.HAPPY_VILLAGER, x, minY + 0.5, z, 1, 0, 0);
             }
         }
     }
@@ -200,43 +312,51 @@ public class PortalZoneManager {
     /**
      * Spawn a particle for a player
      */
-    private void spawnParticle(Player player, Particle particle, double x, double y, double z) {
-        World world = Bukkit.getWorld(zoneWorld);
-        if (world == null) return;
-        
-        player.spawnParticle(particle, new Location(world, x + 0.5, y + 0.5, z + 0.5), 
-            1, 0.05, 0.05, 0.05, 0);
+    private void spawnParticle(ParticleRenderer renderer, Player player, Particle particle, double x, double y, double z) {
+        renderer.spawn(player, particle, x + 0.5, y + 0.5, z + 0.5, 1, 0.05, 0);
     }
     
     /**
-     * Check if a player is in the portal zone
+     * Check if a player is in any portal zone
      */
     public boolean isInPortalZone(Location loc) {
-        if (loc == null || loc.getWorld() == null) return false;
-        
-        if (!loc.getWorld().getName().equalsIgnoreCase(zoneWorld)) {
-            return false;
-        }
-        
-        // Use WorldGuard if enabled
-        if (useWorldGuard) {
-            WorldGuardIntegration wg = plugin.getWorldGuardIntegration();
-            if (wg != null && wg.isEnabled()) {
-                return wg.isInRegion(loc, worldGuardRegion);
-            } else {
-                plugin.debug("[PortalZone] WorldGuard enabled but integration not available");
-                return false;
-            }
-        }
+        return getZoneAt(loc) != null;
+    }
+    
+    /**
+     * Find the portal zone at a location
+     * Only the zones listed for its chunk are tested
+     * 
+     * @return The first zone containing the location, or null
+     */
+    public PortalZone getZoneAt(Location loc) {
+        if (loc == null || loc.getWorld() == null) return null;
         
-        // Use coordinate box
+        String world = loc.getWorld().getName();
         int x = loc.getBlockX();
         int y = loc.getBlockY();
         int z = loc.getBlockZ();
-        
-        return x >= minX && x <= maxX &&
-               y >= minY && y <= maxY &&
-               z >= minZ && z <= maxZ;
+        for (PortalZone candidate : registry.getCandidates(world, x, z)) {
+            if (candidate.contains(world, x, y, z) && isInRegion(candidate, loc)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Check a location against the WorldGuard region of a zone (true for plain boxes)
+     */
+    private boolean isInRegion(PortalZone candidate, Location loc) {
+        if (candidate.getRegion() == null) {
+            return true;
+        }
+        WorldGuardIntegration wg = plugin.getWorldGuardIntegration();
+        if (wg != null && wg.isEnabled()) {
+            return wg.isInRegion(loc, candidate.getRegion());
+        }
+        plugin.debug("[PortalZone] WorldGuard enabled but integration not available");
+        return false;
     }
     
     /**
@@ -252,12 +372,13 @@ public class PortalZoneManager {
         }
         
         boolean wasInZone = playersInZone.contains(uuid);
-        boolean isNowInZone = isInPortalZone(to);
+        PortalZone entered = getZoneAt(to);
+        boolean isNowInZone = entered != null;
         
         if (!wasInZone && isNowInZone) {
             // Player just entered the zone
             playersInZone.add(uuid);
-            onPlayerEnterZone(player);
+            onPlayerEnterZone(player, entered);
         } else if (wasInZone && !isNowInZone) {
             // Player left the zone without teleporting
             playersInZone.remove(uuid);
@@ -266,18 +387,20 @@ public class PortalZoneManager {
     }
     
     /**
-     * Called when a player enters the portal zone
+     * Called when a player enters a portal zone
+     * A zone's "message" metadata replaces the default hint
      */
-    private void onPlayerEnterZone(Player player) {
+    private void onPlayerEnterZone(Player player, PortalZone entered) {
         // Debug message
         plugin.debug("[PortalZone] " + player.getName() + 
-            " ENTERED the portal zone at " + formatLocation(player.getLocation()));
+            " ENTERED portal zone " + entered.getName() + " at " + formatLocation(player.getLocation()));
         plugin.debug("[PortalZone] Waiting for teleport event...");
         
         // Send message to player
         player.sendMessage("");
         player.sendMessage(WDPStartPlugin.hex("&#55FF55&l✦ Portal Zone Entered! &#55FF55&l✦"));
-        player.sendMessage(WDPStartPlugin.hex("&#AAAAAAStep into the portal to continue..."));
+        String message = entered.getMetadata("message");
+        player.sendMessage(WDPStartPlugin.hex(message != null ? message : "&#AAAAAAStep into the portal to continue..."));
         player.sendMessage("");
         
         // Play sound
@@ -372,4 +495,6 @@ public class PortalZoneManager {
     public int getMinZ() { return minZ; }
     public int getMaxZ() { return maxZ; }
     public String getZoneWorld() { return zoneWorld; }
+    public PortalZone getZone() { return zone; }
+    public PortalZoneRegistry getRegistry() { return registry; }
 }
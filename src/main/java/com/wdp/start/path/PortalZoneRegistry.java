@@ -0,0 +1,222 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Portal zones of all worlds, found by chunk
+ *
+ * Every zone is listed under each chunk its box touches, so a position only has to be
+ * tested against the zones of its own chunk. Zones touching more chunks than
+ * {@link #MAX_INDEXED_CHUNKS} (a region whose bounds are unknown spans the whole world)
+ * are kept in a short per-world list that is always tested. Zones added with commands are
+ * kept in portal-zones.yml, the zone from config.yml is registered on every load.
+ * Main thread only.
+ */
+public class PortalZoneRegistry {
+
+    // Zones touching more chunks than this are tested on every lookup instead of indexed
+    private static final int MAX_INDEXED_CHUNKS = 4096;
+
+    private final WDPStartPlugin plugin;
+    private final File file;
+    private final Map<String, PortalZone> zones = new LinkedHashMap<>();
+    private final Map<String, WorldZones> worlds = new HashMap<>();
+
+    public PortalZoneRegistry(WDPStartPlugin plugin) {
+        this(plugin, new File(plugin.getDataFolder(), "portal-zones.yml"));
+    }
+
+    /**
+     * @param file File zones added with commands are kept in, the plugin is only used to log load and save problems
+     */
+    public PortalZoneRegistry(WDPStartPlugin plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+
+    /**
+     * Add a zone, replacing one with the same name
+     */
+    public void add(PortalZone zone) {
+        remove(zone.getName());
+        zones.put(key(zone.getName()), zone);
+
+        WorldZones world = worlds.computeIfAbsent(key(zone.getWorldName()), name -> new WorldZones());
+        if (zone.getChunkCount() > MAX_INDEXED_CHUNKS) {
+            world.large.add(zone);
+            return;
+        }
+        for (int cx = zone.getMinX() >> 4; cx <= zone.getMaxX() >> 4; cx++) {
+            for (int cz = zone.getMinZ() >> 4; cz <= zone.getMaxZ() >> 4; cz++) {
+                world.chunks.computeIfAbsent(chunkKey(cx, cz), k -> new ArrayList<>(1)).add(zone);
+            }
+        }
+    }
+
+    /**
+     * Remove a zone by name
+     * @return The removed zone, or null if there was none
+     */
+    public PortalZone remove(String name) {
+        PortalZone zone = zones.remove(key(name));
+        if (zone == null) {
+            return null;
+        }
+
+        WorldZones world = worlds.get(key(zone.getWorldName()));
+        if (world != null) {
+            if (!world.large.remove(zone)) {
+                for (int cx = zone.getMinX() >> 4; cx <= zone.getMaxX() >> 4; cx++) {
+                    for (int cz = zone.getMinZ() >> 4; cz <= zone.getMaxZ() >> 4; cz++) {
+                        long chunk = chunkKey(cx, cz);
+                        List<PortalZone> list = world.chunks.get(chunk);
+                        if (list != null && list.remove(zone) && list.isEmpty()) {
+                            world.chunks.remove(chunk);
+                        }
+                    }
+                }
+            }
+            if (world.large.isEmpty() && world.chunks.isEmpty()) {
+                worlds.remove(key(zone.getWorldName()));
+            }
+        }
+        return zone;
+    }
+
+    /**
+     * Zones whose box could hold a block position: the zones of its chunk and the large zones
+     */
+    public List<PortalZone> getCandidates(String world, int x, int z) {
+        WorldZones zonesOfWorld = worlds.get(key(world));
+        if (zonesOfWorld == null) {
+            return Collections.emptyList();
+        }
+        List<PortalZone> inChunk = zonesOfWorld.chunks.get(chunkKey(x >> 4, z >> 4));
+        if (zonesOfWorld.large.isEmpty()) {
+            return inChunk != null ? inChunk : Collections.emptyList();
+        }
+        if (inChunk == null) {
+            return zonesOfWorld.large;
+        }
+        List<PortalZone> candidates = new ArrayList<>(inChunk);
+        candidates.addAll(zonesOfWorld.large);
+        return candidates;
+    }
+
+    public PortalZone get(String name) {
+        return zones.get(key(name));
+    }
+
+    public Collection<PortalZone> getZones() {
+        return Collections.unmodifiableCollection(zones.values());
+    }
+
+    public int size() {
+        return zones.size();
+    }
+
+    /**
+     * Number of chunks with at least one zone
+     */
+    public int getIndexedChunks() {
+        int count = 0;
+        for (WorldZones world : worlds.values()) {
+            count += world.chunks.size();
+        }
+        return count;
+    }
+
+    public void clear() {
+        zones.clear();
+        worlds.clear();
+    }
+
+    /**
+     * Add the zones kept in portal-zones.yml
+     */
+    public void load() {
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration data = YamlConfiguration.loadConfiguration(file);
+        for (String name : data.getKeys(false)) {
+            ConfigurationSection section = data.getConfigurationSection(name);
+            if (section == null || !section.isString("world")) {
+                plugin.getLogger().warning("[PortalZone] Skipping zone '" + name + "' in portal-zones.yml, no world set");
+                continue;
+            }
+            PortalZone zone = new PortalZone(name, section.getString("world"),
+                section.getInt("min-x"), section.getInt("min-y"), section.getInt("min-z"),
+                section.getInt("max-x"), section.getInt("max-y"), section.getInt("max-z"),
+                section.getString("region"));
+            ConfigurationSection metadata = section.getConfigurationSection("metadata");
+            if (metadata != null) {
+                for (String key : metadata.getKeys(false)) {
+                    zone.setMetadata(key, metadata.getString(key));
+                }
+            }
+            add(zone);
+        }
+    }
+
+    /**
+     * Write the zones added with commands to portal-zones.yml
+     * @param configZone Name of the zone from config.yml, which is not written
+     */
+    public void save(String configZone) {
+        YamlConfiguration data = new YamlConfiguration();
+        for (PortalZone zone : zones.values()) {
+            if (zone.getName().equalsIgnoreCase(configZone)) {
+                continue;
+            }
+            ConfigurationSection section = data.createSection(zone.getName());
+            section.set("world", zone.getWorldName());
+            section.set("min-x", zone.getMinX());
+            section.set("min-y", zone.getMinY());
+            section.set("min-z", zone.getMinZ());
+            section.set("max-x", zone.getMaxX());
+            section.set("max-y", zone.getMaxY());
+            section.set("max-z", zone.getMaxZ());
+            if (zone.getRegion() != null) {
+                section.set("region", zone.getRegion());
+            }
+            if (!zone.getMetadata().isEmpty()) {
+                section.createSection("metadata", zone.getMetadata());
+            }
+        }
+        try {
+            data.save(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("[PortalZone] Could not save portal-zones.yml: " + e.getMessage());
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long chunkKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Zones of one world by chunk, and the zones too large to index
+     */
+    private static class WorldZones {
+        final Map<Long, List<PortalZone>> chunks = new HashMap<>();
+        final List<PortalZone> large = new ArrayList<>();
+    }
+}
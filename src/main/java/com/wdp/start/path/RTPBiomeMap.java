@@ -0,0 +1,108 @@
+package com.wdp.start.path;
+
+import org.bukkit.HeightMap;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coarse map of where trees can grow, learned from the chunks RTP looks at
+ *
+ * The world is split into square cells. Every chunk the RTP search captures records the
+ * biome at its center into its cell, keeping the best class seen (a forest chunk upgrades
+ * a cell that only had plains so far). Candidates are then drawn towards forest cells and
+ * cells known to be tree-less (ocean, desert, ...) are skipped before any block is read.
+ * Safe to read from any thread.
+ */
+public class RTPBiomeMap {
+
+    // Cell classes, higher is better for finding a tree
+    public static final byte UNKNOWN = 0;
+    public static final byte TREELESS = 1;
+    public static final byte OPEN = 2;
+    public static final byte FOREST = 3;
+
+    private final Map<String, Map<Long, Byte>> worlds = new ConcurrentHashMap<>();
+    private final int cellSize;
+
+    public RTPBiomeMap(int cellSize) {
+        this.cellSize = Math.max(16, cellSize);
+    }
+
+    /**
+     * Record the biome at the center of a loaded chunk (main thread)
+     */
+    public void sample(World world, int chunkX, int chunkZ) {
+        int x = (chunkX << 4) + 8;
+        int z = (chunkZ << 4) + 8;
+        int y = world.getHighestBlockYAt(x, z, HeightMap.MOTION_BLOCKING_NO_LEAVES);
+        record(world.getName(), x, z, classify(world.getBiome(x, y, z)));
+    }
+
+    /**
+     * Record a class for the cell containing a block, kept if better than what is known
+     */
+    public void record(String world, int x, int z, byte biomeClass) {
+        worlds.computeIfAbsent(world, name -> new ConcurrentHashMap<>())
+            .merge(cellKey(x, z), biomeClass, (old, recorded) -> (byte) Math.max(old, recorded));
+    }
+
+    /**
+     * Get the class of the cell containing a block
+     */
+    public byte get(String world, int x, int z) {
+        Map<Long, Byte> cells = worlds.get(world);
+        if (cells == null) {
+            return UNKNOWN;
+        }
+        Byte biomeClass = cells.get(cellKey(x, z));
+        return biomeClass != null ? biomeClass : UNKNOWN;
+    }
+
+    /**
+     * Number of cells with a known class
+     */
+    public int getKnownCells() {
+        int count = 0;
+        for (Map<Long, Byte> cells : worlds.values()) {
+            count += cells.size();
+        }
+        return count;
+    }
+
+    private long cellKey(int x, int z) {
+        return ((long) Math.floorDiv(x, cellSize) << 32) | (Math.floorDiv(z, cellSize) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Classify a biome by its key
+     * Keys are used instead of constants since biomes are registry entries and data packs add more
+     */
+    public static byte classify(Biome biome) {
+        try {
+            return classify(biome.getKey().getKey());
+        } catch (Exception e) {
+            return OPEN; // Custom biome without a key
+        }
+    }
+
+    /**
+     * Classify a biome by its key, with or without the namespace (minecraft:forest or forest)
+     */
+    public static byte classify(String key) {
+        key = key.substring(key.indexOf(':') + 1);
+        if (key.contains("forest") || key.contains("taiga") || key.contains("jungle") ||
+            key.contains("grove") || key.contains("swamp") || key.contains("wooded")) {
+            return FOREST;
+        }
+        if (key.contains("ocean") || key.contains("desert") || key.contains("badlands") ||
+            key.contains("beach") || key.contains("river") || key.contains("peaks") ||
+            key.contains("ice_spikes") || key.contains("mushroom") || key.contains("shore") ||
+            key.contains("the_void")) {
+            return TREELESS;
+        }
+        return OPEN;
+    }
+}
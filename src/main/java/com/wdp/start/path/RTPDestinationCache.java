@@ -0,0 +1,176 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Log of pooled RTP destinations, so the pool is not empty after a restart
+ *
+ * Every destination added to or removed from the pool becomes one tab separated line
+ * appended to rtp-destinations.log; the lines are written off the main thread a few
+ * seconds later, in order. Reading the log back replays the lines, so a destination that was handed out
+ * or thrown away before the restart stays gone. The log is rewritten with only the live
+ * destinations at startup and shutdown, so it never grows past a few pools' worth.
+ */
+class RTPDestinationCache {
+
+    // How often appended lines are written (ticks)
+    private static final long FLUSH_INTERVAL = 100L;
+
+    private final WDPStartPlugin plugin;
+    private final Path file;
+    private final List<String> pending = new ArrayList<>();
+    private BukkitTask flushTask;
+
+    RTPDestinationCache(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve("rtp-destinations.log");
+        this.flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL);
+    }
+
+    /**
+     * Replay the log (main thread, at startup)
+     * @return The destinations that were still pooled, oldest first
+     */
+    List<Entry> load() {
+        Map<String, Entry> live = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+
+        int broken = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                try {
+                    if (parts.length == 6 && parts[0].equals("+")) {
+                        Entry entry = new Entry(parts[1], Double.parseDouble(parts[2]), Double.parseDouble(parts[3]),
+                            Double.parseDouble(parts[4]), Long.parseLong(parts[5]));
+                        live.put(entry.key(), entry);
+                    } else if (parts.length == 5 && parts[0].equals("-")) {
+                        live.remove(keyOf(parts[1], Double.parseDouble(parts[2]), Double.parseDouble(parts[3]),
+                            Double.parseDouble(parts[4])));
+                    } else if (!line.isBlank()) {
+                        broken++;
+                    }
+                } catch (NumberFormatException e) {
+                    broken++; // A line cut short by a crash
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("[RTP] Could not read cached destinations: " + e.getMessage());
+        }
+
+        if (broken > 0) {
+            plugin.debug("[RTP] Skipped " + broken + " broken lines in the destination cache");
+        }
+        return new ArrayList<>(live.values());
+    }
+
+    /**
+     * Log a destination that was added to the pool (main thread)
+     */
+    void add(Location location, long validatedAt) {
+        append("+\t" + format(location) + "\t" + validatedAt);
+    }
+
+    /**
+     * Log a destination that left the pool (main thread)
+     */
+    void remove(Location location) {
+        append("-\t" + format(location));
+    }
+
+    private synchronized void append(String line) {
+        pending.add(line);
+    }
+
+    /**
+     * Append the logged lines to the file (any thread)
+     */
+    synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (String line : pending) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("[RTP] Could not write cached destinations: " + e.getMessage());
+        }
+        pending.clear();
+    }
+
+    /**
+     * Replace the log with one line per live destination (any thread)
+     */
+    synchronized void rewrite(Collection<Entry> entries) {
+        pending.clear();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Entry entry : entries) {
+                    writer.write("+\t" + entry.key() + "\t" + entry.validatedAt());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().warning("[RTP] Could not rewrite cached destinations: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop writing in the background, the pool rewrites the log itself
+     */
+    void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+    }
+
+    private static String format(Location location) {
+        return keyOf(location.getWorld().getName(), location.getX(), location.getY(), location.getZ());
+    }
+
+    private static String keyOf(String world, double x, double y, double z) {
+        return world + "\t" + String.format(Locale.ROOT, "%.1f\t%.1f\t%.1f", x, y, z);
+    }
+
+    /**
+     * One logged destination
+     * @param validatedAt When the search found it (epoch milliseconds)
+     */
+    record Entry(String world, double x, double y, double z, long validatedAt) {
+
+        String key() {
+            return keyOf(world, x, y, z);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import com.wdp.start.world.RegionBlockSource;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Pre-generated RTP destinations per world
+ *
+ * A background search fills the pool one destination at a time while the server is idle,
+ * so completing Quest 1 can teleport right away instead of searching with the player
+ * waiting under blindness. Stored destinations are checked again (age, base proximity and
+ * landing blocks, read from disk when the chunk is not loaded) before they are handed out,
+ * and the pool is swept for old destinations and ones near newly detected bases while it waits.
+ *
+ * The destinations are logged to disk and put back into the pool after a restart, so the
+ * first players do not wait for the background search to catch up. Their landing blocks
+ * are read from the region files right after, since the world may have changed since they
+ * were logged.
+ */
+public class RTPDestinationPool {
+
+    private final WDPStartPlugin plugin;
+    private final RTPManager rtpManager;
+    private final Map<String, ArrayDeque<Destination>> pools = new HashMap<>();
+    private final RTPDestinationCache cache;
+    private List<RTPDestinationCache.Entry> restored;
+    private BukkitTask task;
+    private boolean refilling = false;
+    private volatile boolean shutdown = false;
+
+    // Stats for debug output
+    private long generated = 0;
+    private long handedOut = 0;
+    private long discarded = 0;
+    private long loaded = 0;
+
+    public RTPDestinationPool(WDPStartPlugin plugin, RTPManager rtpManager) {
+        this.plugin = plugin;
+        this.rtpManager = rtpManager;
+
+        if (plugin.getConfig().getBoolean("rtp.pool.persist", true)) {
+            this.cache = new RTPDestinationCache(plugin);
+            this.restored = cache.load();
+        } else {
+            this.cache = null;
+        }
+
+        int interval = Math.max(20, plugin.getConfig().getInt("rtp.pool.refill-interval", 100));
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, interval, interval);
+    }
+
+    /**
+     * Take a destination that is still valid (main thread)
+     * Stored destinations are checked one at a time until one passes, see {@link RTPManager#validate}
+     * @param callback Gets the destination, or null if the pool has none (main thread)
+     */
+    public void take(World world, Consumer<Location> callback) {
+        if (!isEnabled()) {
+            callback.accept(null);
+            return;
+        }
+        restore();
+        takeNext(world, callback);
+    }
+
+    private void takeNext(World world, Consumer<Location> callback) {
+        ArrayDeque<Destination> pool = pools.get(world.getName());
+        long maxAge = getMaxAge();
+        long now = System.currentTimeMillis();
+
+        while (pool != null && !pool.isEmpty()) {
+            Destination destination = pool.poll();
+            log(destination, false);
+            if (now - destination.createdAt > maxAge) {
+                discarded++;
+                continue;
+            }
+            rtpManager.validate(world, destination.location, valid -> {
+                if (valid) {
+                    handedOut++;
+                    callback.accept(destination.location);
+                } else {
+                    discarded++;
+                    takeNext(world, callback);
+                }
+            });
+            return;
+        }
+        callback.accept(null);
+    }
+
+    /**
+     * Put the destinations logged before the restart back into the pools (main thread)
+     * Only the age is checked here, the landing blocks are checked from disk in the background
+     */
+    private void restore() {
+        if (restored == null) {
+            return;
+        }
+        List<RTPDestinationCache.Entry> entries = restored;
+        restored = null;
+
+        long maxAge = getMaxAge();
+        long now = System.currentTimeMillis();
+        Map<World, List<Destination>> byWorld = new HashMap<>();
+        for (RTPDestinationCache.Entry entry : entries) {
+            World world = Bukkit.getWorld(entry.world());
+            if (world == null || now - entry.validatedAt() > maxAge) {
+                continue;
+            }
+            Destination destination = new Destination(new Location(world, entry.x(), entry.y(), entry.z()), entry.validatedAt());
+            pools.computeIfAbsent(entry.world(), name -> new ArrayDeque<>()).add(destination);
+            byWorld.computeIfAbsent(world, key -> new ArrayList<>()).add(destination);
+            loaded++;
+        }
+        for (Map.Entry<World, List<Destination>> world : byWorld.entrySet()) {
+            verifyOnDisk(world.getKey(), world.getValue());
+        }
+
+        // Start the log over with what was kept
+        cache.rewrite(toEntries());
+        if (loaded > 0) {
+            plugin.getLogger().info("[RTP] Restored " + loaded + " pooled destinations from the last run");
+        }
+    }
+
+    /**
+     * Read the landing blocks of restored destinations from the region files and drop the
+     * ones that are no longer safe, or whose chunk is not on disk (main thread, the reading runs async)
+     * Destinations handed out before this finishes are still checked by {@link RTPManager#validate}
+     */
+    private void verifyOnDisk(World world, List<Destination> destinations) {
+        RTPManager.SearchSettings settings = RTPManager.SearchSettings.read(plugin, world);
+        if (!settings.readRegions()) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<Destination> changed = new ArrayList<>();
+            try (RegionBlockSource blocks = new RegionBlockSource(world)) {
+                for (Destination destination : destinations) {
+                    Location location = destination.location;
+                    if (shutdown) {
+                        return;
+                    }
+                    if (!blocks.hasChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4) ||
+                        !rtpManager.isLandingSafe(blocks, location, settings)) {
+                        changed.add(destination);
+                    }
+                }
+            }
+            if (changed.isEmpty() || shutdown) {
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                ArrayDeque<Destination> pool = pools.get(world.getName());
+                int dropped = 0;
+                for (Destination destination : changed) {
+                    if (pool != null && pool.remove(destination)) {
+                        log(destination, false);
+                        discarded++;
+                        dropped++;
+                    }
+                }
+                plugin.debug("[RTP] Dropped " + dropped + " restored destinations that changed on disk");
+            });
+        });
+    }
+
+    /**
+     * Drop destinations that got too old or have a base near them now (main thread)
+     */
+    private void sweep() {
+        long maxAge = getMaxAge();
+        long now = System.currentTimeMillis();
+        int minDistanceFromBase = plugin.getConfig().getInt("rtp.base-detection.min-distance-from-base", 200);
+
+        for (ArrayDeque<Destination> pool : pools.values()) {
+            Iterator<Destination> iterator = pool.iterator();
+            while (iterator.hasNext()) {
+                Destination destination = iterator.next();
+                Location location = destination.location;
+                if (now - destination.createdAt > maxAge ||
+                    rtpManager.isNearBase(location.getWorld(), location.getBlockX(), location.getBlockZ(), minDistanceFromBase)) {
+                    iterator.remove();
+                    log(destination, false);
+                    discarded++;
+                }
+            }
+        }
+    }
+
+    private void log(Destination destination, boolean added) {
+        if (cache == null) {
+            return;
+        }
+        if (added) {
+            cache.add(destination.location, destination.createdAt);
+        } else {
+            cache.remove(destination.location);
+        }
+    }
+
+    private List<RTPDestinationCache.Entry> toEntries() {
+        List<RTPDestinationCache.Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, ArrayDeque<Destination>> pool : pools.entrySet()) {
+            for (Destination destination : pool.getValue()) {
+                Location location = destination.location;
+                entries.add(new RTPDestinationCache.Entry(pool.getKey(), location.getX(), location.getY(), location.getZ(),
+                    destination.createdAt));
+            }
+        }
+        return entries;
+    }
+
+    private long getMaxAge() {
+        return plugin.getConfig().getLong("rtp.pool.max-age", 60) * 60_000L;
+    }
+
+    /**
+     * Number of destinations stored for a world
+     */
+    public int getSize(World world) {
+        ArrayDeque<Destination> pool = pools.get(world.getName());
+        return pool != null ? pool.size() : 0;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    public long getHandedOut() {
+        return handedOut;
+    }
+
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Destinations restored from the log at startup
+     */
+    public long getLoaded() {
+        return loaded;
+    }
+
+    private boolean isEnabled() {
+        return plugin.getConfig().getBoolean("rtp.enabled", true) &&
+               plugin.getConfig().getBoolean("rtp.pool.enabled", true);
+    }
+
+    /**
+     * Start one background search if the pool is short and the server has time to spare
+     */
+    private void tick() {
+        if (!isEnabled()) {
+            return;
+        }
+        restore();
+        sweep();
+        if (refilling) {
+            return;
+        }
+
+        World world = rtpManager.getRtpWorld();
+        if (world == null) {
+            return;
+        }
+
+        // Player searches go first
+        RTPScheduler scheduler = rtpManager.getScheduler();
+        if (scheduler.getQueued() > 0 || scheduler.getInFlight() > 0) {
+            return;
+        }
+        
+        int target = Math.max(0, plugin.getConfig().getInt("rtp.pool.size", 5));
+        if (getSize(world) >= target) {
+            return;
+        }
+
+        // Only search while ticks are short, the search runs its world checks on the main thread
+        double maxTickTime = plugin.getConfig().getDouble("rtp.pool.max-tick-time", 40.0);
+        if (plugin.getTickTimeMonitor().getTickTime() > maxTickTime) {
+            return;
+        }
+
+        refilling = true;
+        RTPManager.SearchSettings settings = RTPManager.SearchSettings.read(plugin, world);
+        String worldName = world.getName();
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Location found = null;
+            try {
+                found = rtpManager.findDestination(world, settings, () -> !shutdown).location();
+            } finally {
+                Location result = found;
+                if (!shutdown) {
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        refilling = false;
+                        if (result != null) {
+                            Destination destination = new Destination(result, System.currentTimeMillis());
+                            pools.computeIfAbsent(worldName, name -> new ArrayDeque<>()).add(destination);
+                            log(destination, true);
+                            generated++;
+                            plugin.debug("[RTP] Pooled destination in " + worldName + " (" + getSize(world) + " stored)");
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop refilling, log the stored destinations for the next start and drop them
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (cache != null) {
+            cache.shutdown();
+            // Destinations never restored (world not loaded yet) are kept as they were
+            if (restored == null) {
+                cache.rewrite(toEntries());
+            } else {
+                cache.flush();
+            }
+        }
+        pools.clear();
+    }
+
+    private record Destination(Location location, long createdAt) {
+    }
+}
@@ -1,12 +1,32 @@
 package com.wdp.start.path;
 
 import com.wdp.start.WDPStartPlugin;
+import com.wdp.start.integration.BaseDetIntegration;
+import com.wdp.start.world.BlockSource;
+import com.wdp.start.world.GeneratedChunkIndex;
+import com.wdp.start.world.HeightSamples;
+import com.wdp.start.world.MaterialTraits;
+import com.wdp.start.world.RegionBlockSource;
+import com.wdp.start.world.SnapshotBlockSource;
+import com.wdp.start.world.TreeScanner;
 import org.bukkit.*;
-import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * RTP (Random Teleport) Manager for Quest 1 completion
@@ -16,40 +36,60 @@ import java.util.concurrent.CompletableFuture;
  * - Avoids existing bases using WDP-BaseDet API
  * - Respects world border
  * - Ensures safe landing location
+ * - Keeps a pool of pre-generated destinations so most players skip the search, kept across restarts
+ * - Skips tree-less biomes and prefers forests using a learned biome map
+ * - Prefers chunks that already exist on disk so the search does not generate terrain
+ * - Reads unloaded chunks straight from the region files so the search does not load them
+ * - Spreads candidates over ring sectors by their record and keeps players apart
+ * - Loads and holds the chunks around the destination before the player arrives
+ * - Queues searches so only a few run at once when many players finish together
+ * - Tunes the tree search radius, sample step and attempts from how candidates went before
  */
 public class RTPManager {
     
     private final WDPStartPlugin plugin;
-    private final Random random = new Random();
-    
-    // Tree log materials
-    private static final Set<Material> TREE_LOGS = Set.of(
-        Material.OAK_LOG, Material.BIRCH_LOG, Material.SPRUCE_LOG,
-        Material.JUNGLE_LOG, Material.ACACIA_LOG, Material.DARK_OAK_LOG,
-        Material.MANGROVE_LOG, Material.CHERRY_LOG
-    );
-    
-    // Leaf materials (to verify it's a tree)
-    private static final Set<Material> TREE_LEAVES = Set.of(
-        Material.OAK_LEAVES, Material.BIRCH_LEAVES, Material.SPRUCE_LEAVES,
-        Material.JUNGLE_LEAVES, Material.ACACIA_LEAVES, Material.DARK_OAK_LEAVES,
-        Material.MANGROVE_LEAVES, Material.CHERRY_LEAVES, Material.AZALEA_LEAVES,
-        Material.FLOWERING_AZALEA_LEAVES
-    );
-    
-    // Dangerous blocks to avoid
-    private static final Set<Material> DANGEROUS_BLOCKS = Set.of(
-        Material.LAVA, Material.FIRE, Material.SOUL_FIRE, Material.MAGMA_BLOCK,
-        Material.CACTUS, Material.SWEET_BERRY_BUSH, Material.WITHER_ROSE,
-        Material.POWDER_SNOW
-    );
+    // Trunk checks read a few blocks beside the sampled columns
+    private static final int SCAN_MARGIN = 3;
+    
+    private final ExecutorService candidateExecutor;
+    private final RTPDestinationPool pool;
+    private final RTPBiomeMap biomeMap;
+    private final RTPSectorGrid sectorGrid;
+    private final RTPTeleporter teleporter;
+    private final RTPScheduler scheduler;
+    private final RTPTuner tuner;
+    
+    // Generated chunks per world, refreshed off the main thread
+    private final Map<String, GeneratedChunkIndex> chunkIndexes = new ConcurrentHashMap<>();
+    private BukkitTask indexTask;
+    private volatile boolean indexing = false;
     
     public RTPManager(WDPStartPlugin plugin) {
         this.plugin = plugin;
+        
+        // Shared by all searches, bounds how many candidates are checked at once server-wide
+        int threads = Math.max(1, plugin.getConfig().getInt("rtp.search.threads", 4));
+        AtomicInteger threadId = new AtomicInteger();
+        this.candidateExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "WDP-Start RTP #" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.biomeMap = new RTPBiomeMap(plugin.getConfig().getInt("rtp.biome-filter.cell-size", 64));
+        this.sectorGrid = new RTPSectorGrid(plugin);
+        this.tuner = new RTPTuner(plugin);
+        this.teleporter = new RTPTeleporter(plugin);
+        this.scheduler = new RTPScheduler(plugin, this);
+        this.pool = new RTPDestinationPool(plugin, this);
+        
+        long refreshTicks = Math.max(30, plugin.getConfig().getInt("rtp.generated-chunks.refresh-interval", 300)) * 20L;
+        this.indexTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refreshChunkIndex, 20L, refreshTicks);
     }
     
     /**
      * Perform RTP for a player after portal zone entry
+     * Uses a pre-generated destination when the pool has one, otherwise queues a search
      * 
      * @param player The player to teleport
      * @return CompletableFuture that completes when teleport is done
@@ -64,291 +104,624 @@ public class RTPManager {
             return future;
         }
         
-        // Get config values
-        String worldName = plugin.getConfig().getString("rtp.world", "world");
-        int minDistance = plugin.getConfig().getInt("rtp.min-distance", 1000);
-        int maxDistance = plugin.getConfig().getInt("rtp.max-distance", 5000);
-        int worldBorderBuffer = plugin.getConfig().getInt("rtp.world-border-buffer", 100);
-        int maxAttempts = plugin.getConfig().getInt("rtp.tree-search.max-attempts", 50);
-        int minDistanceFromTree = plugin.getConfig().getInt("rtp.tree-search.min-distance-from-tree", 5);
-        int maxDistanceFromTree = plugin.getConfig().getInt("rtp.tree-search.max-distance-from-tree", 30);
-        int minDistanceFromBase = plugin.getConfig().getInt("rtp.base-detection.min-distance-from-base", 200);
-        
-        World world = Bukkit.getWorld(worldName);
+        World world = getRtpWorld();
         if (world == null) {
-            plugin.getLogger().warning("[RTP] World '" + worldName + "' not found!");
+            plugin.getLogger().warning("[RTP] World '" + plugin.getConfig().getString("rtp.world", "world") + "' not found!");
             future.complete(false);
             return future;
         }
         
-        // Get world border
-        WorldBorder border = world.getWorldBorder();
-        double borderSize = border.getSize() / 2 - worldBorderBuffer;
-        Location borderCenter = border.getCenter();
-        
-        // Apply blindness and show searching title (on main thread)
-        player.addPotionEffect(new org.bukkit.potion.PotionEffect(org.bukkit.potion.PotionEffectType.BLINDNESS, 200, 1, false, false, false));
-        player.sendTitle(WDPStartPlugin.hex("&#FFFF55&lSearching..."), WDPStartPlugin.hex("&#AAAAAAFinding a safe spot for you"), 10, 200, 10);
-        
-        // Run async to generate candidate coordinates and minimize main-thread work
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            Location rtpLocation = null;
-            
-            for (int attempt = 0; attempt < maxAttempts; attempt++) {
-                if (!player.isOnline()) break; // Abort if player disconnected
-
-                // Generate random angle and distance
-                double angle = random.nextDouble() * 2 * Math.PI;
-                int distance = minDistance + random.nextInt(maxDistance - minDistance);
-
-                // Calculate coordinates
-                int x = (int) (borderCenter.getX() + Math.cos(angle) * distance);
-                int z = (int) (borderCenter.getZ() + Math.sin(angle) * distance);
-
-                // Check world border (pure math, safe async)
-                if (Math.abs(x - borderCenter.getX()) > borderSize ||
-                    Math.abs(z - borderCenter.getZ()) > borderSize) {
-                    continue;
-                }
-
-                // Run small world checks on the main thread to avoid unsafe asynchronous access
-                try {
-                    // Check near base on main thread
-                    Boolean nearBase = Bukkit.getScheduler().callSyncMethod(plugin, () -> isNearBase(world, x, z, minDistanceFromBase)).get();
-                    if (nearBase != null && nearBase) {
-                        plugin.debug("[RTP] Attempt " + attempt + ": Location near base, skipping");
-                        continue;
-                    }
-
-                    // Find a tree near this location on main thread
-                    Location treeLocation = Bukkit.getScheduler().callSyncMethod(plugin, () -> findNearbyTree(world, x, z, maxDistanceFromTree * 2)).get();
-                    if (treeLocation == null) {
-                        plugin.debug("[RTP] Attempt " + attempt + ": No tree found near (" + x + ", " + z + ")");
-                        continue;
-                    }
-
-                    // Find safe landing spot near the tree on main thread
-                    Location safe = Bukkit.getScheduler().callSyncMethod(plugin, () -> findSafeLandingNearTree(world, treeLocation, minDistanceFromTree, maxDistanceFromTree)).get();
-                    if (safe != null) {
-                        rtpLocation = safe;
-                        plugin.debug("[RTP] Found valid location after " + (attempt + 1) + " attempts");
-                        break;
-                    }
-                } catch (Exception e) {
-                    plugin.debug("[RTP] Error during sync checks: " + e.getMessage());
-                    // If callSyncMethod failed, fall back to next attempt
-                    continue;
-                }
+        // Pre-generated destination, no search needed
+        pool.take(world, pooled -> {
+            if (pooled != null) {
+                plugin.debug("[RTP] Using pooled destination for " + player.getName() + " (" + pool.getSize(world) + " left)");
+                teleporter.teleport(player, world, pooled, future);
+                return;
             }
-
-            final Location finalLocation = rtpLocation;
-
-            if (finalLocation == null) {
-                // Ensure UI updates happen on main thread
-                Bukkit.getScheduler().runTask(plugin, () -> {
+            if (!player.isOnline()) {
+                future.complete(false);
+                return;
+            }
+            
+            // Apply blindness while the player waits for a search slot and the search (on main thread)
+            player.addPotionEffect(new org.bukkit.potion.PotionEffect(org.bukkit.potion.PotionEffectType.BLINDNESS, 200, 1, false, false, false));
+            
+            scheduler.submit(player, world, SearchSettings.read(plugin, world), rtpLocation -> {
+                if (rtpLocation == null) {
                     // Remove blindness and inform player
                     player.removePotionEffect(org.bukkit.potion.PotionEffectType.BLINDNESS);
                     player.sendTitle(WDPStartPlugin.hex("&#FF5555&lSearch failed"), WDPStartPlugin.hex("&#AAAAAAPlease try again or contact staff."), 10, 100, 10);
                     player.sendMessage(WDPStartPlugin.hex("&#FF5555&l✗ Could not find a safe location!"));
                     player.sendMessage(WDPStartPlugin.hex("&#AAAAAAPlease try again or contact staff."));
                     future.complete(false);
-                });
-                return;
-            }
-
-            // Try to load the chunk asynchronously if supported (Paper API), otherwise teleport will load sync on main thread
-            try {
-                int chunkX = finalLocation.getBlockX() >> 4;
-                int chunkZ = finalLocation.getBlockZ() >> 4;
-
-                java.lang.reflect.Method getChunkAtAsync = null;
-                try {
-                    getChunkAtAsync = world.getClass().getMethod("getChunkAtAsync", int.class, int.class);
-                } catch (NoSuchMethodException ignored) {
-                    // Some implementations may have getChunkAtAsync(int,int,boolean) or not support it at all
-                    try {
-                        getChunkAtAsync = world.getClass().getMethod("getChunkAtAsync", int.class, int.class, boolean.class);
-                    } catch (NoSuchMethodException ignored2) {
-                        getChunkAtAsync = null;
-                    }
-                }
-
-                if (getChunkAtAsync != null) {
-                    // Call the async chunk loader and then teleport on completion
-                    Object cfObj;
-                    if (getChunkAtAsync.getParameterCount() == 2) {
-                        cfObj = getChunkAtAsync.invoke(world, chunkX, chunkZ);
-                    } else {
-                        cfObj = getChunkAtAsync.invoke(world, chunkX, chunkZ, true);
-                    }
-
-                    if (cfObj instanceof CompletableFuture) {
-                        CompletableFuture<?> chunkFuture = (CompletableFuture<?>) cfObj;
-                        chunkFuture.whenComplete((ignoredChunk, ex) -> {
-                            Bukkit.getScheduler().runTask(plugin, () -> {
-                                // Teleport player now that the chunk is available
-                                if (!player.isOnline()) {
-                                    player.removePotionEffect(org.bukkit.potion.PotionEffectType.BLINDNESS);
-                                    future.complete(false);
-                                    return;
-                                }
-
-                                player.teleport(finalLocation);
-                                // Remove blindness and show success - clean chat with objective
-                                player.removePotionEffect(org.bukkit.potion.PotionEffectType.BLINDNESS);
-                                
-                                // Clear chat for clean objective display
-                                for (int i = 0; i < 20; i++) player.sendMessage("");
-                                
-                                // Show clean objective title (no subtitle when chat is closed)
-                                player.sendTitle(WDPStartPlugin.hex("&#55FF55&l✦ NEXT OBJECTIVE ✦"), "", 10, 80, 20);
-
-                                if (plugin.getConfigManager().isSoundsEnabled()) {
-                                    player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
-                                    player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f);
-                                }
-                                world.spawnParticle(Particle.TOTEM_OF_UNDYING, finalLocation, 50, 1, 1, 1, 0.1);
-                                plugin.getLogger().info("[RTP] " + player.getName() + " teleported to " + String.format("(%.1f, %.1f, %.1f)", finalLocation.getX(), finalLocation.getY(), finalLocation.getZ()));
-                                future.complete(true);
-                            });
-                        });
-                        return; // Return; teleport will happen in callback
-                    }
-                }
-            } catch (Exception e) {
-                plugin.debug("[RTP] Async chunk load not available or failed: " + e.getMessage());
-            }
-
-            // Fallback: teleport on main thread and synchronously load chunk
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                if (!player.isOnline()) {
-                    player.removePotionEffect(org.bukkit.potion.PotionEffectType.BLINDNESS);
-                    future.complete(false);
                     return;
                 }
-
-                // Load chunk synchronously
-                finalLocation.getChunk().load(true);
-                player.teleport(finalLocation);
-
-                // Remove blindness and show success - clean chat with objective
-                player.removePotionEffect(org.bukkit.potion.PotionEffectType.BLINDNESS);
-                
-                // Clear chat for clean objective display
-                for (int i = 0; i < 20; i++) player.sendMessage("");
-                
-                // Show clean objective title (no subtitle when chat is closed)
-                player.sendTitle(WDPStartPlugin.hex("&#55FF55&l✦ NEXT OBJECTIVE ✦"), "", 10, 80, 20);
-
-                if (plugin.getConfigManager().isSoundsEnabled()) {
-                    player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
-                    player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f);
-                }
-                world.spawnParticle(Particle.TOTEM_OF_UNDYING, finalLocation, 50, 1, 1, 1, 0.1);
-                plugin.getLogger().info("[RTP] " + player.getName() + " teleported to " + String.format("(%.1f, %.1f, %.1f)", finalLocation.getX(), finalLocation.getY(), finalLocation.getZ()));
-                future.complete(true);
+                teleporter.teleport(player, world, rtpLocation, future);
             });
         });
-
+        
         return future;
     }
     
     /**
-     * Check if a location is near any detected base using WDP-BaseDet
+     * Get the configured RTP world, or null if it is not loaded
      */
-    private boolean isNearBase(World world, int x, int z, int minDistance) {
-        try {
-            // Try to get WDP-BaseDet plugin
-            org.bukkit.plugin.Plugin baseDetPlugin = Bukkit.getPluginManager().getPlugin("WDP-BaseDet");
-            if (baseDetPlugin == null || !baseDetPlugin.isEnabled()) {
-                return false; // No base detection available
-            }
-            
-            // Use reflection to call the API
-            // This assumes WDP-BaseDet has a method like: isNearBase(World, x, z, distance)
+    public World getRtpWorld() {
+        return Bukkit.getWorld(plugin.getConfig().getString("rtp.world", "world"));
+    }
+    
+    /**
+     * Read the region file headers of the RTP world again (main thread, the reading runs async)
+     */
+    private void refreshChunkIndex() {
+        World world = getRtpWorld();
+        if (indexing || world == null || !plugin.getConfig().getBoolean("rtp.enabled", true) ||
+            SearchSettings.readGeneratedChunks(plugin) == GeneratedChunks.OFF) {
+            return;
+        }
+        
+        indexing = true;
+        GeneratedChunkIndex index = chunkIndexes.computeIfAbsent(world.getName(), name -> GeneratedChunkIndex.of(world));
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
             try {
-                Object detectionManager = baseDetPlugin.getClass()
-                    .getMethod("getDetectionManager")
-                    .invoke(baseDetPlugin);
+                long start = System.nanoTime();
+                index.refresh();
+                plugin.debug("[RTP] Indexed " + index.getChunkCount() + " generated chunks in " + world.getName() +
+                    " (" + (System.nanoTime() - start) / 1_000_000 + "ms)");
+            } catch (Exception e) {
+                plugin.getLogger().warning("[RTP] Could not read region files of " + world.getName() + ": " + e.getMessage());
+            } finally {
+                indexing = false;
+            }
+        });
+    }
+    
+    /**
+     * Generated chunk index of a world, or null if it was not read yet
+     */
+    public GeneratedChunkIndex getChunkIndex(World world) {
+        GeneratedChunkIndex index = chunkIndexes.get(world.getName());
+        return index != null && index.isReady() ? index : null;
+    }
+    
+    /**
+     * Search for a safe spot near a tree (call off the main thread)
+     * Several candidates are checked at once on the candidate threads; the first one that
+     * works is used and the others are cancelled. Gives up after max-attempts candidates (tuned
+     * from the success rate when tuning is on) or when the deadline passes.
+     * 
+     * @param active Checked before every new candidate, the search stops when it returns false
+     * @return The destination (null if no candidate worked) and the number of candidates tried
+     */
+    public SearchResult findDestination(World world, SearchSettings settings, BooleanSupplier active) {
+        CompletionService<Location> completion = new ExecutorCompletionService<>(candidateExecutor);
+        List<Future<Location>> futures = new ArrayList<>();
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        long deadline = System.nanoTime() + settings.deadlineMillis() * 1_000_000L;
+        int maxAttempts = tuner.getMaxAttempts(world.getName(), settings);
+        int attempts = 0;
+        int inFlight = 0;
+        
+        try {
+            while (true) {
+                while (inFlight < settings.parallelCandidates() && attempts < maxAttempts && active.getAsBoolean()) {
+                    int attempt = attempts++;
+                    futures.add(completion.submit(() -> checkCandidate(world, settings, attempt, cancelled)));
+                    inFlight++;
+                }
+                if (inFlight == 0) {
+                    return new SearchResult(null, attempts); // Out of attempts, or the player left
+                }
                 
-                if (detectionManager != null) {
-                    Boolean result = (Boolean) detectionManager.getClass()
-                        .getMethod("isLocationNearBase", World.class, int.class, int.class, int.class)
-                        .invoke(detectionManager, world, x, z, minDistance);
-                    return result != null && result;
+                Future<Location> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    plugin.debug("[RTP] Search deadline passed after " + attempts + " candidates");
+                    return new SearchResult(null, attempts);
+                }
+                inFlight--;
+                
+                Location result = getResult(done);
+                if (result != null) {
+                    if (settings.spread()) {
+                        sectorGrid.recordDestination(world.getName(), settings, result.getBlockX(), result.getBlockZ());
+                    }
+                    plugin.debug("[RTP] Found valid location after " + attempts + " candidates");
+                    return new SearchResult(result, attempts);
                 }
-            } catch (Exception e) {
-                // API method doesn't exist yet, fall back to no detection
-                plugin.debug("[RTP] WDP-BaseDet API not available: " + e.getMessage());
             }
-            
-            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SearchResult(null, attempts);
+        } finally {
+            cancelled.set(true);
+            for (Future<Location> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+    
+    private Location getResult(Future<Location> future) {
+        try {
+            return future.get();
         } catch (Exception e) {
-            plugin.debug("[RTP] Error checking base proximity: " + e.getMessage());
-            return false;
+            plugin.debug("[RTP] Candidate check failed: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Check one random candidate (candidate thread)
+     * The result is counted for the sector the candidate was drawn from and for the tuned
+     * search radius and sample step it was checked with
+     * 
+     * @param cancelled Set once the search has its result, main thread work is skipped after that
+     * @return A safe landing spot near a tree, or null
+     */
+    private Location checkCandidate(World world, SearchSettings settings, int attempt, AtomicBoolean cancelled) throws Exception {
+        int[] tuned = tuner.pick(world.getName(), settings, ThreadLocalRandom.current());
+        int[] candidate = pickCandidate(world, settings, tuned[0]);
+        if (candidate == null) {
+            plugin.debug("[RTP] Attempt " + attempt + ": No usable point drawn, skipping");
+            return null;
+        }
+        
+        long start = System.nanoTime();
+        Location result = checkPoint(world, settings, attempt, candidate[0], candidate[1], tuned[0], tuned[1], cancelled);
+        // Checks cut short because another candidate won say nothing about the sector or the values
+        if (result != null || !cancelled.get()) {
+            if (candidate[2] >= 0) {
+                sectorGrid.recordResult(world.getName(), settings, candidate[2], result != null);
+            }
+            if (settings.tuning()) {
+                tuner.record(world.getName(), tuned[0], tuned[1], result != null, System.nanoTime() - start);
+            }
         }
+        return result;
     }
     
     /**
-     * Find a nearby tree within the search radius
+     * Check a candidate point (candidate thread)
+     * One trip to the main thread snapshots the loaded chunks the tree search needs and lists
+     * the chunks that are not loaded; those are read from the region files. A candidate whose
+     * area has chunks that are neither loaded nor on disk is dropped, so a search never loads
+     * or generates terrain. A second trip snapshots the landing area once a tree is found.
+     * 
+     * @param treeRadius How far from the point trees are searched
+     * @param step Spacing of the columns sampled for trees
      */
-    private Location findNearbyTree(World world, int centerX, int centerZ, int searchRadius) {
-        int minY = plugin.getConfig().getInt("rtp.safety.min-y", 63);
-        int maxY = plugin.getConfig().getInt("rtp.safety.max-y", 200);
+    private Location checkPoint(World world, SearchSettings settings, int attempt, int x, int z, int treeRadius, int step,
+                                AtomicBoolean cancelled) throws Exception {
+        int areaRadius = getAreaRadius(settings, treeRadius);
         
-        // Spiral search pattern for efficiency
-        for (int radius = 0; radius <= searchRadius; radius += 5) {
-            for (int dx = -radius; dx <= radius; dx += 5) {
-                for (int dz = -radius; dz <= radius; dz += 5) {
-                    if (Math.abs(dx) != radius && Math.abs(dz) != radius) continue; // Only check border
-                    
-                    int x = centerX + dx;
-                    int z = centerZ + dz;
-                    
-                    // Get highest block
-                    int highestY = world.getHighestBlockYAt(x, z);
-                    if (highestY < minY || highestY > maxY) continue;
-                    
-                    // Check for tree
-                    for (int y = highestY; y >= minY; y--) {
-                        Block block = world.getBlockAt(x, y, z);
-                        if (TREE_LOGS.contains(block.getType())) {
-                            // Verify it's actually a tree (has leaves nearby)
-                            if (hasLeavesNearby(world, x, y + 2, z)) {
-                                return new Location(world, x, y, z);
-                            }
-                        }
+        // Base check against the base index, without a trip to the main thread
+        boolean basesOffThread = canCheckBasesOffThread();
+        if (basesOffThread && isNearBase(world, x, z, settings.minDistanceFromBase())) {
+            plugin.debug("[RTP] Attempt " + attempt + ": Location near base, skipping");
+            return null;
+        }
+        
+        try (RegionBlockSource region = settings.readRegions() ? new RegionBlockSource(world) : null) {
+            SnapshotBlockSource blocks = new SnapshotBlockSource(world, region);
+            
+            // Main thread: base check (without an index), the chunks that are not loaded, snapshots of the loaded ones
+            AreaCapture area = Bukkit.getScheduler().callSyncMethod(plugin, () -> {
+                if (cancelled.get()) {
+                    return null;
+                }
+                if (!basesOffThread && isNearBase(world, x, z, settings.minDistanceFromBase())) {
+                    plugin.debug("[RTP] Attempt " + attempt + ": Location near base, skipping");
+                    return null;
+                }
+                List<int[]> unloaded = getUnloadedChunks(world, x, z, areaRadius);
+                if (region == null && !unloaded.isEmpty()) {
+                    plugin.debug("[RTP] Attempt " + attempt + ": " + unloaded.size() + " chunks near (" + x + ", " + z +
+                        ") not loaded, skipping");
+                    return null;
+                }
+                if (unloaded.size() == getChunkCount(x, z, areaRadius)) {
+                    return new AreaCapture(unloaded, null); // Nothing loaded to snapshot
+                }
+                if (settings.biomeFilter() && world.isChunkLoaded(x >> 4, z >> 4)) {
+                    biomeMap.sample(world, x >> 4, z >> 4);
+                    if (biomeMap.get(world.getName(), x, z) == RTPBiomeMap.TREELESS) {
+                        plugin.debug("[RTP] Attempt " + attempt + ": Tree-less biome at (" + x + ", " + z + "), skipping");
+                        return null;
                     }
                 }
+                HeightSamples heights = HeightSamples.capture(world, x, z, treeRadius, step, region);
+                captureCanopyChunks(world, blocks, heights, x, z, treeRadius, step, settings);
+                return new AreaCapture(unloaded, heights);
+            }).get();
+            if (area == null) {
+                return null;
             }
+            
+            for (int[] chunk : area.unloaded()) {
+                if (!region.hasChunk(chunk[0], chunk[1])) {
+                    plugin.debug("[RTP] Attempt " + attempt + ": Chunks near (" + x + ", " + z + ") not generated, skipping");
+                    return null;
+                }
+            }
+            
+            // With no chunk loaded there is nothing newer than the region files
+            if (area.heights() == null) {
+                return checkOnDisk(world, settings, attempt, x, z, treeRadius, step, region);
+            }
+            return checkLoaded(world, settings, attempt, x, z, treeRadius, step, region, blocks, area.heights(), cancelled);
+        }
+    }
+    
+    /**
+     * Chunks of a candidate's area that are not loaded, and the height samples of the loaded
+     * ones (null when none is loaded)
+     */
+    private record AreaCapture(List<int[]> unloaded, HeightSamples heights) {
+    }
+    
+    /**
+     * Check a candidate with snapshots of its loaded chunks (candidate thread)
+     * Only the chunks around sampled columns with a canopy were snapshotted for the tree search;
+     * the chunks around the tree that was found are captured for the landing spot. Columns and
+     * blocks in chunks that are not loaded are read from the region files.
+     * 
+     * @param region Source of the chunks that are not loaded, or null when every chunk is loaded
+     */
+    private Location checkLoaded(World world, SearchSettings settings, int attempt, int x, int z, int treeRadius, int step,
+                                 RegionBlockSource region, SnapshotBlockSource blocks, HeightSamples heights,
+                                 AtomicBoolean cancelled) throws Exception {
+        if (settings.biomeFilter() && region != null && !heights.isLoaded(x, z) && isTreelessOnDisk(world, region, x, z)) {
+            plugin.debug("[RTP] Attempt " + attempt + ": Tree-less biome at (" + x + ", " + z + "), skipping");
+            return null;
         }
         
-        return null;
+        // Find a tree near this location (off the main thread, blocks are only read under canopies)
+        Location treeLocation = TreeScanner.findNearbyTree(blocks, heights, x, z, treeRadius, step, settings.minY(), settings.maxY());
+        if (settings.biomeFilter() && region != null) {
+            learnBiomes(world, region);
+        }
+        if (treeLocation == null) {
+            plugin.debug("[RTP] Attempt " + attempt + ": No tree found near (" + x + ", " + z + ")");
+            return null;
+        }
+        
+        // Landing spots can lie outside the tree search area, capture what is missing
+        Bukkit.getScheduler().callSyncMethod(plugin, () -> {
+            if (!cancelled.get()) {
+                captureChunks(world, blocks, treeLocation.getBlockX(), treeLocation.getBlockZ(), settings.maxDistanceFromTree());
+            }
+            return null;
+        }).get();
+        
+        // Find safe landing spot near the tree (off the main thread)
+        return findSafeLandingNearTree(blocks, treeLocation, settings);
     }
     
     /**
-     * Check if there are leaves near a location (to verify it's a tree)
+     * Check a candidate whose chunks are all on disk and none loaded (candidate thread)
+     * The chunks are decoded from the region files, the server never loads them
      */
-    private boolean hasLeavesNearby(World world, int x, int y, int z) {
-        for (int dx = -3; dx <= 3; dx++) {
-            for (int dy = 0; dy <= 5; dy++) {
-                for (int dz = -3; dz <= 3; dz++) {
-                    Block block = world.getBlockAt(x + dx, y + dy, z + dz);
-                    if (TREE_LEAVES.contains(block.getType())) {
-                        return true;
+    private Location checkOnDisk(World world, SearchSettings settings, int attempt, int x, int z, int treeRadius, int step,
+                                 RegionBlockSource blocks) {
+        if (settings.biomeFilter() && isTreelessOnDisk(world, blocks, x, z)) {
+            plugin.debug("[RTP] Attempt " + attempt + ": Tree-less biome at (" + x + ", " + z + "), skipping");
+            return null;
+        }
+        
+        Location treeLocation = TreeScanner.findNearbyTree(blocks, blocks, x, z, treeRadius, step, settings.minY(), settings.maxY());
+        if (settings.biomeFilter()) {
+            learnBiomes(world, blocks);
+        }
+        if (treeLocation == null) {
+            plugin.debug("[RTP] Attempt " + attempt + ": No tree found near (" + x + ", " + z + ") on disk");
+            return null;
+        }
+        return findSafeLandingNearTree(blocks, treeLocation, settings);
+    }
+    
+    /**
+     * Check if the biome of a column read from disk grows no trees, recording it in the biome map if so
+     */
+    private boolean isTreelessOnDisk(World world, RegionBlockSource blocks, int x, int z) {
+        String biome = blocks.getBiomeKey(x, blocks.getGroundY(x, z), z);
+        if (biome != null && RTPBiomeMap.classify(biome) == RTPBiomeMap.TREELESS) {
+            biomeMap.record(world.getName(), x, z, RTPBiomeMap.TREELESS);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Record the biome of every chunk a region read decoded
+     */
+    private void learnBiomes(World world, RegionBlockSource blocks) {
+        for (long key : blocks.getReadChunks()) {
+            int x = (RegionBlockSource.chunkX(key) << 4) + 8;
+            int z = (RegionBlockSource.chunkZ(key) << 4) + 8;
+            String biome = blocks.getBiomeKey(x, blocks.getGroundY(x, z), z);
+            if (biome != null) {
+                biomeMap.record(world.getName(), x, z, RTPBiomeMap.classify(biome));
+            }
+        }
+    }
+    
+    /**
+     * Radius around a candidate that its checks can read: the tree search area plus the
+     * landing area around a tree at its edge
+     */
+    private static int getAreaRadius(SearchSettings settings, int treeRadius) {
+        return treeRadius + settings.maxDistanceFromTree() + SCAN_MARGIN;
+    }
+    
+    /**
+     * Pick a candidate point in the search ring (candidate thread)
+     * Several random points are drawn and one is picked weighted by what the biome map knows
+     * about its cell (forests are preferred, tree-less cells are never picked) and by whether
+     * every chunk the checks will read already exists on disk. With spreading on, points come
+     * from sectors picked by the sector grid and must keep their distance to recent destinations.
+     * 
+     * @param treeRadius Tree search radius the point will be checked with
+     * @return The block X, block Z and sector (-1 without spreading), or null if no drawn point can be used
+     */
+    private int[] pickCandidate(World world, SearchSettings settings, int treeRadius) {
+        GeneratedChunkIndex index = settings.generatedChunks() != GeneratedChunks.OFF ? getChunkIndex(world) : null;
+        boolean weighted = settings.biomeFilter() || index != null || settings.spread();
+        int samples = weighted ? settings.candidateSamples() : 1;
+        int areaRadius = getAreaRadius(settings, treeRadius);
+        Random random = ThreadLocalRandom.current();
+        int[] picked = null;
+        int totalWeight = 0;
+        
+        for (int i = 0; i < samples; i++) {
+            int x, z;
+            int sector = -1;
+            if (settings.spread()) {
+                int[] point = sectorGrid.samplePoint(world.getName(), settings, random);
+                x = point[0];
+                z = point[1];
+                sector = point[2];
+            } else {
+                // Generate random angle and distance
+                double angle = random.nextDouble() * 2 * Math.PI;
+                int distance = settings.minDistance() + random.nextInt(settings.maxDistance() - settings.minDistance());
+                x = (int) (settings.centerX() + Math.cos(angle) * distance);
+                z = (int) (settings.centerZ() + Math.sin(angle) * distance);
+            }
+            
+            // Check world border (pure math, safe async)
+            if (Math.abs(x - settings.centerX()) > settings.borderSize() ||
+                Math.abs(z - settings.centerZ()) > settings.borderSize()) {
+                continue;
+            }
+            if (settings.spread() && !sectorGrid.isSpaced(world.getName(), x, z, settings.spreadSpacing())) {
+                continue;
+            }
+            
+            int weight = 1;
+            if (settings.biomeFilter()) {
+                byte biomeClass = biomeMap.get(world.getName(), x, z);
+                weight = biomeClass == RTPBiomeMap.FOREST ? settings.forestWeight() :
+                         biomeClass == RTPBiomeMap.TREELESS ? 0 : 1;
+            }
+            if (weight == 0) {
+                continue;
+            }
+            if (index != null) {
+                if (index.isAreaGenerated(x, z, areaRadius)) {
+                    weight *= settings.generatedWeight();
+                } else if (settings.generatedChunks() == GeneratedChunks.ONLY) {
+                    continue;
+                }
+            }
+            
+            // Weighted pick in one pass, each point replaces the pick with probability weight / total so far
+            totalWeight += weight;
+            if (random.nextInt(totalWeight) < weight) {
+                picked = new int[] {x, z, sector};
+            }
+        }
+        return picked;
+    }
+    
+    /**
+     * Chunks within a radius of a block that are not loaded (main thread)
+     */
+    private static List<int[]> getUnloadedChunks(World world, int centerX, int centerZ, int radius) {
+        List<int[]> unloaded = new ArrayList<>();
+        for (int cx = (centerX - radius) >> 4; cx <= (centerX + radius) >> 4; cx++) {
+            for (int cz = (centerZ - radius) >> 4; cz <= (centerZ + radius) >> 4; cz++) {
+                if (!world.isChunkLoaded(cx, cz)) {
+                    unloaded.add(new int[] {cx, cz});
+                }
+            }
+        }
+        return unloaded;
+    }
+    
+    /**
+     * Number of chunks within a radius of a block
+     */
+    private static int getChunkCount(int centerX, int centerZ, int radius) {
+        int width = ((centerX + radius) >> 4) - ((centerX - radius) >> 4) + 1;
+        int depth = ((centerZ + radius) >> 4) - ((centerZ - radius) >> 4) + 1;
+        return width * depth;
+    }
+    
+    /**
+     * Snapshot the loaded chunks a trunk search can read: those within reach of a sampled
+     * column whose canopy is above its ground and between the allowed heights (main thread)
+     */
+    private void captureCanopyChunks(World world, SnapshotBlockSource blocks, HeightSamples heights, int centerX, int centerZ,
+                                     int radius, int step, SearchSettings settings) {
+        boolean learnBiomes = plugin.getConfig().getBoolean("rtp.biome-filter.enabled", true);
+        int cells = radius / step;
+        for (int i = -cells; i <= cells; i++) {
+            for (int j = -cells; j <= cells; j++) {
+                int x = centerX + i * step;
+                int z = centerZ + j * step;
+                if (!heights.isLoaded(x, z)) {
+                    continue; // Read from disk, asking for its height here would read the region file
+                }
+                int canopyY = heights.getCanopyY(x, z);
+                if (canopyY < settings.minY() || canopyY > settings.maxY() || canopyY <= heights.getGroundY(x, z)) {
+                    continue;
+                }
+                for (int cx = (x - SCAN_MARGIN) >> 4; cx <= (x + SCAN_MARGIN) >> 4; cx++) {
+                    for (int cz = (z - SCAN_MARGIN) >> 4; cz <= (z + SCAN_MARGIN) >> 4; cz++) {
+                        captureChunk(world, blocks, cx, cz, learnBiomes);
                     }
                 }
             }
         }
-        return false;
+    }
+    
+    /**
+     * Snapshot every loaded chunk within a radius of a block that the source does not have yet (main thread)
+     * Snapshots include the height map, so the checks never touch the world again. Chunks
+     * that are not loaded are left to the source's fallback, nothing is loaded here.
+     * The biome of every new chunk is recorded in the biome map while it is loaded.
+     */
+    private void captureChunks(World world, SnapshotBlockSource blocks, int centerX, int centerZ, int radius) {
+        boolean learnBiomes = plugin.getConfig().getBoolean("rtp.biome-filter.enabled", true);
+        for (int cx = (centerX - radius) >> 4; cx <= (centerX + radius) >> 4; cx++) {
+            for (int cz = (centerZ - radius) >> 4; cz <= (centerZ + radius) >> 4; cz++) {
+                captureChunk(world, blocks, cx, cz, learnBiomes);
+            }
+        }
+    }
+    
+    private void captureChunk(World world, SnapshotBlockSource blocks, int chunkX, int chunkZ, boolean learnBiomes) {
+        if (blocks.contains(chunkX << 4, chunkZ << 4) || !world.isChunkLoaded(chunkX, chunkZ)) {
+            return;
+        }
+        blocks.add(world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, false, false));
+        if (learnBiomes) {
+            biomeMap.sample(world, chunkX, chunkZ);
+        }
+    }
+    
+    /**
+     * Check that a stored destination can still be used (main thread, the callback runs on the main thread)
+     * The landing blocks of a loaded chunk are read right away. An unloaded chunk is read from
+     * its region file off the main thread, or loaded first when it cannot be read from disk
+     * (off the main thread with async chunks).
+     */
+    public void validate(World world, Location destination, Consumer<Boolean> callback) {
+        int x = destination.getBlockX();
+        int z = destination.getBlockZ();
+        SearchSettings settings = SearchSettings.read(plugin, world);
+        if (isNearBase(world, x, z, settings.minDistanceFromBase())) {
+            callback.accept(false);
+            return;
+        }
+        if (world.isChunkLoaded(x >> 4, z >> 4) || !settings.readRegions()) {
+            validateLoaded(world, destination, settings, callback);
+            return;
+        }
+        
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Boolean valid = null;
+            try (RegionBlockSource blocks = new RegionBlockSource(world)) {
+                if (blocks.hasChunk(x >> 4, z >> 4)) {
+                    valid = isLandingSafe(blocks, destination, settings);
+                }
+            }
+            Boolean result = valid;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // Loaded meanwhile, the saved copy may be older than the chunk
+                if (result == null || world.isChunkLoaded(x >> 4, z >> 4)) {
+                    validateLoaded(world, destination, settings, callback);
+                } else {
+                    callback.accept(result);
+                }
+            });
+        });
+    }
+    
+    /**
+     * Check the landing blocks in the live world, loading the chunk if needed (main thread)
+     */
+    private void validateLoaded(World world, Location destination, SearchSettings settings, Consumer<Boolean> callback) {
+        int chunkX = destination.getBlockX() >> 4;
+        int chunkZ = destination.getBlockZ() >> 4;
+        if (world.isChunkLoaded(chunkX, chunkZ) || !plugin.getPlatform().hasAsyncChunks()) {
+            // Without async chunks the teleport loads this chunk right after anyway
+            callback.accept(isLandingSafe(BlockSource.of(world), destination, settings));
+            return;
+        }
+        plugin.getPlatform().getChunkAtAsync(world, chunkX, chunkZ).whenComplete((chunk, ex) ->
+            callback.accept(ex == null && isLandingSafe(BlockSource.of(world), destination, settings)));
+    }
+    
+    /**
+     * Check if a destination is still the safe landing spot of its column (any thread the source can be read on)
+     */
+    boolean isLandingSafe(BlockSource blocks, Location destination, SearchSettings settings) {
+        Location safe = findSafeYLevel(blocks, destination.getBlockX(), destination.getBlockZ(), settings);
+        return safe != null && safe.getBlockY() == destination.getBlockY();
+    }
+    
+    public RTPDestinationPool getPool() {
+        return pool;
+    }
+    
+    public RTPBiomeMap getBiomeMap() {
+        return biomeMap;
+    }
+    
+    public RTPSectorGrid getSectorGrid() {
+        return sectorGrid;
+    }
+    
+    public RTPScheduler getScheduler() {
+        return scheduler;
+    }
+    
+    public RTPTuner getTuner() {
+        return tuner;
+    }
+    
+    /**
+     * Shutdown the manager
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+        if (indexTask != null) {
+            indexTask.cancel();
+            indexTask = null;
+        }
+        pool.shutdown();
+        candidateExecutor.shutdownNow();
+        sectorGrid.shutdown();
+        tuner.shutdown();
+        teleporter.shutdown();
+    }
+    
+    /**
+     * Check if a location is near any detected base using WDP-BaseDet
+     * Any thread when the base index is available, otherwise main thread only
+     */
+    boolean isNearBase(World world, int x, int z, int minDistance) {
+        BaseDetIntegration baseDet = plugin.getBaseDetIntegration();
+        return baseDet != null && baseDet.isNearBase(world, x, z, minDistance);
+    }
+    
+    /**
+     * Whether base checks can run on the candidate threads
+     */
+    private boolean canCheckBasesOffThread() {
+        BaseDetIntegration baseDet = plugin.getBaseDetIntegration();
+        return baseDet == null || baseDet.canQueryOffThread();
     }
     
     /**
      * Find a safe landing spot near a tree
      */
-    private Location findSafeLandingNearTree(World world, Location treeLocation, int minDist, int maxDist) {
+    private Location findSafeLandingNearTree(BlockSource blocks, Location treeLocation, SearchSettings settings) {
+        int minDist = settings.minDistanceFromTree();
+        int maxDist = settings.maxDistanceFromTree();
         int treeX = treeLocation.getBlockX();
         int treeZ = treeLocation.getBlockZ();
+        Random random = ThreadLocalRandom.current();
         
         // Try multiple positions around the tree
         for (int attempt = 0; attempt < 20; attempt++) {
@@ -358,7 +731,7 @@ public class RTPManager {
             int x = (int) (treeX + Math.cos(angle) * distance);
             int z = (int) (treeZ + Math.sin(angle) * distance);
             
-            Location safeLoc = findSafeYLevel(world, x, z);
+            Location safeLoc = findSafeYLevel(blocks, x, z, settings);
             if (safeLoc != null) {
                 return safeLoc;
             }
@@ -370,59 +743,135 @@ public class RTPManager {
     /**
      * Find a safe Y level at the given X/Z coordinates
      */
-    private Location findSafeYLevel(World world, int x, int z) {
-        int minY = plugin.getConfig().getInt("rtp.safety.min-y", 63);
-        int maxY = plugin.getConfig().getInt("rtp.safety.max-y", 200);
-        boolean requireSolid = plugin.getConfig().getBoolean("rtp.safety.require-solid-ground", true);
-        boolean avoidLiquids = plugin.getConfig().getBoolean("rtp.safety.avoid-liquids", true);
-        
-        int highestY = world.getHighestBlockYAt(x, z);
+    private Location findSafeYLevel(BlockSource blocks, int x, int z, SearchSettings settings) {
+        int highestY = blocks.getHighestBlockYAt(x, z);
         
-        if (highestY < minY || highestY > maxY) {
+        if (highestY < settings.minY() || highestY > settings.maxY()) {
             return null;
         }
         
-        Block groundBlock = world.getBlockAt(x, highestY, z);
-        Block feetBlock = world.getBlockAt(x, highestY + 1, z);
-        Block headBlock = world.getBlockAt(x, highestY + 2, z);
+        int ground = blocks.getTraits(x, highestY, z);
+        int feet = blocks.getTraits(x, highestY + 1, z);
+        int head = blocks.getTraits(x, highestY + 2, z);
+        int any = ground | feet | head;
         
         // Check ground is solid
-        if (requireSolid && !groundBlock.getType().isSolid()) {
+        if (settings.requireSolid() && (ground & MaterialTraits.SOLID) == 0) {
             return null;
         }
         
-        // Check not standing in liquid or dangerous block
-        if (avoidLiquids) {
-            if (groundBlock.isLiquid() || feetBlock.isLiquid() || headBlock.isLiquid()) {
-                return null;
-            }
+        // Check not standing in liquid
+        if (settings.avoidLiquids() && (any & MaterialTraits.LIQUID) != 0) {
+            return null;
         }
         
         // Check for dangerous blocks
-        if (DANGEROUS_BLOCKS.contains(groundBlock.getType()) ||
-            DANGEROUS_BLOCKS.contains(feetBlock.getType()) ||
-            DANGEROUS_BLOCKS.contains(headBlock.getType())) {
+        if ((any & MaterialTraits.DANGEROUS) != 0) {
             return null;
         }
         
         // Check space for player (2 blocks high)
-        if (!feetBlock.isPassable() || !headBlock.isPassable()) {
+        if ((feet & head & MaterialTraits.PASSABLE) == 0) {
             return null;
         }
         
         // Check that player is not inside or on top of tree blocks (wood or leaves)
-        if (TREE_LOGS.contains(feetBlock.getType()) || TREE_LOGS.contains(headBlock.getType())) {
-            return null;
-        }
-        if (TREE_LEAVES.contains(feetBlock.getType()) || TREE_LEAVES.contains(headBlock.getType())) {
+        if (((feet | head) & (MaterialTraits.TREE_LOG | MaterialTraits.LEAVES)) != 0) {
             return null;
         }
         // Also check ground isn't leaves (would be standing on leaves)
-        if (TREE_LEAVES.contains(groundBlock.getType())) {
+        if ((ground & MaterialTraits.LEAVES) != 0) {
             return null;
         }
         
         // Return safe location (center of block, on top of ground)
-        return new Location(world, x + 0.5, highestY + 1, z + 0.5);
+        return new Location(blocks.getWorld(), x + 0.5, highestY + 1, z + 0.5);
+    }
+    
+    /**
+     * Outcome of one search
+     * @param location The destination, or null if no candidate worked
+     * @param attempts Candidates that were started
+     */
+    public record SearchResult(Location location, int attempts) {
+    }
+    
+    /**
+     * Search settings, read on the main thread before a search starts
+     */
+    public record SearchSettings(int minDistance, int maxDistance, int maxAttempts,
+                                 int minDistanceFromTree, int maxDistanceFromTree, int minDistanceFromBase,
+                                 double centerX, double centerZ, double borderSize,
+                                 int minY, int maxY, boolean requireSolid, boolean avoidLiquids,
+                                 int parallelCandidates, long deadlineMillis,
+                                 int candidateSamples, boolean biomeFilter, int forestWeight,
+                                 GeneratedChunks generatedChunks, int generatedWeight, boolean readRegions,
+                                 boolean spread, int spreadRings, int spreadSectors, int spreadSpacing, int spreadRecent,
+                                 boolean tuning, int tuningOptions, double tuningExploration,
+                                 int searchRadiusMin, int searchRadiusMax, int sampleStepMin, int sampleStepMax,
+                                 int maxAttemptsMin, int maxAttemptsMax) {
+        
+        public static SearchSettings read(WDPStartPlugin plugin, World world) {
+            int worldBorderBuffer = plugin.getConfig().getInt("rtp.world-border-buffer", 100);
+            WorldBorder border = world.getWorldBorder();
+            int searchRadiusMin = Math.max(4, plugin.getConfig().getInt("rtp.tuning.search-radius.min", 30));
+            int sampleStepMin = Math.max(1, plugin.getConfig().getInt("rtp.tuning.sample-step.min", 3));
+            int maxAttemptsMin = Math.max(1, plugin.getConfig().getInt("rtp.tuning.max-attempts.min", 20));
+            
+            return new SearchSettings(
+                plugin.getConfig().getInt("rtp.min-distance", 1000),
+                plugin.getConfig().getInt("rtp.max-distance", 5000),
+                plugin.getConfig().getInt("rtp.tree-search.max-attempts", 50),
+                plugin.getConfig().getInt("rtp.tree-search.min-distance-from-tree", 5),
+                plugin.getConfig().getInt("rtp.tree-search.max-distance-from-tree", 30),
+                plugin.getConfig().getInt("rtp.base-detection.min-distance-from-base", 200),
+                border.getCenter().getX(),
+                border.getCenter().getZ(),
+                border.getSize() / 2 - worldBorderBuffer,
+                plugin.getConfig().getInt("rtp.safety.min-y", 63),
+                plugin.getConfig().getInt("rtp.safety.max-y", 200),
+                plugin.getConfig().getBoolean("rtp.safety.require-solid-ground", true),
+                plugin.getConfig().getBoolean("rtp.safety.avoid-liquids", true),
+                Math.max(1, plugin.getConfig().getInt("rtp.search.parallel-candidates", 4)),
+                Math.max(1, plugin.getConfig().getInt("rtp.search.deadline", 20)) * 1000L,
+                Math.max(1, plugin.getConfig().getInt("rtp.search.samples", 8)),
+                plugin.getConfig().getBoolean("rtp.biome-filter.enabled", true),
+                Math.max(1, plugin.getConfig().getInt("rtp.biome-filter.forest-weight", 6)),
+                readGeneratedChunks(plugin),
+                Math.max(1, plugin.getConfig().getInt("rtp.generated-chunks.weight", 8)),
+                plugin.getConfig().getBoolean("rtp.generated-chunks.read-region-files", true),
+                plugin.getConfig().getBoolean("rtp.spread.enabled", true),
+                Math.max(1, plugin.getConfig().getInt("rtp.spread.rings", 4)),
+                Math.max(1, plugin.getConfig().getInt("rtp.spread.sectors", 16)),
+                Math.max(0, plugin.getConfig().getInt("rtp.spread.min-spacing", 128)),
+                Math.max(0, plugin.getConfig().getInt("rtp.spread.recent-destinations", 32)),
+                plugin.getConfig().getBoolean("rtp.tuning.enabled", true),
+                Math.max(1, plugin.getConfig().getInt("rtp.tuning.options", 4)),
+                Math.max(0, Math.min(1, plugin.getConfig().getDouble("rtp.tuning.exploration", 0.1))),
+                searchRadiusMin,
+                Math.max(searchRadiusMin, plugin.getConfig().getInt("rtp.tuning.search-radius.max", 90)),
+                sampleStepMin,
+                Math.max(sampleStepMin, plugin.getConfig().getInt("rtp.tuning.sample-step.max", 7)),
+                maxAttemptsMin,
+                Math.max(maxAttemptsMin, plugin.getConfig().getInt("rtp.tuning.max-attempts.max", 100)));
+        }
+        
+        static GeneratedChunks readGeneratedChunks(WDPStartPlugin plugin) {
+            String mode = plugin.getConfig().getString("rtp.generated-chunks.mode", "prefer");
+            try {
+                return GeneratedChunks.valueOf(mode.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return GeneratedChunks.PREFER;
+            }
+        }
+    }
+    
+    /**
+     * How candidates in chunks that do not exist yet are treated
+     */
+    public enum GeneratedChunks {
+        OFF,
+        PREFER,
+        ONLY
     }
 }
@@ -0,0 +1,239 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Queue for RTP searches of players
+ *
+ * Only a limited number of searches run at once, the rest wait in arrival order and see
+ * their place in line on the searching title. A request that waited longer than the
+ * configured time fails instead of starting, and a running search stops drawing new
+ * candidates once the request's deadline passes. Wait times, attempts and outcomes are
+ * counted for the debug output.
+ */
+public class RTPScheduler {
+
+    // Titles stay for 10 seconds
+    private static final long TITLE_REFRESH_MILLIS = 8000;
+
+    private final WDPStartPlugin plugin;
+    private final RTPManager rtpManager;
+    private final ArrayDeque<Request> queue = new ArrayDeque<>();
+    private int inFlight = 0;
+    private BukkitTask titleTask;
+    private volatile boolean shutdown = false;
+
+    // Stats for debug output
+    private long started = 0;
+    private long succeeded = 0;
+    private long failed = 0;
+    private long expired = 0;
+    private long totalWaitMillis = 0;
+    private long totalAttempts = 0;
+
+    public RTPScheduler(WDPStartPlugin plugin, RTPManager rtpManager) {
+        this.plugin = plugin;
+        this.rtpManager = rtpManager;
+        this.titleTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+    }
+
+    /**
+     * Queue a search for a player (main thread)
+     * @param callback Gets the destination, or null if none was found, on the main thread
+     */
+    public void submit(Player player, World world, RTPManager.SearchSettings settings, Consumer<Location> callback) {
+        long maxWait = Math.max(1, plugin.getConfig().getInt("rtp.scheduler.max-wait", 60)) * 1000L;
+        long now = System.currentTimeMillis();
+        Request request = new Request(player, world, settings, callback, now, now + maxWait);
+        queue.add(request);
+        pump();
+
+        if (queue.contains(request)) {
+            showPosition(request, queue.size());
+        }
+    }
+
+    /**
+     * Start queued requests while there are free slots (main thread)
+     */
+    private void pump() {
+        int limit = Math.max(1, plugin.getConfig().getInt("rtp.scheduler.max-concurrent", 2));
+        while (inFlight < limit && !queue.isEmpty() && !shutdown) {
+            Request request = queue.poll();
+            if (!request.player.isOnline()) {
+                request.callback.accept(null);
+                continue;
+            }
+            if (System.currentTimeMillis() > request.deadline) {
+                expire(request);
+                continue;
+            }
+            start(request);
+        }
+    }
+
+    private void start(Request request) {
+        inFlight++;
+        started++;
+        totalWaitMillis += System.currentTimeMillis() - request.queuedAt;
+        request.player.sendTitle(WDPStartPlugin.hex("&#FFFF55&lSearching..."), WDPStartPlugin.hex("&#AAAAAAFinding a safe spot for you"), 0, 200, 10);
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            RTPManager.SearchResult result = null;
+            try {
+                result = rtpManager.findDestination(request.world, request.settings,
+                    () -> !shutdown && request.player.isOnline() && System.currentTimeMillis() < request.deadline);
+            } finally {
+                RTPManager.SearchResult outcome = result;
+                if (!shutdown) {
+                    Bukkit.getScheduler().runTask(plugin, () -> finish(request, outcome));
+                }
+            }
+        });
+    }
+
+    private void finish(Request request, RTPManager.SearchResult result) {
+        inFlight--;
+        Location destination = result != null ? result.location() : null;
+        if (result != null) {
+            totalAttempts += result.attempts();
+        }
+        if (destination != null) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+
+        request.callback.accept(destination);
+        pump();
+    }
+
+    private void expire(Request request) {
+        expired++;
+        plugin.debug("[RTP] Request of " + request.player.getName() + " waited too long in the queue");
+        request.callback.accept(null);
+    }
+
+    /**
+     * Drop requests that waited too long and refresh the place in line on the titles
+     */
+    private void tick() {
+        long now = System.currentTimeMillis();
+        int position = 0;
+        Iterator<Request> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Request request = iterator.next();
+            if (!request.player.isOnline()) {
+                iterator.remove();
+                request.callback.accept(null);
+            } else if (now > request.deadline) {
+                iterator.remove();
+                expire(request);
+            } else {
+                // Keep the player blind while waiting, the effect from the portal runs out after 10 seconds
+                if (!request.player.hasPotionEffect(PotionEffectType.BLINDNESS)) {
+                    request.player.addPotionEffect(new PotionEffect(PotionEffectType.BLINDNESS, 200, 1, false, false, false));
+                }
+                showPosition(request, ++position);
+            }
+        }
+        pump();
+    }
+
+    private void showPosition(Request request, int position) {
+        long now = System.currentTimeMillis();
+        // Shown again before the title fades
+        if (position != request.shownPosition || now - request.shownAt > TITLE_REFRESH_MILLIS) {
+            request.shownPosition = position;
+            request.shownAt = now;
+            request.player.sendTitle(WDPStartPlugin.hex("&#FFFF55&lSearching..."),
+                WDPStartPlugin.hex("&#AAAAAAYou are &#FFFF55#" + position + " &#AAAAAAin line"), 0, 200, 10);
+        }
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getStarted() {
+        return started;
+    }
+
+    public long getExpired() {
+        return expired;
+    }
+
+    /**
+     * Average time started requests spent in the queue (milliseconds)
+     */
+    public long getAverageWaitMillis() {
+        return started > 0 ? totalWaitMillis / started : 0;
+    }
+
+    /**
+     * Average candidates per finished search
+     */
+    public double getAverageAttempts() {
+        long finished = succeeded + failed;
+        return finished > 0 ? (double) totalAttempts / finished : 0;
+    }
+
+    /**
+     * Share of finished searches that found a destination (0 to 1)
+     */
+    public double getSuccessRate() {
+        long finished = succeeded + failed;
+        return finished > 0 ? (double) succeeded / finished : 0;
+    }
+
+    /**
+     * Stop the queue, waiting players get no result
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (titleTask != null) {
+            titleTask.cancel();
+            titleTask = null;
+        }
+        queue.clear();
+    }
+
+    /**
+     * One player's search request
+     */
+    private static class Request {
+        final Player player;
+        final World world;
+        final RTPManager.SearchSettings settings;
+        final Consumer<Location> callback;
+        final long queuedAt;
+        final long deadline;
+        int shownPosition = 0;
+        long shownAt = 0;
+
+        Request(Player player, World world, RTPManager.SearchSettings settings, Consumer<Location> callback,
+                long queuedAt, long deadline) {
+            this.player = player;
+            this.world = world;
+            this.settings = settings;
+            this.callback = callback;
+            this.queuedAt = queuedAt;
+            this.deadline = deadline;
+        }
+    }
+}
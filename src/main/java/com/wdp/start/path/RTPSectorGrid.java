@@ -0,0 +1,304 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spreads RTP candidates over the search ring and remembers how each part of it went
+ *
+ * The ring between the min and max distance is split into bands of equal area, and each
+ * band into angular sectors. Every candidate is drawn from one sector, picked by how often
+ * candidates there worked (rejected sectors fall behind, sectors never tried get a fair
+ * chance) and by how many recent players landed there. Recent destinations also keep new
+ * ones at a minimum spacing. The counts survive restarts in rtp-sectors.yml.
+ */
+public class RTPSectorGrid {
+
+    // Autosave interval when something changed (ticks)
+    private static final long SAVE_INTERVAL = 6000L;
+
+    private final WDPStartPlugin plugin;
+    private final File file;
+    private final Map<String, WorldSectors> worlds = new ConcurrentHashMap<>();
+    private BukkitTask saveTask;
+    private volatile boolean dirty = false;
+
+    public RTPSectorGrid(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "rtp-sectors.yml");
+        load();
+        this.saveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            if (dirty) {
+                save();
+            }
+        }, SAVE_INTERVAL, SAVE_INTERVAL);
+    }
+
+    /**
+     * Draw a point from a sector picked by its record (any thread)
+     * @return The block X, block Z and sector index
+     */
+    public int[] samplePoint(String world, RTPManager.SearchSettings settings, Random random) {
+        WorldSectors sectors = getSectors(world, settings);
+        int sector = sectors.pickSector(random);
+        int band = sector / settings.spreadSectors();
+        int slice = sector % settings.spreadSectors();
+
+        // Uniform over the sector's area, bands have equal area so the radius is drawn on r squared
+        double minSquared = (double) settings.minDistance() * settings.minDistance();
+        double areaPerBand = ((double) settings.maxDistance() * settings.maxDistance() - minSquared) / settings.spreadRings();
+        double radius = Math.sqrt(minSquared + areaPerBand * (band + random.nextDouble()));
+        double angle = (slice + random.nextDouble()) * 2 * Math.PI / settings.spreadSectors();
+
+        int x = (int) (settings.centerX() + Math.cos(angle) * radius);
+        int z = (int) (settings.centerZ() + Math.sin(angle) * radius);
+        return new int[] {x, z, sector};
+    }
+
+    /**
+     * Check that a point keeps the minimum spacing to recent destinations (any thread)
+     */
+    public boolean isSpaced(String world, int x, int z, int spacing) {
+        WorldSectors sectors = worlds.get(world);
+        return sectors == null || sectors.isSpaced(x, z, spacing);
+    }
+
+    /**
+     * Count a finished candidate check for its sector (any thread)
+     */
+    public void recordResult(String world, RTPManager.SearchSettings settings, int sector, boolean success) {
+        getSectors(world, settings).record(sector, success);
+        dirty = true;
+    }
+
+    /**
+     * Remember a destination that was found, for spacing and crowding (any thread)
+     */
+    public void recordDestination(String world, RTPManager.SearchSettings settings, int x, int z) {
+        getSectors(world, settings).addDestination(x, z, sectorOf(settings, x, z), settings.spreadRecent());
+        dirty = true;
+    }
+
+    /**
+     * Sectors with at least one finished check, and the total number of sectors
+     */
+    public int[] getExplored(String world) {
+        WorldSectors sectors = worlds.get(world);
+        return sectors != null ? sectors.getExplored() : new int[] {0, 0};
+    }
+
+    private WorldSectors getSectors(String world, RTPManager.SearchSettings settings) {
+        String layout = layoutOf(settings);
+        WorldSectors sectors = worlds.get(world);
+        if (sectors == null || !sectors.layout.equals(layout)) {
+            // New world, or the ring or sector settings changed and the old counts no longer fit
+            sectors = worlds.compute(world, (name, old) -> old != null && old.layout.equals(layout) ? old :
+                new WorldSectors(layout, settings.spreadRings() * settings.spreadSectors()));
+        }
+        return sectors;
+    }
+
+    private static String layoutOf(RTPManager.SearchSettings settings) {
+        return settings.spreadRings() + "x" + settings.spreadSectors() + "@" + settings.minDistance() + "-" +
+               settings.maxDistance() + "/" + (int) settings.centerX() + "," + (int) settings.centerZ();
+    }
+
+    /**
+     * Sector index of a point, or -1 if it lies outside the ring
+     */
+    private static int sectorOf(RTPManager.SearchSettings settings, int x, int z) {
+        double dx = x - settings.centerX();
+        double dz = z - settings.centerZ();
+        double minSquared = (double) settings.minDistance() * settings.minDistance();
+        double areaPerBand = ((double) settings.maxDistance() * settings.maxDistance() - minSquared) / settings.spreadRings();
+        int band = (int) Math.floor((dx * dx + dz * dz - minSquared) / areaPerBand);
+        if (band < 0 || band >= settings.spreadRings()) {
+            return -1;
+        }
+        double angle = Math.atan2(dz, dx);
+        if (angle < 0) {
+            angle += 2 * Math.PI;
+        }
+        int slice = Math.min(settings.spreadSectors() - 1, (int) (angle / (2 * Math.PI) * settings.spreadSectors()));
+        return band * settings.spreadSectors() + slice;
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration data = YamlConfiguration.loadConfiguration(file);
+        for (String world : data.getKeys(false)) {
+            ConfigurationSection section = data.getConfigurationSection(world);
+            if (section == null) {
+                continue;
+            }
+            List<Integer> attempts = section.getIntegerList("attempts");
+            List<Integer> successes = section.getIntegerList("successes");
+            if (attempts.isEmpty() || attempts.size() != successes.size()) {
+                continue;
+            }
+
+            WorldSectors sectors = new WorldSectors(section.getString("layout", ""), attempts.size());
+            for (int i = 0; i < attempts.size(); i++) {
+                sectors.attempts[i] = attempts.get(i);
+                sectors.successes[i] = successes.get(i);
+            }
+            for (String entry : section.getStringList("recent")) {
+                String[] parts = entry.split(",");
+                if (parts.length == 3) {
+                    try {
+                        sectors.recent.add(new int[] {Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])});
+                    } catch (NumberFormatException ignored) {
+                        // Skip broken entries
+                    }
+                }
+            }
+            worlds.put(world, sectors);
+        }
+        plugin.debug("[RTP] Loaded sector records for " + worlds.size() + " worlds");
+    }
+
+    /**
+     * Write the records to rtp-sectors.yml (any thread)
+     */
+    public synchronized void save() {
+        dirty = false;
+        YamlConfiguration data = new YamlConfiguration();
+        for (Map.Entry<String, WorldSectors> entry : worlds.entrySet()) {
+            entry.getValue().writeTo(data.createSection(entry.getKey()));
+        }
+        try {
+            data.save(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("[RTP] Could not save sector records: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop autosaving and write the records one last time
+     */
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        if (dirty) {
+            save();
+        }
+    }
+
+    /**
+     * Counts and recent destinations of one world, guarded by its own lock
+     */
+    private static class WorldSectors {
+        // Sectors with fewer finished checks than this count as unexplored
+        private static final int EXPLORE_CHECKS = 3;
+
+        final String layout;
+        final int[] attempts;
+        final int[] successes;
+        final ArrayDeque<int[]> recent = new ArrayDeque<>(); // x, z, sector
+
+        WorldSectors(String layout, int count) {
+            this.layout = layout;
+            this.attempts = new int[count];
+            this.successes = new int[count];
+        }
+
+        synchronized int pickSector(Random random) {
+            int[] crowding = new int[attempts.length];
+            for (int[] destination : recent) {
+                if (destination[2] >= 0 && destination[2] < crowding.length) {
+                    crowding[destination[2]]++;
+                }
+            }
+
+            double[] weights = new double[attempts.length];
+            double total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                // Success rate with one success and one failure assumed up front, unexplored sectors count as good
+                double rate = attempts[i] < EXPLORE_CHECKS ? 1.0 : (successes[i] + 1.0) / (attempts[i] + 2.0);
+                weights[i] = rate / (1 + crowding[i]);
+                total += weights[i];
+            }
+
+            double pick = random.nextDouble() * total;
+            for (int i = 0; i < weights.length; i++) {
+                pick -= weights[i];
+                if (pick < 0) {
+                    return i;
+                }
+            }
+            return weights.length - 1;
+        }
+
+        synchronized boolean isSpaced(int x, int z, int spacing) {
+            long spacingSquared = (long) spacing * spacing;
+            for (int[] destination : recent) {
+                long dx = x - destination[0];
+                long dz = z - destination[1];
+                if (dx * dx + dz * dz < spacingSquared) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void record(int sector, boolean success) {
+            if (sector < 0 || sector >= attempts.length) {
+                return;
+            }
+            attempts[sector]++;
+            if (success) {
+                successes[sector]++;
+            }
+        }
+
+        synchronized void addDestination(int x, int z, int sector, int keep) {
+            recent.add(new int[] {x, z, sector});
+            while (recent.size() > keep) {
+                recent.poll();
+            }
+        }
+
+        synchronized int[] getExplored() {
+            int explored = 0;
+            for (int count : attempts) {
+                if (count > 0) {
+                    explored++;
+                }
+            }
+            return new int[] {explored, attempts.length};
+        }
+
+        synchronized void writeTo(ConfigurationSection section) {
+            List<Integer> attemptList = new ArrayList<>();
+            List<Integer> successList = new ArrayList<>();
+            for (int i = 0; i < attempts.length; i++) {
+                attemptList.add(attempts[i]);
+                successList.add(successes[i]);
+            }
+            List<String> recentList = new ArrayList<>();
+            for (int[] destination : recent) {
+                recentList.add(destination[0] + "," + destination[1] + "," + destination[2]);
+            }
+            section.set("layout", layout);
+            section.set("attempts", attemptList);
+            section.set("successes", successList);
+            section.set("recent", recentList);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import com.wdp.start.integration.PlatformCapabilities;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Moves players to RTP destinations with the chunks around them ready
+ *
+ * The chunks around a destination get a plugin chunk ticket before the player arrives, so
+ * they are loaded when the player looks around, and the tickets are dropped a few seconds
+ * after arrival. With async chunks (Paper) the chunks load off the main thread and only
+ * the destination chunk is waited for; otherwise they are loaded a few per tick, destination
+ * first, so the warm-up never stalls a single tick. A world holds one plugin ticket per
+ * chunk, so tickets are counted per chunk and only removed when no warm-up needs it anymore.
+ */
+class RTPTeleporter {
+
+    private final WDPStartPlugin plugin;
+    private final Set<Warmup> warmups = new HashSet<>();
+    private final Map<TicketChunk, Integer> tickets = new HashMap<>();
+
+    RTPTeleporter(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Warm up the destination and teleport the player (can be called from any thread)
+     */
+    void teleport(Player player, World world, Location destination, CompletableFuture<Boolean> future) {
+        onMainThread(() -> warmUp(player, world, destination, future));
+    }
+
+    private void warmUp(Player player, World world, Location destination, CompletableFuture<Boolean> future) {
+        int radius = Math.max(0, plugin.getConfig().getInt("rtp.teleport.warmup-radius", 1));
+        List<int[]> chunks = chunksAround(destination, radius);
+        Warmup warmup = new Warmup(world);
+        warmups.add(warmup);
+
+        PlatformCapabilities platform = plugin.getPlatform();
+        if (platform.hasAsyncChunks()) {
+            CompletableFuture<?> destinationLoad = null;
+            for (int[] chunk : chunks) {
+                CompletableFuture<?> load = platform.getChunkAtAsync(world, chunk[0], chunk[1])
+                    .thenRun(() -> onMainThread(() -> warmup.addTicket(chunk[0], chunk[1])));
+                if (destinationLoad == null) {
+                    destinationLoad = load;
+                }
+            }
+            // Neighbours keep loading while the player arrives
+            destinationLoad.whenComplete((ignored, ex) -> onMainThread(() -> arrive(player, world, destination, future, warmup)));
+            return;
+        }
+
+        int perTick = Math.max(1, plugin.getConfig().getInt("rtp.teleport.chunks-per-tick", 2));
+        new BukkitRunnable() {
+            private int next = 0;
+
+            @Override
+            public void run() {
+                for (int i = 0; i < perTick && next < chunks.size() && player.isOnline(); i++, next++) {
+                    int[] chunk = chunks.get(next);
+                    world.getChunkAt(chunk[0], chunk[1]);
+                    warmup.addTicket(chunk[0], chunk[1]);
+                }
+                if (next >= chunks.size() || !player.isOnline()) {
+                    cancel();
+                    arrive(player, world, destination, future, warmup);
+                }
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+
+    /**
+     * Chunks within a radius of the destination chunk, the destination chunk first
+     */
+    private static List<int[]> chunksAround(Location destination, int radius) {
+        int centerX = destination.getBlockX() >> 4;
+        int centerZ = destination.getBlockZ() >> 4;
+        List<int[]> chunks = new ArrayList<>();
+        chunks.add(new int[] {centerX, centerZ});
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (dx != 0 || dz != 0) {
+                    chunks.add(new int[] {centerX + dx, centerZ + dz});
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Teleport once the destination chunk is loaded (main thread)
+     */
+    private void arrive(Player player, World world, Location destination, CompletableFuture<Boolean> future, Warmup warmup) {
+        if (!player.isOnline()) {
+            player.removePotionEffect(PotionEffectType.BLINDNESS);
+            release(warmup);
+            future.complete(false);
+            return;
+        }
+
+        PlatformCapabilities platform = plugin.getPlatform();
+        if (platform.hasAsyncTeleport()) {
+            platform.teleportAsync(player, destination).whenComplete((teleported, ex) ->
+                onMainThread(() -> finish(player, world, destination, future, teleported != null && teleported, warmup)));
+        } else {
+            finish(player, world, destination, future, player.teleport(destination), warmup);
+        }
+    }
+
+    /**
+     * Show the arrival effects and schedule the ticket release (main thread)
+     */
+    private void finish(Player player, World world, Location destination, CompletableFuture<Boolean> future,
+                        boolean teleported, Warmup warmup) {
+        long ticketTicks = Math.max(0, plugin.getConfig().getInt("rtp.teleport.ticket-duration", 5)) * 20L;
+        Bukkit.getScheduler().runTaskLater(plugin, () -> release(warmup), ticketTicks);
+
+        // Remove blindness and show success - clean chat with objective
+        player.removePotionEffect(PotionEffectType.BLINDNESS);
+        if (!teleported) {
+            plugin.getLogger().warning("[RTP] Teleport of " + player.getName() + " was cancelled");
+            future.complete(false);
+            return;
+        }
+
+        // Clear chat for clean objective display
+        for (int i = 0; i < 20; i++) player.sendMessage("");
+
+        // Show clean objective title (no subtitle when chat is closed)
+        player.sendTitle(WDPStartPlugin.hex("&#55FF55&l✦ NEXT OBJECTIVE ✦"), "", 10, 80, 20);
+
+        if (plugin.getConfigManager().isSoundsEnabled()) {
+            player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+            player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f);
+        }
+        world.spawnParticle(Particle.TOTEM_OF_UNDYING, destination, 50, 1, 1, 1, 0.1);
+        plugin.getLogger().info("[RTP] " + player.getName() + " teleported to " + String.format("(%.1f, %.1f, %.1f)", destination.getX(), destination.getY(), destination.getZ()));
+        future.complete(true);
+    }
+
+    private void release(Warmup warmup) {
+        if (warmups.remove(warmup)) {
+            warmup.release();
+        }
+    }
+
+    /**
+     * Hold a chunk loaded, adding the plugin ticket for its first holder (main thread)
+     */
+    void holdChunk(World world, int chunkX, int chunkZ) {
+        if (tickets.merge(new TicketChunk(world, chunkX, chunkZ), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        }
+    }
+
+    /**
+     * Let go of a held chunk, removing the plugin ticket when it was the last holder (main thread)
+     */
+    void releaseChunk(World world, int chunkX, int chunkZ) {
+        TicketChunk chunk = new TicketChunk(world, chunkX, chunkZ);
+        Integer holders = tickets.get(chunk);
+        if (holders == null) {
+            return;
+        }
+        if (holders > 1) {
+            tickets.put(chunk, holders - 1);
+        } else {
+            tickets.remove(chunk);
+            world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+        }
+    }
+
+    private void onMainThread(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+
+    /**
+     * Drop every chunk ticket still held
+     */
+    void shutdown() {
+        for (Warmup warmup : warmups) {
+            warmup.release();
+        }
+        warmups.clear();
+        for (TicketChunk chunk : tickets.keySet()) {
+            chunk.world().removePluginChunkTicket(chunk.x(), chunk.z(), plugin);
+        }
+        tickets.clear();
+    }
+
+    /**
+     * Chunk tickets held for one teleport, no new ones are added once released
+     */
+    private class Warmup {
+        final World world;
+        final List<int[]> held = new ArrayList<>();
+        boolean released = false;
+
+        Warmup(World world) {
+            this.world = world;
+        }
+
+        void addTicket(int chunkX, int chunkZ) {
+            if (!released) {
+                holdChunk(world, chunkX, chunkZ);
+                held.add(new int[] {chunkX, chunkZ});
+            }
+        }
+
+        void release() {
+            released = true;
+            for (int[] chunk : held) {
+                releaseChunk(world, chunk[0], chunk[1]);
+            }
+            held.clear();
+        }
+    }
+
+    /**
+     * Chunk with a plugin ticket
+     */
+    private record TicketChunk(World world, int x, int z) {
+    }
+}
@@ -0,0 +1,310 @@
+package com.wdp.start.path;
+
+import com.wdp.start.WDPStartPlugin;
+import com.wdp.start.world.TreeScanner;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tunes the RTP search from how candidates went before
+ *
+ * Every candidate is checked with a tree search radius and a column sample step picked
+ * from a few values between the configured bounds. Each value keeps its checks, successes
+ * and check time, and the value finding the most destinations per second of checking is
+ * picked most of the time; the others are still tried now and then. A value's record is
+ * halved whenever it reaches {@link #MAX_CHECKS} checks, so old checks weigh less and less
+ * and the choice follows the world as it changes. The overall success rate of candidates
+ * sets how many attempts a search gets. The records survive restarts in rtp-tuning.yml.
+ */
+public class RTPTuner {
+
+    // Autosave interval when something changed (ticks)
+    private static final long SAVE_INTERVAL = 6000L;
+
+    // Values with fewer checks than this are tried before any is preferred
+    private static final int EXPLORE_CHECKS = 10;
+
+    // A value's record is halved when it reaches this many checks
+    private static final int MAX_CHECKS = 500;
+
+    // Checks needed before the attempt count is tuned
+    private static final int ATTEMPT_CHECKS = 100;
+
+    // Searches should find a destination this often
+    private static final double TARGET_SUCCESS = 0.95;
+
+    private final WDPStartPlugin plugin;
+    private final File file;
+    private final Map<String, WorldStats> worlds = new ConcurrentHashMap<>();
+    private BukkitTask saveTask;
+    private volatile boolean dirty = false;
+
+    public RTPTuner(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "rtp-tuning.yml");
+        load();
+        this.saveTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            if (dirty) {
+                save();
+            }
+        }, SAVE_INTERVAL, SAVE_INTERVAL);
+    }
+
+    /**
+     * Pick the tree search radius and sample step for one candidate (any thread)
+     * @return The radius and the step
+     */
+    public int[] pick(String world, RTPManager.SearchSettings settings, Random random) {
+        if (!settings.tuning()) {
+            return new int[] {settings.maxDistanceFromTree() * 2, TreeScanner.SAMPLE_STEP};
+        }
+        WorldStats stats = getStats(world);
+        int radius = stats.radius.pick(options(settings.searchRadiusMin(), settings.searchRadiusMax(), settings.tuningOptions()),
+            settings.tuningExploration(), random);
+        int step = stats.step.pick(options(settings.sampleStepMin(), settings.sampleStepMax(), settings.tuningOptions()),
+            settings.tuningExploration(), random);
+        return new int[] {radius, step};
+    }
+
+    /**
+     * Count a finished candidate check for the values it used (any thread)
+     */
+    public void record(String world, int radius, int step, boolean success, long nanos) {
+        WorldStats stats = getStats(world);
+        stats.radius.record(radius, success, nanos);
+        stats.step.record(step, success, nanos);
+        dirty = true;
+    }
+
+    /**
+     * Attempts a search gets: enough that it finds a destination 95% of the time at the
+     * measured success rate, within the configured bounds
+     */
+    public int getMaxAttempts(String world, RTPManager.SearchSettings settings) {
+        if (!settings.tuning()) {
+            return settings.maxAttempts();
+        }
+        WorldStats stats = worlds.get(world);
+        long[] totals = stats != null ? stats.radius.getTotals() : new long[] {0, 0};
+        if (totals[0] < ATTEMPT_CHECKS) {
+            return settings.maxAttempts();
+        }
+
+        // Success rate with one success and one failure assumed up front
+        double rate = (totals[1] + 1.0) / (totals[0] + 2.0);
+        int needed = (int) Math.ceil(Math.log(1 - TARGET_SUCCESS) / Math.log(1 - rate));
+        return Math.max(settings.maxAttemptsMin(), Math.min(settings.maxAttemptsMax(), needed));
+    }
+
+    /**
+     * Lines describing the tuned values of a world, for the admin command
+     */
+    public List<String> describe(String world, RTPManager.SearchSettings settings) {
+        List<String> lines = new ArrayList<>();
+        WorldStats stats = worlds.get(world);
+        if (stats == null) {
+            lines.add("§7No candidates checked yet");
+            return lines;
+        }
+        lines.add("§7Tree search radius: §f" + stats.radius.getBest(options(settings.searchRadiusMin(),
+            settings.searchRadiusMax(), settings.tuningOptions())) + " §7blocks");
+        stats.radius.describe(lines);
+        lines.add("§7Sample step: §f" + stats.step.getBest(options(settings.sampleStepMin(),
+            settings.sampleStepMax(), settings.tuningOptions())) + " §7blocks");
+        stats.step.describe(lines);
+        long[] totals = stats.radius.getTotals();
+        lines.add("§7Max attempts: §f" + getMaxAttempts(world, settings) + " §7(" + totals[1] + "/" + totals[0] +
+            " candidates found a spot)");
+        return lines;
+    }
+
+    /**
+     * Evenly spread whole values between two bounds, both included
+     */
+    static int[] options(int min, int max, int count) {
+        if (max <= min || count <= 1) {
+            return new int[] {min};
+        }
+        count = Math.min(count, max - min + 1);
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = min + (int) Math.round((double) (max - min) * i / (count - 1));
+        }
+        return values;
+    }
+
+    private WorldStats getStats(String world) {
+        return worlds.computeIfAbsent(world, name -> new WorldStats());
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration data = YamlConfiguration.loadConfiguration(file);
+        for (String world : data.getKeys(false)) {
+            ConfigurationSection section = data.getConfigurationSection(world);
+            if (section == null) {
+                continue;
+            }
+            WorldStats stats = new WorldStats();
+            stats.radius.readFrom(section.getConfigurationSection("radius"));
+            stats.step.readFrom(section.getConfigurationSection("step"));
+            worlds.put(world, stats);
+        }
+        plugin.debug("[RTP] Loaded tuning records for " + worlds.size() + " worlds");
+    }
+
+    /**
+     * Write the records to rtp-tuning.yml (any thread)
+     */
+    public synchronized void save() {
+        dirty = false;
+        YamlConfiguration data = new YamlConfiguration();
+        for (Map.Entry<String, WorldStats> entry : worlds.entrySet()) {
+            ConfigurationSection section = data.createSection(entry.getKey());
+            entry.getValue().radius.writeTo(section.createSection("radius"));
+            entry.getValue().step.writeTo(section.createSection("step"));
+        }
+        try {
+            data.save(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("[RTP] Could not save tuning records: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop autosaving and write the records one last time
+     */
+    public void shutdown() {
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        if (dirty) {
+            save();
+        }
+    }
+
+    /**
+     * Records of one world
+     */
+    private static class WorldStats {
+        final ParameterStats radius = new ParameterStats();
+        final ParameterStats step = new ParameterStats();
+    }
+
+    /**
+     * Checks, successes and check time per value of one parameter, guarded by its own lock
+     */
+    private static class ParameterStats {
+        // value -> checks, successes, nanos
+        private final Map<Integer, long[]> values = new TreeMap<>();
+
+        synchronized int pick(int[] options, double exploration, Random random) {
+            // Values not tried enough yet come first
+            for (int option : options) {
+                long[] stats = values.get(option);
+                if (stats == null || stats[0] < EXPLORE_CHECKS) {
+                    return option;
+                }
+            }
+            if (random.nextDouble() < exploration) {
+                return options[random.nextInt(options.length)];
+            }
+            return getBest(options);
+        }
+
+        synchronized int getBest(int[] options) {
+            int best = options[0];
+            double bestScore = -1;
+            for (int option : options) {
+                double score = score(values.get(option));
+                if (score > bestScore) {
+                    best = option;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Destinations per second of checking, with one success and one failure assumed up front
+         */
+        private static double score(long[] stats) {
+            if (stats == null || stats[0] == 0) {
+                return 0;
+            }
+            double rate = (stats[1] + 1.0) / (stats[0] + 2.0);
+            double seconds = Math.max(1e-3, stats[2] / 1e9 / stats[0]);
+            return rate / seconds;
+        }
+
+        synchronized void record(int value, boolean success, long nanos) {
+            long[] stats = values.computeIfAbsent(value, key -> new long[3]);
+            stats[0]++;
+            if (success) {
+                stats[1]++;
+            }
+            stats[2] += nanos;
+            if (stats[0] >= MAX_CHECKS) {
+                stats[0] /= 2;
+                stats[1] /= 2;
+                stats[2] /= 2;
+            }
+        }
+
+        synchronized long[] getTotals() {
+            long checks = 0;
+            long successes = 0;
+            for (long[] stats : values.values()) {
+                checks += stats[0];
+                successes += stats[1];
+            }
+            return new long[] {checks, successes};
+        }
+
+        synchronized void describe(List<String> lines) {
+            for (Map.Entry<Integer, long[]> entry : values.entrySet()) {
+                long[] stats = entry.getValue();
+                lines.add("§8  " + entry.getKey() + ": §f" + stats[1] + "§7/§f" + stats[0] + " §7found, avg " +
+                    (stats[0] > 0 ? stats[2] / stats[0] / 1_000_000 : 0) + "ms");
+            }
+        }
+
+        synchronized void readFrom(ConfigurationSection section) {
+            if (section == null) {
+                return;
+            }
+            for (String key : section.getKeys(false)) {
+                List<Long> stats = section.getLongList(key);
+                if (stats.size() != 3) {
+                    continue;
+                }
+                try {
+                    values.put(Integer.parseInt(key), new long[] {stats.get(0), stats.get(1), stats.get(2)});
+                } catch (NumberFormatException ignored) {
+                    // Skip broken entries
+                }
+            }
+        }
+
+        synchronized void writeTo(ConfigurationSection section) {
+            for (Map.Entry<Integer, long[]> entry : values.entrySet()) {
+                long[] stats = entry.getValue();
+                section.set(String.valueOf(entry.getKey()), List.of(stats[0], stats[1], stats[2]));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.wdp.start.path;
+
+import org.bukkit.Location;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A path search that can be run in slices across several ticks
+ */
+public interface SlicedSearch {
+
+    /**
+     * Continue the search until it finishes or the deadline passes
+     * @param deadlineNanos {@link System#nanoTime()} value to stop at
+     * @return true if the search has finished and {@link #getResult()} is ready
+     */
+    boolean step(long deadlineNanos);
+
+    /**
+     * Get the found path (empty if no path was found or the search is not finished)
+     */
+    List<Location> getResult();
+
+    /**
+     * A search that is already finished with the given result
+     */
+    static SlicedSearch completed(List<Location> result) {
+        return new SlicedSearch() {
+            @Override
+            public boolean step(long deadlineNanos) {
+                return true;
+            }
+
+            @Override
+            public List<Location> getResult() {
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.wdp.start.world;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * Read access to blocks, independent of where they come from
+ *
+ * Pathfinding and RTP checks read blocks through this instead of {@link World} directly,
+ * so they can run against chunk snapshots off the main thread, against the baked nav grid,
+ * or against a synthetic voxel grid for benchmarks.
+ */
+public interface BlockSource {
+
+    /**
+     * Get the material of a block
+     */
+    Material getType(int x, int y, int z);
+
+    /**
+     * Get the {@link MaterialTraits} bits of a block
+     */
+    default int getTraits(int x, int y, int z) {
+        return MaterialTraits.of(getType(x, y, z));
+    }
+
+    /**
+     * Get the Y of the highest non-air block in a column
+     */
+    int getHighestBlockYAt(int x, int z);
+
+    /**
+     * Lowest block Y (inclusive)
+     */
+    int getMinHeight();
+
+    /**
+     * Highest block Y (exclusive)
+     */
+    int getMaxHeight();
+
+    /**
+     * World the blocks belong to, used for the locations built from them
+     * @return the world, or null for synthetic sources
+     */
+    World getWorld();
+
+    /**
+     * Block source for a live world (main thread only)
+     * Blocks inside the baked nav grid are read from the grid instead
+     */
+    static BlockSource of(World world) {
+        BlockSource live = new WorldBlockSource(world);
+        NavGrid grid = NavGrid.getActive();
+        if (grid != null && grid.getWorldName().equals(world.getName())) {
+            return new NavGridBlockSource(grid, live);
+        }
+        return live;
+    }
+}
@@ -0,0 +1,47 @@
+package com.wdp.start.world;
+
+/**
+ * Surface heights of block columns, with and without leaves
+ *
+ * A column where the two differ has leaves on top, which is how trees are found without
+ * reading every block of the column. Mirrors the MOTION_BLOCKING and
+ * MOTION_BLOCKING_NO_LEAVES height maps.
+ */
+public interface ColumnHeights {
+
+    /**
+     * Y of the highest block in a column, leaves included
+     */
+    int getCanopyY(int x, int z);
+
+    /**
+     * Y of the highest block in a column ignoring leaves (the ground, or the top of a trunk)
+     */
+    int getGroundY(int x, int z);
+
+    /**
+     * Heights worked out from blocks, for sources that have no height maps
+     * Reads down through passable blocks (and leaves, for the ground) from the top of the column
+     */
+    static ColumnHeights of(BlockSource blocks) {
+        return new ColumnHeights() {
+            @Override
+            public int getCanopyY(int x, int z) {
+                int y = blocks.getHighestBlockYAt(x, z);
+                while (y > blocks.getMinHeight() && (blocks.getTraits(x, y, z) & (MaterialTraits.LEAVES | MaterialTraits.PASSABLE)) == MaterialTraits.PASSABLE) {
+                    y--;
+                }
+                return y;
+            }
+
+            @Override
+            public int getGroundY(int x, int z) {
+                int y = blocks.getHighestBlockYAt(x, z);
+                while (y > blocks.getMinHeight() && (blocks.getTraits(x, y, z) & (MaterialTraits.LEAVES | MaterialTraits.PASSABLE)) != 0) {
+                    y--;
+                }
+                return y;
+            }
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.wdp.start.world;
+
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Which chunks of a world exist on disk, read from the region file headers
+ *
+ * Every region file (r.X.Z.mca) starts with a 4 KiB table of one 4-byte entry per chunk;
+ * a non-zero entry means the chunk was saved. Only that table is mapped, so a refresh
+ * reads 4 KiB per region file and skips files that did not change since the last one.
+ * Chunks generated since they were last saved are not seen until the server writes them.
+ * Refresh off the main thread; lookups are safe from any thread.
+ */
+public final class GeneratedChunkIndex {
+
+    private static final int HEADER_BYTES = 4096;
+    private static final int CHUNKS_PER_REGION = 1024;
+
+    private final Path regionFolder;
+
+    // Replaced as a whole on refresh, readers never see a half-built index
+    private volatile Map<Long, BitSet> regions = Map.of();
+    private volatile int chunkCount = 0;
+    private final Map<Long, Long> modified = new HashMap<>();
+    private final Map<Long, BitSet> scanned = new HashMap<>();
+
+    public GeneratedChunkIndex(Path regionFolder) {
+        this.regionFolder = regionFolder;
+    }
+
+    /**
+     * Index for the region folder of a world (overworld, nether or end layout)
+     */
+    public static GeneratedChunkIndex of(World world) {
+        return new GeneratedChunkIndex(RegionFileReader.regionFolder(world));
+    }
+
+    /**
+     * Read the headers of all region files that changed since the last refresh (off the main thread)
+     */
+    public synchronized void refresh() throws IOException {
+        if (!Files.isDirectory(regionFolder)) {
+            return;
+        }
+
+        Map<Long, BitSet> found = new HashMap<>();
+        Set<Long> present = new HashSet<>();
+        try (Stream<Path> files = Files.list(regionFolder)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                long key = parseRegionKey(file.getFileName().toString());
+                if (key == Long.MIN_VALUE) {
+                    continue;
+                }
+                present.add(key);
+
+                long lastModified = Files.getLastModifiedTime(file).toMillis();
+                BitSet chunks = scanned.get(key);
+                Long previous = modified.get(key);
+                if (chunks == null || previous == null || previous != lastModified) {
+                    chunks = readHeader(file);
+                    scanned.put(key, chunks);
+                    modified.put(key, lastModified);
+                }
+                if (!chunks.isEmpty()) {
+                    found.put(key, chunks);
+                }
+            }
+        }
+
+        // Forget deleted region files
+        scanned.keySet().retainAll(present);
+        modified.keySet().retainAll(present);
+
+        int count = 0;
+        for (BitSet chunks : found.values()) {
+            count += chunks.cardinality();
+        }
+        regions = found;
+        chunkCount = count;
+    }
+
+    /**
+     * Chunks with a location entry in the header of one region file
+     */
+    private static BitSet readHeader(Path file) throws IOException {
+        BitSet chunks = new BitSet(CHUNKS_PER_REGION);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return chunks; // Empty or truncated, no chunks written yet
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            for (int i = 0; i < CHUNKS_PER_REGION; i++) {
+                if (header.getInt(i * 4) != 0) {
+                    chunks.set(i);
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Region key from a file name like r.-3.12.mca, or Long.MIN_VALUE if it is not a region file
+     */
+    private static long parseRegionKey(String name) {
+        if (!name.startsWith("r.") || !name.endsWith(".mca")) {
+            return Long.MIN_VALUE;
+        }
+        String[] parts = name.split("\\.");
+        if (parts.length != 4) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return regionKey(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static long regionKey(int regionX, int regionZ) {
+        return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Whether anything was indexed yet, an empty index knows nothing about the world
+     */
+    public boolean isReady() {
+        return !regions.isEmpty();
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Check if a chunk exists on disk
+     */
+    public boolean isGenerated(int chunkX, int chunkZ) {
+        BitSet chunks = regions.get(regionKey(chunkX >> 5, chunkZ >> 5));
+        return chunks != null && chunks.get((chunkX & 31) + (chunkZ & 31) * 32);
+    }
+
+    /**
+     * Check if every chunk within a radius of a block exists on disk
+     */
+    public boolean isAreaGenerated(int centerX, int centerZ, int radius) {
+        for (int cx = (centerX - radius) >> 4; cx <= (centerX + radius) >> 4; cx++) {
+            for (int cz = (centerZ - radius) >> 4; cz <= (centerZ + radius) >> 4; cz++) {
+                if (!isGenerated(cx, cz)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
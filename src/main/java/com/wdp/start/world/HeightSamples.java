@@ -0,0 +1,106 @@
+package com.wdp.start.world;
+
+import org.bukkit.HeightMap;
+import org.bukkit.World;
+
+/**
+ * Column heights read from the world's height maps on a grid of sample columns
+ *
+ * Captured on the main thread (two height map lookups per sample, no block reads)
+ * and safe to read from any thread afterwards. Only loaded chunks are sampled, columns
+ * in other chunks are answered by a fallback (read on the thread asking). Columns off
+ * the grid read as the world's minimum height.
+ */
+public final class HeightSamples implements ColumnHeights {
+
+    // Marks a column whose chunk was not loaded
+    private static final int UNLOADED = Integer.MIN_VALUE;
+
+    private final int minX, minZ;
+    private final int step;
+    private final int size;
+    private final int minHeight;
+    private final int[] canopy;
+    private final int[] ground;
+    private final ColumnHeights unloaded;
+
+    private HeightSamples(int minX, int minZ, int step, int size, int minHeight, ColumnHeights unloaded) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.step = step;
+        this.size = size;
+        this.minHeight = minHeight;
+        this.canopy = new int[size * size];
+        this.ground = new int[size * size];
+        this.unloaded = unloaded;
+    }
+
+    /**
+     * Sample every step-th column within a radius of a center column (main thread)
+     * Never loads a chunk, columns in chunks that are not loaded are left to the fallback
+     * @param unloaded Heights of columns in chunks that are not loaded, or null to read them as the minimum height
+     */
+    public static HeightSamples capture(World world, int centerX, int centerZ, int radius, int step, ColumnHeights unloaded) {
+        int cells = radius / step;
+        HeightSamples samples = new HeightSamples(centerX - cells * step, centerZ - cells * step, step,
+            cells * 2 + 1, world.getMinHeight(), unloaded);
+
+        for (int i = 0; i < samples.size; i++) {
+            int x = samples.minX + i * step;
+            for (int j = 0; j < samples.size; j++) {
+                int z = samples.minZ + j * step;
+                int index = i * samples.size + j;
+                if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+                    samples.canopy[index] = UNLOADED;
+                    continue;
+                }
+                samples.canopy[index] = world.getHighestBlockYAt(x, z, HeightMap.MOTION_BLOCKING);
+                samples.ground[index] = world.getHighestBlockYAt(x, z, HeightMap.MOTION_BLOCKING_NO_LEAVES);
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public int getCanopyY(int x, int z) {
+        int index = index(x, z);
+        if (index < 0) {
+            return minHeight;
+        }
+        if (canopy[index] == UNLOADED) {
+            return unloaded != null ? unloaded.getCanopyY(x, z) : minHeight;
+        }
+        return canopy[index];
+    }
+
+    @Override
+    public int getGroundY(int x, int z) {
+        int index = index(x, z);
+        if (index < 0) {
+            return minHeight;
+        }
+        if (canopy[index] == UNLOADED) {
+            return unloaded != null ? unloaded.getGroundY(x, z) : minHeight;
+        }
+        return ground[index];
+    }
+
+    /**
+     * Check if a sampled column was in a loaded chunk
+     */
+    public boolean isLoaded(int x, int z) {
+        int index = index(x, z);
+        return index >= 0 && canopy[index] != UNLOADED;
+    }
+
+    private int index(int x, int z) {
+        int dx = x - minX;
+        int dz = z - minZ;
+        if (dx < 0 || dz < 0 || dx % step != 0 || dz % step != 0) {
+            return -1;
+        }
+        int i = dx / step;
+        int j = dz / step;
+        return i < size && j < size ? i * size + j : -1;
+    }
+}
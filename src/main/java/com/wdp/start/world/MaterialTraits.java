@@ -0,0 +1,231 @@
+package com.wdp.start.world;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared material classification table
+ *
+ * Every material gets a packed set of trait bits, indexed by {@link Material#ordinal()}.
+ * Pathfinding, RTP safety checks and quest block checks all read from this table,
+ * so a lookup is a single array access instead of a chain of comparisons or name scans.
+ *
+ * The defaults are built when the class loads. {@link #load(WDPStartPlugin)} rebuilds
+ * the table with the extra materials and block tags listed under {@code material-traits}.
+ * Without a running server (benchmarks) the table starts empty and is filled with
+ * {@link #loadDefaults()}, which only reads material data from the API.
+ */
+public final class MaterialTraits {
+
+    // Trait bits
+    public static final int PASSABLE = 1;
+    public static final int SOLID = 1 << 1;
+    public static final int DANGEROUS = 1 << 2;
+    public static final int LIQUID = 1 << 3;
+    public static final int TREE_LOG = 1 << 4;
+    public static final int LEAVES = 1 << 5;
+    public static final int STONE = 1 << 6;
+
+    private static final Material[] MATERIALS = Material.values();
+
+    // Swapped as a whole on reload so readers never see a half-built table
+    private static volatile byte[] table = Bukkit.getServer() != null ? buildDefaults() : new byte[MATERIALS.length];
+
+    private MaterialTraits() {
+    }
+
+    /**
+     * Rebuild the table from the defaults plus the configured additions
+     */
+    public static void load(WDPStartPlugin plugin) {
+        byte[] built = buildDefaults();
+
+        addEntries(plugin, built, "passable", PASSABLE);
+        addEntries(plugin, built, "dangerous", DANGEROUS);
+        addEntries(plugin, built, "tree-logs", TREE_LOG);
+        addEntries(plugin, built, "tree-leaves", LEAVES);
+        addEntries(plugin, built, "quest-stone", STONE);
+
+        // Configured passable entries do not override this
+        excludeUnsafePassable(built);
+
+        table = built;
+        plugin.debug("[MaterialTraits] Built trait table for " + MATERIALS.length + " materials");
+    }
+
+    /**
+     * Rebuild the table from the defaults only, without the configured additions
+     */
+    public static void loadDefaults() {
+        table = buildDefaults();
+    }
+
+    /**
+     * Replace the table with explicit traits, every material not listed gets none
+     * Used where the server's material data is not available
+     */
+    public static void load(Map<Material, Integer> traits) {
+        byte[] built = new byte[MATERIALS.length];
+        for (Map.Entry<Material, Integer> entry : traits.entrySet()) {
+            built[entry.getKey().ordinal()] = entry.getValue().byteValue();
+        }
+        table = built;
+    }
+
+    /**
+     * Get the packed trait bits of a material
+     */
+    public static int of(Material mat) {
+        return table[mat.ordinal()];
+    }
+
+    /**
+     * Check if a material has all of the given trait bits
+     */
+    public static boolean has(Material mat, int traits) {
+        return (table[mat.ordinal()] & traits) == traits;
+    }
+
+    public static boolean isPassable(Material mat) {
+        return (table[mat.ordinal()] & PASSABLE) != 0;
+    }
+
+    public static boolean isSolid(Material mat) {
+        return (table[mat.ordinal()] & SOLID) != 0;
+    }
+
+    public static boolean isDangerous(Material mat) {
+        return (table[mat.ordinal()] & DANGEROUS) != 0;
+    }
+
+    public static boolean isLiquid(Material mat) {
+        return (table[mat.ordinal()] & LIQUID) != 0;
+    }
+
+    public static boolean isTreeLog(Material mat) {
+        return (table[mat.ordinal()] & TREE_LOG) != 0;
+    }
+
+    public static boolean isLeaves(Material mat) {
+        return (table[mat.ordinal()] & LEAVES) != 0;
+    }
+
+    public static boolean isStone(Material mat) {
+        return (table[mat.ordinal()] & STONE) != 0;
+    }
+
+    /**
+     * Hash of the current table, changes whenever any material's traits change
+     * Used to tell if data derived from the table (the baked nav grid) is out of date
+     */
+    public static long fingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        for (byte traits : table) {
+            hash = (hash ^ (traits & 0xFF)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Build the default table
+     * Name scans are fine here since they only run once per material
+     */
+    private static byte[] buildDefaults() {
+        byte[] built = new byte[MATERIALS.length];
+
+        for (Material mat : MATERIALS) {
+            if (mat.isLegacy() || !mat.isBlock()) {
+                continue;
+            }
+
+            String name = mat.name();
+            int traits = 0;
+
+            if (mat.isSolid()) {
+                traits |= SOLID;
+            }
+
+            if (mat == Material.WATER || mat == Material.LAVA) {
+                traits |= LIQUID;
+            }
+
+            // Everything without a collision box can be stood in (flowers, saplings, vines, ...),
+            // plus the thin blocks players walk over, and signs and banners, which have no
+            // collision box but count as solid. Dangerous blocks and cobwebs never count.
+            if (!mat.isSolid() ||
+                mat == Material.SNOW ||
+                name.contains("CARPET") ||
+                name.contains("PRESSURE_PLATE") ||
+                name.endsWith("_SIGN") ||
+                name.endsWith("_BANNER")) {
+                traits |= PASSABLE;
+            }
+
+            traits |= switch (mat) {
+                case LAVA, FIRE, SOUL_FIRE, CAMPFIRE, SOUL_CAMPFIRE, MAGMA_BLOCK,
+                     CACTUS, SWEET_BERRY_BUSH, WITHER_ROSE, POINTED_DRIPSTONE,
+                     POWDER_SNOW -> DANGEROUS;
+                case OAK_LOG, BIRCH_LOG, SPRUCE_LOG, JUNGLE_LOG, ACACIA_LOG,
+                     DARK_OAK_LOG, MANGROVE_LOG, CHERRY_LOG -> TREE_LOG;
+                case OAK_LEAVES, BIRCH_LEAVES, SPRUCE_LEAVES, JUNGLE_LEAVES,
+                     ACACIA_LEAVES, DARK_OAK_LEAVES, MANGROVE_LEAVES, CHERRY_LEAVES,
+                     AZALEA_LEAVES, FLOWERING_AZALEA_LEAVES -> LEAVES;
+                case STONE, COBBLESTONE, DEEPSLATE, COBBLED_DEEPSLATE, ANDESITE,
+                     DIORITE, GRANITE, SMOOTH_STONE, STONE_BRICKS, INFESTED_STONE -> STONE;
+                default -> 0;
+            };
+
+            built[mat.ordinal()] = (byte) traits;
+        }
+
+        excludeUnsafePassable(built);
+        return built;
+    }
+
+    /**
+     * Clear PASSABLE from dangerous blocks and cobwebs, which paths and landing spots never go through
+     */
+    private static void excludeUnsafePassable(byte[] built) {
+        for (int i = 0; i < built.length; i++) {
+            if ((built[i] & DANGEROUS) != 0) {
+                built[i] &= ~PASSABLE;
+            }
+        }
+        built[Material.COBWEB.ordinal()] &= ~PASSABLE;
+    }
+
+    /**
+     * Add a trait to every material listed under material-traits.<key>
+     * Entries are material names or block tags prefixed with # (e.g. "#minecraft:flowers")
+     */
+    private static void addEntries(WDPStartPlugin plugin, byte[] built, String key, int trait) {
+        List<String> entries = plugin.getConfigManager().getMaterialTraitEntries(key);
+
+        for (String entry : entries) {
+            if (entry.startsWith("#")) {
+                NamespacedKey tagKey = NamespacedKey.fromString(entry.substring(1).toLowerCase());
+                Tag<Material> tag = tagKey != null ? Bukkit.getTag(Tag.REGISTRY_BLOCKS, tagKey, Material.class) : null;
+                if (tag == null) {
+                    plugin.getLogger().warning("[MaterialTraits] Unknown block tag in material-traits." + key + ": " + entry);
+                    continue;
+                }
+                for (Material mat : tag.getValues()) {
+                    built[mat.ordinal()] |= (byte) trait;
+                }
+            } else {
+                Material mat = Material.matchMaterial(entry);
+                if (mat == null) {
+                    plugin.getLogger().warning("[MaterialTraits] Unknown material in material-traits." + key + ": " + entry);
+                    continue;
+                }
+                built[mat.ordinal()] |= (byte) trait;
+            }
+        }
+    }
+}
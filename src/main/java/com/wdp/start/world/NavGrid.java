@@ -0,0 +1,441 @@
+package com.wdp.start.world;
+
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Baked walkability grid for a box of the world, memory-mapped from a file
+ *
+ * Holds the {@link MaterialTraits} bits of every block in the box, one byte per block,
+ * columns stored contiguously (Y innermost). Reads go to the mapped file instead of the
+ * world, so they are cheap. Reads and writes happen on the main thread; a closed grid
+ * is unmapped and no longer contains any block.
+ *
+ * Every chunk column of the grid keeps a hash of its trait bytes, so one chunk can be
+ * checked against the world without rebaking the rest. The content hash in the header
+ * is derived from the chunk hashes and kept up to date as blocks are written through.
+ *
+ * File layout: header (magic, version, definition hash, content hash, bounds, world name),
+ * the chunk hashes, then the trait bytes.
+ */
+public final class NavGrid {
+
+    private static final int MAGIC = 0x5744504E; // "WDPN"
+    private static final short VERSION = 2;
+
+    // Position of the content hash in the header
+    private static final int CONTENT_HASH_OFFSET = 14;
+
+    // Grid used by the pathfinders, null when none is loaded
+    private static volatile NavGrid active;
+
+    private final String worldName;
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final int minChunkX, minChunkZ;
+    private final int chunksX, chunksZ;
+    private final long definitionHash;
+    private long contentHash;
+    private final long[] chunkHashes;
+    private final boolean[] dirtyChunks;
+    private final MappedByteBuffer data;
+    private final int hashOffset;
+    private final int dataOffset;
+    private volatile boolean closed = false;
+
+    private NavGrid(String worldName, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ,
+                    long definitionHash, long contentHash, long[] chunkHashes,
+                    MappedByteBuffer data, int hashOffset, int dataOffset) {
+        this.worldName = worldName;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.minChunkX = minX >> 4;
+        this.minChunkZ = minZ >> 4;
+        this.chunksX = chunkCount(minX, sizeX);
+        this.chunksZ = chunkCount(minZ, sizeZ);
+        this.definitionHash = definitionHash;
+        this.contentHash = contentHash;
+        this.chunkHashes = chunkHashes;
+        this.dirtyChunks = new boolean[chunkHashes.length];
+        this.data = data;
+        this.hashOffset = hashOffset;
+        this.dataOffset = dataOffset;
+    }
+
+    /**
+     * Get the loaded grid, or null if there is none
+     */
+    public static NavGrid getActive() {
+        return active;
+    }
+
+    static void setActive(NavGrid grid) {
+        active = grid;
+    }
+
+    /**
+     * Map a baked grid file
+     * @throws IOException if the file cannot be read or is not a grid file
+     */
+    public static NavGrid open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+
+            if (buffer.remaining() < 48 || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a nav grid file: " + file.getFileName());
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported nav grid version " + version);
+            }
+
+            long definitionHash = buffer.getLong();
+            long contentHash = buffer.getLong();
+            int minX = buffer.getInt();
+            int minY = buffer.getInt();
+            int minZ = buffer.getInt();
+            int sizeX = buffer.getInt();
+            int sizeY = buffer.getInt();
+            int sizeZ = buffer.getInt();
+
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+
+            int hashOffset = buffer.position();
+            long[] chunkHashes = new long[chunkCount(minX, sizeX) * chunkCount(minZ, sizeZ)];
+            int dataOffset = hashOffset + chunkHashes.length * 8;
+            if (buffer.capacity() - (long) dataOffset != (long) sizeX * sizeY * sizeZ) {
+                throw new IOException("Nav grid file is truncated: " + file.getFileName());
+            }
+            for (int i = 0; i < chunkHashes.length; i++) {
+                chunkHashes[i] = buffer.getLong();
+            }
+
+            return new NavGrid(new String(name, StandardCharsets.UTF_8), minX, minY, minZ, sizeX, sizeY, sizeZ,
+                definitionHash, contentHash, chunkHashes, buffer, hashOffset, dataOffset);
+        }
+    }
+
+    /**
+     * Write a baked grid to a file. Bakes write to a temporary file and move it over the
+     * grid file once the old grid is closed, so a half-written grid is never mapped.
+     * @param chunkHashes Hashes from {@link #chunkHashes(byte[], int, int, int, int, int)}
+     * @param traits Trait bytes in grid order, see {@link #index(int, int, int, int, int)}
+     */
+    public static void write(Path file, String worldName, int minX, int minY, int minZ,
+                             int sizeX, int sizeY, int sizeZ,
+                             long definitionHash, long[] chunkHashes, byte[] traits) throws IOException {
+        byte[] name = worldName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(48 + name.length + chunkHashes.length * 8);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putLong(definitionHash);
+        header.putLong(contentHash(chunkHashes));
+        header.putInt(minX).putInt(minY).putInt(minZ);
+        header.putInt(sizeX).putInt(sizeY).putInt(sizeZ);
+        header.putShort((short) name.length);
+        header.put(name);
+        for (long hash : chunkHashes) {
+            header.putLong(hash);
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer body = ByteBuffer.wrap(traits);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Hash identifying what a grid was baked for (world, bounds and trait table)
+     */
+    public static long definitionHash(String worldName, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        long hash = MaterialTraits.fingerprint();
+        for (byte b : worldName.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+        }
+        for (int value : new int[]{minX, minY, minZ, sizeX, sizeY, sizeZ}) {
+            hash = (hash ^ value) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Hash of every chunk column's trait bytes, in the order {@link #getChunkHash(int, int)} uses
+     * @param traits Trait bytes in grid order
+     */
+    public static long[] chunkHashes(byte[] traits, int minX, int minZ, int sizeX, int sizeY, int sizeZ) {
+        int chunksX = chunkCount(minX, sizeX);
+        int chunksZ = chunkCount(minZ, sizeZ);
+        long[] hashes = new long[chunksX * chunksZ];
+        for (int i = 0; i < hashes.length; i++) {
+            int[] range = chunkRange((minX >> 4) + i / chunksZ, (minZ >> 4) + i % chunksZ, minX, minZ, sizeX, sizeZ);
+            hashes[i] = hashRange(traits, 0, range, sizeY, sizeZ);
+        }
+        return hashes;
+    }
+
+    /**
+     * Hash of the part of a chunk column inside a grid
+     * @param traits Trait bytes of that part, in grid order for a grid of the part's size
+     */
+    public static long chunkHash(byte[] traits, int cx, int cz, int minX, int minZ, int sizeX, int sizeY, int sizeZ) {
+        int[] range = chunkRange(cx, cz, minX, minZ, sizeX, sizeZ);
+        int partZ = range[3] - range[2];
+        return hashRange(traits, 0, new int[]{0, range[1] - range[0], 0, partZ}, sizeY, partZ);
+    }
+
+    /**
+     * Hash of a whole grid from its chunk hashes
+     */
+    public static long contentHash(long[] chunkHashes) {
+        long hash = 0xcbf29ce484222325L;
+        for (long chunk : chunkHashes) {
+            hash = (hash ^ chunk) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Grid-relative X and Z range (start inclusive, end exclusive) covered by a chunk
+     * @return fromDx, toDx, fromDz, toDz
+     */
+    public static int[] chunkRange(int cx, int cz, int minX, int minZ, int sizeX, int sizeZ) {
+        return new int[]{
+            Math.max(0, (cx << 4) - minX), Math.min(sizeX, (cx << 4) + 16 - minX),
+            Math.max(0, (cz << 4) - minZ), Math.min(sizeZ, (cz << 4) + 16 - minZ)
+        };
+    }
+
+    private static long hashRange(byte[] traits, int offset, int[] range, int sizeY, int sizeZ) {
+        long hash = 0xcbf29ce484222325L;
+        for (int dx = range[0]; dx < range[1]; dx++) {
+            for (int dz = range[2]; dz < range[3]; dz++) {
+                int base = offset + index(sizeY, sizeZ, dx, 0, dz);
+                for (int dy = 0; dy < sizeY; dy++) {
+                    hash = (hash ^ (traits[base + dy] & 0xFF)) * 0x100000001b3L;
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static int chunkCount(int min, int size) {
+        return ((min + size - 1) >> 4) - (min >> 4) + 1;
+    }
+
+    /**
+     * Position of a block in the trait bytes, relative to the grid corner
+     */
+    public static int index(int sizeY, int sizeZ, int dx, int dy, int dz) {
+        return (dx * sizeZ + dz) * sizeY + dy;
+    }
+
+    private int index(int x, int y, int z) {
+        return index(sizeY, sizeZ, x - minX, y - minY, z - minZ);
+    }
+
+    /**
+     * Check if the grid holds every block of a column range
+     */
+    public boolean contains(World world, int x, int fromY, int toY, int z) {
+        return !closed && x >= minX && x < minX + sizeX && z >= minZ && z < minZ + sizeZ &&
+               fromY >= minY && toY < minY + sizeY &&
+               world.getName().equals(worldName);
+    }
+
+    /**
+     * Check if the grid holds a block (the world is not checked)
+     */
+    public boolean contains(int x, int y, int z) {
+        return !closed && x >= minX && x < minX + sizeX && z >= minZ && z < minZ + sizeZ &&
+               y >= minY && y < minY + sizeY;
+    }
+
+    /**
+     * Get the trait bits of a block inside the grid
+     */
+    public int getTraits(int x, int y, int z) {
+        return data.get(dataOffset + index(x, y, z)) & 0xFF;
+    }
+
+    /**
+     * Update the trait bits of a block inside the grid (written through to the file)
+     * The hashes follow on the next {@link #updateHashes()}.
+     */
+    public void setTraits(int x, int y, int z, int traits) {
+        if (closed) {
+            return;
+        }
+        int index = dataOffset + index(x, y, z);
+        if (data.get(index) != (byte) traits) {
+            data.put(index, (byte) traits);
+            dirtyChunks[chunkIndex(x >> 4, z >> 4)] = true;
+        }
+    }
+
+    /**
+     * Replace the trait bytes of one chunk column, e.g. after it was found to differ from the world
+     * @param traits Trait bytes of the chunk's part of the grid, see {@link #chunkHash}
+     */
+    public void setChunk(int cx, int cz, byte[] traits) {
+        if (closed) {
+            return;
+        }
+        int[] range = chunkRange(cx, cz, minX, minZ, sizeX, sizeZ);
+        int partZ = range[3] - range[2];
+        for (int dx = range[0]; dx < range[1]; dx++) {
+            for (int dz = range[2]; dz < range[3]; dz++) {
+                data.put(dataOffset + index(sizeY, sizeZ, dx, 0, dz), traits,
+                    index(sizeY, partZ, dx - range[0], 0, dz - range[2]), sizeY);
+            }
+        }
+        dirtyChunks[chunkIndex(cx, cz)] = true;
+    }
+
+    /**
+     * Rehash the chunks written since the last call and update the header to match
+     */
+    public void updateHashes() {
+        if (closed) {
+            return;
+        }
+        boolean changed = false;
+        for (int i = 0; i < dirtyChunks.length; i++) {
+            if (!dirtyChunks[i]) {
+                continue;
+            }
+            dirtyChunks[i] = false;
+            int[] range = chunkRange(minChunkX + i / chunksZ, minChunkZ + i % chunksZ, minX, minZ, sizeX, sizeZ);
+            byte[] column = new byte[sizeY];
+            long hash = 0xcbf29ce484222325L;
+            for (int dx = range[0]; dx < range[1]; dx++) {
+                for (int dz = range[2]; dz < range[3]; dz++) {
+                    data.get(dataOffset + index(sizeY, sizeZ, dx, 0, dz), column);
+                    for (byte b : column) {
+                        hash = (hash ^ (b & 0xFF)) * 0x100000001b3L;
+                    }
+                }
+            }
+            chunkHashes[i] = hash;
+            data.putLong(hashOffset + i * 8, hash);
+            changed = true;
+        }
+        if (changed) {
+            contentHash = contentHash(chunkHashes);
+            data.putLong(CONTENT_HASH_OFFSET, contentHash);
+        }
+    }
+
+    /**
+     * Check if a chunk column overlaps the grid
+     */
+    public boolean containsChunk(int cx, int cz) {
+        return !closed && cx >= minChunkX && cx < minChunkX + chunksX && cz >= minChunkZ && cz < minChunkZ + chunksZ;
+    }
+
+    /**
+     * Hash of a chunk column's trait bytes, as baked or last updated
+     */
+    public long getChunkHash(int cx, int cz) {
+        return chunkHashes[chunkIndex(cx, cz)];
+    }
+
+    private int chunkIndex(int cx, int cz) {
+        return (cx - minChunkX) * chunksZ + (cz - minChunkZ);
+    }
+
+    /**
+     * Flush and unmap the grid (main thread)
+     * The file can be replaced afterwards; the grid no longer contains any block.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (active == this) {
+            active = null;
+        }
+        data.force();
+        unmap(data);
+    }
+
+    /**
+     * Release a mapping right away instead of waiting for the garbage collector, which
+     * would keep the file locked on Windows
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(field.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Left to the garbage collector
+        }
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public long getDefinitionHash() {
+        return definitionHash;
+    }
+
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Number of blocks in the grid
+     */
+    public long getVolume() {
+        return (long) sizeX * sizeY * sizeZ;
+    }
+}
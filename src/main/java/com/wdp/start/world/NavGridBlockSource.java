@@ -0,0 +1,57 @@
+package com.wdp.start.world;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * Block source that reads traits from the baked nav grid where it has them
+ *
+ * Trait lookups inside the grid never touch the world; everything else
+ * (materials, heights, blocks outside the grid) goes to the fallback source.
+ */
+public class NavGridBlockSource implements BlockSource {
+
+    private final NavGrid grid;
+    private final BlockSource fallback;
+
+    /**
+     * @param grid Grid baked for the fallback's world
+     */
+    public NavGridBlockSource(NavGrid grid, BlockSource fallback) {
+        this.grid = grid;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public int getTraits(int x, int y, int z) {
+        if (grid.contains(x, y, z)) {
+            return grid.getTraits(x, y, z);
+        }
+        return fallback.getTraits(x, y, z);
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        return fallback.getType(x, y, z);
+    }
+
+    @Override
+    public int getHighestBlockYAt(int x, int z) {
+        return fallback.getHighestBlockYAt(x, z);
+    }
+
+    @Override
+    public int getMinHeight() {
+        return fallback.getMinHeight();
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return fallback.getMaxHeight();
+    }
+
+    @Override
+    public World getWorld() {
+        return fallback.getWorld();
+    }
+}
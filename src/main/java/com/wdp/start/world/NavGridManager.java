@@ -0,0 +1,426 @@
+package com.wdp.start.world;
+
+import com.wdp.start.WDPStartPlugin;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Bakes and loads the spawn navigation grid
+ *
+ * The region around the Quest 1 target is captured as chunk snapshots over a few ticks,
+ * converted to trait bytes off the main thread and written to a file in the plugin folder.
+ * On startup the file is mapped again if it was baked for the same region and trait table,
+ * otherwise the region is baked again on its own. Blocks changed inside the region are
+ * written through to the mapped grid.
+ *
+ * Changes the grid never heard of (edits while the server was down, tools that bypass
+ * block events) are caught per chunk: every chunk of the region that is loaded, at startup
+ * or later, is hashed off the main thread and compared with the chunk's hash in the grid.
+ * A chunk that differs is rebaked into the grid.
+ */
+public class NavGridManager {
+
+    private final WDPStartPlugin plugin;
+    private final Path file;
+    private BukkitTask captureTask;
+    private boolean baking = false;
+
+    // Blocks changed this tick, written to the grid on the next tick once the change has happened
+    private final Set<Block> pendingUpdates = new HashSet<>();
+    private BukkitTask updateTask;
+
+    // Loaded chunks waiting to be compared with the grid, captured a few per tick
+    private final Set<Long> pendingChecks = new LinkedHashSet<>();
+    private BukkitTask checkTask;
+
+    public NavGridManager(WDPStartPlugin plugin) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve("navgrid.bin");
+        load();
+    }
+
+    /**
+     * Map the baked grid, rebaking it if it does not match the configured region
+     */
+    public void load() {
+        load(true);
+    }
+
+    /**
+     * @param rebake Start a bake when the file is out of date or unreadable
+     */
+    private void load(boolean rebake) {
+        unload();
+
+        if (!plugin.getConfigManager().isNavGridEnabled() || !Files.exists(file)) {
+            return;
+        }
+
+        Region region = getRegion();
+        if (region == null) {
+            return;
+        }
+
+        try {
+            NavGrid grid = NavGrid.open(file);
+            if (grid.getDefinitionHash() != region.definitionHash()) {
+                grid.close();
+                plugin.getLogger().info("[NavGrid] Baked grid is out of date (region or materials changed)" +
+                    (rebake ? ", rebaking" : ""));
+                if (rebake) {
+                    bake(Bukkit.getConsoleSender(), true);
+                }
+                return;
+            }
+            NavGrid.setActive(grid);
+            plugin.debug("[NavGrid] Loaded " + grid.getVolume() + " blocks from " + file.getFileName());
+            checkLoadedChunks(grid, region.world);
+        } catch (IOException e) {
+            plugin.getLogger().warning("[NavGrid] Could not load " + file.getFileName() + ": " + e.getMessage() +
+                (rebake ? ", rebaking" : ""));
+            if (rebake) {
+                bake(Bukkit.getConsoleSender(), true);
+            }
+        }
+    }
+
+    /**
+     * Close the mapped grid so its file can be replaced
+     */
+    private void unload() {
+        NavGrid grid = NavGrid.getActive();
+        if (grid != null) {
+            grid.close();
+        }
+        NavGrid.setActive(null);
+        pendingChecks.clear();
+    }
+
+    /**
+     * Bake the configured region
+     * @param force Write the file even if nothing changed since the last bake
+     */
+    public void bake(CommandSender sender, boolean force) {
+        if (baking) {
+            sender.sendMessage("§cA nav grid bake is already running.");
+            return;
+        }
+
+        Region region = getRegion();
+        if (region == null) {
+            sender.sendMessage("§cNav grid region is not available (check particle-path.target).");
+            return;
+        }
+
+        int minChunkX = region.minX >> 4;
+        int minChunkZ = region.minZ >> 4;
+        int chunksX = ((region.minX + region.sizeX - 1) >> 4) - minChunkX + 1;
+        int chunksZ = ((region.minZ + region.sizeZ - 1) >> 4) - minChunkZ + 1;
+        int totalChunks = chunksX * chunksZ;
+        int perTick = plugin.getConfigManager().getNavGridChunksPerTick();
+
+        ChunkSnapshot[] snapshots = new ChunkSnapshot[totalChunks];
+        baking = true;
+        sender.sendMessage("§7Capturing §f" + totalChunks + "§7 chunks for the nav grid...");
+
+        // Snapshots must be taken on the main thread, spread them over a few ticks
+        captureTask = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+            private int next = 0;
+
+            @Override
+            public void run() {
+                for (int i = 0; i < perTick && next < totalChunks; i++, next++) {
+                    int chunkX = minChunkX + next / chunksZ;
+                    int chunkZ = minChunkZ + next % chunksZ;
+                    snapshots[next] = region.world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+                }
+
+                if (next >= totalChunks) {
+                    captureTask.cancel();
+                    captureTask = null;
+                    Bukkit.getScheduler().runTaskAsynchronously(plugin,
+                        () -> writeGrid(sender, region, snapshots, minChunkX, minChunkZ, chunksZ, force));
+                }
+            }
+        }, 1L, 1L);
+    }
+
+    /**
+     * Convert the snapshots to trait bytes and write the file (async)
+     */
+    private void writeGrid(CommandSender sender, Region region, ChunkSnapshot[] snapshots,
+                           int minChunkX, int minChunkZ, int chunksZ, boolean force) {
+        long start = System.currentTimeMillis();
+        byte[] traits = new byte[region.sizeX * region.sizeY * region.sizeZ];
+
+        for (int dx = 0; dx < region.sizeX; dx++) {
+            int x = region.minX + dx;
+            for (int dz = 0; dz < region.sizeZ; dz++) {
+                int z = region.minZ + dz;
+                ChunkSnapshot snapshot = snapshots[((x >> 4) - minChunkX) * chunksZ + ((z >> 4) - minChunkZ)];
+                int base = NavGrid.index(region.sizeY, region.sizeZ, dx, 0, dz);
+
+                for (int dy = 0; dy < region.sizeY; dy++) {
+                    traits[base + dy] = (byte) MaterialTraits.of(snapshot.getBlockType(x & 15, region.minY + dy, z & 15));
+                }
+            }
+        }
+
+        long[] chunkHashes = NavGrid.chunkHashes(traits, region.minX, region.minZ, region.sizeX, region.sizeY, region.sizeZ);
+        long contentHash = NavGrid.contentHash(chunkHashes);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        String result;
+        boolean written = false;
+
+        NavGrid current = NavGrid.getActive();
+        if (!force && current != null && current.getDefinitionHash() == region.definitionHash() &&
+            current.getContentHash() == contentHash) {
+            result = "§aNav grid is up to date, nothing to rewrite.";
+        } else {
+            try {
+                Files.createDirectories(file.getParent());
+                NavGrid.write(temp, region.world.getName(), region.minX, region.minY, region.minZ,
+                    region.sizeX, region.sizeY, region.sizeZ, region.definitionHash(), chunkHashes, traits);
+                written = true;
+                result = "§aBaked nav grid: §f" + traits.length + "§a blocks in §f" +
+                    (System.currentTimeMillis() - start) + "ms";
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "[NavGrid] Could not write " + file.getFileName(), e);
+                result = "§cCould not write the nav grid file, see console.";
+            }
+        }
+
+        boolean replace = written;
+        String message = result;
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            baking = false;
+            if (replace) {
+                // The old mapping must be gone before its file is replaced
+                unload();
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "[NavGrid] Could not replace " + file.getFileName(), e);
+                }
+                load(false);
+            }
+            sender.sendMessage(message);
+        });
+    }
+
+    // ==================== CHUNK CHECKS ====================
+
+    /**
+     * Called when a chunk loads, a chunk of the grid is compared with it
+     */
+    public void onChunkLoad(Chunk chunk) {
+        NavGrid grid = NavGrid.getActive();
+        if (grid != null && grid.containsChunk(chunk.getX(), chunk.getZ())
+                && chunk.getWorld().getName().equals(grid.getWorldName())) {
+            queueCheck(chunk.getX(), chunk.getZ());
+        }
+    }
+
+    private void checkLoadedChunks(NavGrid grid, World world) {
+        for (int cx = grid.getMinX() >> 4; cx <= (grid.getMinX() + grid.getSizeX() - 1) >> 4; cx++) {
+            for (int cz = grid.getMinZ() >> 4; cz <= (grid.getMinZ() + grid.getSizeZ() - 1) >> 4; cz++) {
+                if (world.isChunkLoaded(cx, cz)) {
+                    queueCheck(cx, cz);
+                }
+            }
+        }
+    }
+
+    private void queueCheck(int cx, int cz) {
+        pendingChecks.add(((long) cx << 32) | (cz & 0xFFFFFFFFL));
+        if (checkTask == null) {
+            checkTask = Bukkit.getScheduler().runTaskTimer(plugin, this::captureChecks, 1L, 1L);
+        }
+    }
+
+    /**
+     * Snapshot a few queued chunks and compare them off the main thread
+     */
+    private void captureChecks() {
+        NavGrid grid = NavGrid.getActive();
+        World world = grid != null ? Bukkit.getWorld(grid.getWorldName()) : null;
+        if (world == null || baking) {
+            pendingChecks.clear(); // A bake replaces the whole grid anyway
+            checkTask.cancel();
+            checkTask = null;
+            return;
+        }
+
+        List<ChunkSnapshot> snapshots = new ArrayList<>();
+        int perTick = plugin.getConfigManager().getNavGridChunksPerTick();
+        Iterator<Long> iterator = pendingChecks.iterator();
+        while (iterator.hasNext() && snapshots.size() < perTick) {
+            long key = iterator.next();
+            iterator.remove();
+            int cx = (int) (key >> 32);
+            int cz = (int) key;
+            if (grid.containsChunk(cx, cz) && world.isChunkLoaded(cx, cz)) {
+                snapshots.add(world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false));
+            }
+        }
+
+        if (pendingChecks.isEmpty()) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+        if (!snapshots.isEmpty()) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> checkChunks(grid, snapshots));
+        }
+    }
+
+    /**
+     * Hash the grid's part of each snapshot and rebake the chunks that differ (async)
+     */
+    private void checkChunks(NavGrid grid, List<ChunkSnapshot> snapshots) {
+        List<ChunkSnapshot> changed = new ArrayList<>();
+        List<byte[]> changedTraits = new ArrayList<>();
+
+        for (ChunkSnapshot snapshot : snapshots) {
+            byte[] traits = captureChunk(grid, snapshot);
+            long hash = NavGrid.chunkHash(traits, snapshot.getX(), snapshot.getZ(),
+                grid.getMinX(), grid.getMinZ(), grid.getSizeX(), grid.getSizeY(), grid.getSizeZ());
+            if (hash != grid.getChunkHash(snapshot.getX(), snapshot.getZ())) {
+                changed.add(snapshot);
+                changedTraits.add(traits);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (NavGrid.getActive() != grid) {
+                return; // Replaced or unloaded meanwhile
+            }
+            for (int i = 0; i < changed.size(); i++) {
+                grid.setChunk(changed.get(i).getX(), changed.get(i).getZ(), changedTraits.get(i));
+            }
+            grid.updateHashes();
+            plugin.debug("[NavGrid] Rebaked " + changed.size() + " chunks that changed since the bake");
+        });
+    }
+
+    /**
+     * Trait bytes of the grid's part of a chunk, in grid order for a grid of the part's size
+     */
+    private static byte[] captureChunk(NavGrid grid, ChunkSnapshot snapshot) {
+        int[] range = NavGrid.chunkRange(snapshot.getX(), snapshot.getZ(),
+            grid.getMinX(), grid.getMinZ(), grid.getSizeX(), grid.getSizeZ());
+        int partX = range[1] - range[0];
+        int partZ = range[3] - range[2];
+        int sizeY = grid.getSizeY();
+        byte[] traits = new byte[partX * sizeY * partZ];
+
+        for (int dx = 0; dx < partX; dx++) {
+            int x = grid.getMinX() + range[0] + dx;
+            for (int dz = 0; dz < partZ; dz++) {
+                int z = grid.getMinZ() + range[2] + dz;
+                int base = NavGrid.index(sizeY, partZ, dx, 0, dz);
+                for (int dy = 0; dy < sizeY; dy++) {
+                    traits[base + dy] = (byte) MaterialTraits.of(snapshot.getBlockType(x & 15, grid.getMinY() + dy, z & 15));
+                }
+            }
+        }
+        return traits;
+    }
+
+    /**
+     * Called when a block changes, the grid is updated on the next tick
+     */
+    public void onBlockChange(Block block) {
+        NavGrid grid = NavGrid.getActive();
+        if (grid == null || !grid.contains(block.getWorld(), block.getX(), block.getY(), block.getY(), block.getZ())) {
+            return;
+        }
+
+        pendingUpdates.add(block);
+        if (updateTask == null) {
+            updateTask = Bukkit.getScheduler().runTask(plugin, this::flushUpdates);
+        }
+    }
+
+    private void flushUpdates() {
+        updateTask = null;
+        NavGrid grid = NavGrid.getActive();
+
+        if (grid != null) {
+            for (Block block : pendingUpdates) {
+                grid.setTraits(block.getX(), block.getY(), block.getZ(), MaterialTraits.of(block.getType()));
+            }
+            grid.updateHashes();
+        }
+        pendingUpdates.clear();
+    }
+
+    /**
+     * Get the configured region, clamped to the world height
+     */
+    private Region getRegion() {
+        Location target = plugin.getConfigManager().getPathTarget();
+        if (target == null || target.getWorld() == null) {
+            return null;
+        }
+
+        World world = target.getWorld();
+        int radius = plugin.getConfigManager().getNavGridRadius();
+        int vertical = plugin.getConfigManager().getNavGridVerticalRange();
+
+        int minY = Math.max(world.getMinHeight(), target.getBlockY() - vertical);
+        int maxY = Math.min(world.getMaxHeight() - 1, target.getBlockY() + vertical);
+
+        return new Region(world, target.getBlockX() - radius, minY, target.getBlockZ() - radius,
+            radius * 2 + 1, maxY - minY + 1, radius * 2 + 1);
+    }
+
+    public boolean isBaking() {
+        return baking;
+    }
+
+    /**
+     * Stop a running capture and unload the grid
+     */
+    public void shutdown() {
+        if (captureTask != null) {
+            captureTask.cancel();
+            captureTask = null;
+        }
+        if (updateTask != null) {
+            updateTask.cancel();
+            flushUpdates();
+        }
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+        unload();
+    }
+
+    private record Region(World world, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        long definitionHash() {
+            return NavGrid.definitionHash(world.getName(), minX, minY, minZ, sizeX, sizeY, sizeZ);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.wdp.start.world;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal read-only NBT parser for chunk data
+ *
+ * Compounds become maps, lists become lists, numbers are boxed and arrays stay arrays
+ * (byte[], int[], long[]). Only used for the few chunk fields RTP reads, so there is no
+ * writing and no typed tag classes.
+ */
+public final class NbtReader {
+
+    private static final int TAG_END = 0;
+    private static final int TAG_BYTE = 1;
+    private static final int TAG_SHORT = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_BYTE_ARRAY = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_COMPOUND = 10;
+    private static final int TAG_INT_ARRAY = 11;
+    private static final int TAG_LONG_ARRAY = 12;
+
+    // Chunk data nests a few levels deep, anything far deeper is corrupt
+    private static final int MAX_DEPTH = 64;
+
+    private NbtReader() {
+    }
+
+    /**
+     * Read a named root compound
+     */
+    public static Map<String, Object> read(DataInput in) throws IOException {
+        int type = in.readUnsignedByte();
+        if (type != TAG_COMPOUND) {
+            throw new IOException("Root tag is not a compound: " + type);
+        }
+        in.readUTF(); // Root name, empty for chunks
+        return readCompound(in, 0);
+    }
+
+    private static Map<String, Object> readCompound(DataInput in, int depth) throws IOException {
+        Map<String, Object> compound = new HashMap<>();
+        while (true) {
+            int type = in.readUnsignedByte();
+            if (type == TAG_END) {
+                return compound;
+            }
+            String name = in.readUTF();
+            compound.put(name, readPayload(in, type, depth + 1));
+        }
+    }
+
+    private static Object readPayload(DataInput in, int type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT nested too deep");
+        }
+        return switch (type) {
+            case TAG_BYTE -> in.readByte();
+            case TAG_SHORT -> in.readShort();
+            case TAG_INT -> in.readInt();
+            case TAG_LONG -> in.readLong();
+            case TAG_FLOAT -> in.readFloat();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_BYTE_ARRAY -> {
+                byte[] array = new byte[readLength(in)];
+                in.readFully(array);
+                yield array;
+            }
+            case TAG_STRING -> in.readUTF();
+            case TAG_LIST -> {
+                int elementType = in.readUnsignedByte();
+                int length = readLength(in);
+                List<Object> list = new ArrayList<>(Math.min(length, 1024));
+                for (int i = 0; i < length; i++) {
+                    list.add(readPayload(in, elementType, depth + 1));
+                }
+                yield list;
+            }
+            case TAG_COMPOUND -> readCompound(in, depth);
+            case TAG_INT_ARRAY -> {
+                int[] array = new int[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                yield array;
+            }
+            case TAG_LONG_ARRAY -> {
+                long[] array = new long[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                yield array;
+            }
+            default -> throw new IOException("Unknown NBT tag type: " + type);
+        };
+    }
+
+    private static int readLength(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT length: " + length);
+        }
+        return length;
+    }
+}
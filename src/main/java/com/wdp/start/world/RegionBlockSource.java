@@ -0,0 +1,159 @@
+package com.wdp.start.world;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Block source reading chunks straight from the region files, off the main thread
+ *
+ * Chunks are read and decoded the first time a block in them is asked for, the server
+ * never loads them. Height maps come from the saved chunk, so this is also its own
+ * {@link ColumnHeights}. Chunks that are missing, not fully generated or unreadable read
+ * as {@link Material#VOID_AIR}. Belongs to one thread; close it to release the files.
+ * Chunks loaded by the server can be newer than what is on disk, read those from snapshots.
+ */
+public class RegionBlockSource implements BlockSource, ColumnHeights, AutoCloseable {
+
+    private final World world;
+    private final int minHeight;
+    private final int maxHeight;
+    private final RegionFileReader reader;
+    private final Map<Long, RegionChunk> chunks = new HashMap<>(); // Null values for chunks that could not be read
+    private int failedReads = 0;
+
+    /**
+     * @param world World to read (heights are read here, on the calling thread)
+     */
+    public RegionBlockSource(World world) {
+        this.world = world;
+        this.minHeight = world.getMinHeight();
+        this.maxHeight = world.getMaxHeight();
+        this.reader = new RegionFileReader(RegionFileReader.regionFolder(world));
+    }
+
+    /**
+     * Check if a chunk could be read, reading it if that was not tried yet
+     */
+    public boolean hasChunk(int chunkX, int chunkZ) {
+        return getChunk(chunkX, chunkZ) != null;
+    }
+
+    private RegionChunk getChunk(int chunkX, int chunkZ) {
+        long key = chunkKey(chunkX, chunkZ);
+        if (chunks.containsKey(key)) {
+            return chunks.get(key);
+        }
+
+        RegionChunk chunk = null;
+        try {
+            Map<String, Object> nbt = reader.readChunk(chunkX, chunkZ);
+            if (nbt != null) {
+                chunk = RegionChunk.decode(nbt, minHeight, maxHeight);
+            }
+        } catch (Exception e) {
+            // Corrupt, or being written by the server right now
+            failedReads++;
+        }
+        chunks.put(key, chunk);
+        return chunk;
+    }
+
+    /**
+     * Keys of the chunks that were read so far, see {@link #chunkX(long)} and {@link #chunkZ(long)}
+     */
+    public Set<Long> getReadChunks() {
+        Set<Long> read = new HashSet<>();
+        for (Map.Entry<Long, RegionChunk> entry : chunks.entrySet()) {
+            if (entry.getValue() != null) {
+                read.add(entry.getKey());
+            }
+        }
+        return read;
+    }
+
+    public static int chunkX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int chunkZ(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Number of chunks that were in a region file but could not be read
+     */
+    public int getFailedReads() {
+        return failedReads;
+    }
+
+    /**
+     * Get the key of the biome at a block, like minecraft:forest
+     * @return The key, or null if the chunk could not be read
+     */
+    public String getBiomeKey(int x, int y, int z) {
+        RegionChunk chunk = getChunk(x >> 4, z >> 4);
+        if (chunk == null || y < minHeight || y >= maxHeight) {
+            return null;
+        }
+        return chunk.getBiomeKey(x & 15, y, z & 15);
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        RegionChunk chunk = getChunk(x >> 4, z >> 4);
+        if (chunk == null || y < minHeight || y >= maxHeight) {
+            return Material.VOID_AIR;
+        }
+        return chunk.getType(x & 15, y, z & 15);
+    }
+
+    /**
+     * Highest motion blocking block, like {@link World#getHighestBlockYAt(int, int)} and snapshots
+     */
+    @Override
+    public int getHighestBlockYAt(int x, int z) {
+        return getCanopyY(x, z);
+    }
+
+    @Override
+    public int getCanopyY(int x, int z) {
+        RegionChunk chunk = getChunk(x >> 4, z >> 4);
+        return chunk != null ? chunk.getCanopyY(x & 15, z & 15) : minHeight;
+    }
+
+    @Override
+    public int getGroundY(int x, int z) {
+        RegionChunk chunk = getChunk(x >> 4, z >> 4);
+        return chunk != null ? chunk.getGroundY(x & 15, z & 15) : minHeight;
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minHeight;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    @Override
+    public World getWorld() {
+        return world;
+    }
+
+    @Override
+    public void close() {
+        reader.close();
+        chunks.clear();
+    }
+
+    private static long chunkKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
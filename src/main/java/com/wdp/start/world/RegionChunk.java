@@ -0,0 +1,218 @@
+package com.wdp.start.world;
+
+import org.bukkit.Material;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Blocks, height maps and biomes of one chunk decoded from its saved NBT
+ *
+ * Sections keep their palettes and packed indices as stored, a block is unpacked when it
+ * is read. Only fully generated chunks are decoded; chunks still in world generation have
+ * no final height maps.
+ */
+public final class RegionChunk {
+
+    private static final Map<String, Material> MATERIALS_BY_NAME = new ConcurrentHashMap<>();
+
+    private final int minSection;
+    private final Section[] sections;
+    private final int[] canopy;  // MOTION_BLOCKING
+    private final int[] ground;  // MOTION_BLOCKING_NO_LEAVES
+
+    private RegionChunk(int minHeight, Section[] sections, int[] canopy, int[] ground) {
+        this.minSection = minHeight >> 4;
+        this.sections = sections;
+        this.canopy = canopy;
+        this.ground = ground;
+    }
+
+    /**
+     * Decode a chunk's root compound
+     * @param minHeight Lowest block Y of the world (inclusive)
+     * @param maxHeight Highest block Y of the world (exclusive)
+     * @return The chunk, or null if it is not fully generated or lacks the needed data
+     */
+    @SuppressWarnings("unchecked")
+    public static RegionChunk decode(Map<String, Object> nbt, int minHeight, int maxHeight) {
+        if (!(nbt.get("Status") instanceof String status) || !status.endsWith("full")) {
+            return null;
+        }
+        if (!(nbt.get("Heightmaps") instanceof Map<?, ?> heightmaps)) {
+            return null;
+        }
+
+        int heightBits = 32 - Integer.numberOfLeadingZeros(maxHeight - minHeight);
+        int[] canopy = unpackHeights(heightmaps.get("MOTION_BLOCKING"), heightBits, minHeight);
+        int[] ground = unpackHeights(heightmaps.get("MOTION_BLOCKING_NO_LEAVES"), heightBits, minHeight);
+        if (canopy == null || ground == null) {
+            return null;
+        }
+
+        Section[] sections = new Section[(maxHeight - minHeight) >> 4];
+        if (nbt.get("sections") instanceof List<?> list) {
+            for (Object entry : list) {
+                if (entry instanceof Map<?, ?> section && section.get("Y") instanceof Number y) {
+                    int index = y.intValue() - (minHeight >> 4);
+                    if (index >= 0 && index < sections.length) {
+                        sections[index] = Section.decode((Map<String, Object>) section);
+                    }
+                }
+            }
+        }
+        return new RegionChunk(minHeight, sections, canopy, ground);
+    }
+
+    /**
+     * Unpack a 256 column height map, entries never span two longs
+     */
+    private static int[] unpackHeights(Object data, int bits, int minHeight) {
+        if (!(data instanceof long[] packed)) {
+            return null;
+        }
+        int perLong = 64 / bits;
+        if (packed.length * perLong < 256) {
+            return null;
+        }
+
+        long mask = (1L << bits) - 1;
+        int[] heights = new int[256];
+        for (int i = 0; i < 256; i++) {
+            long value = (packed[i / perLong] >>> ((i % perLong) * bits)) & mask;
+            heights[i] = minHeight + (int) value - 1; // Stored as the first free Y above the world bottom
+        }
+        return heights;
+    }
+
+    private static int unpack(long[] data, int bits, int index) {
+        int perLong = 64 / bits;
+        int word = index / perLong;
+        if (word >= data.length) {
+            return 0;
+        }
+        return (int) ((data[word] >>> ((index % perLong) * bits)) & ((1L << bits) - 1));
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, paletteSize - 1));
+    }
+
+    private static Material materialOf(String name) {
+        return MATERIALS_BY_NAME.computeIfAbsent(name, key -> {
+            Material material = Material.matchMaterial(key);
+            return material != null ? material : Material.AIR;
+        });
+    }
+
+    /**
+     * Get the material of a block
+     * @param x Block X within the chunk (0-15)
+     * @param z Block Z within the chunk (0-15)
+     */
+    public Material getType(int x, int y, int z) {
+        int index = (y >> 4) - minSection;
+        if (index < 0 || index >= sections.length || sections[index] == null) {
+            return Material.AIR;
+        }
+        return sections[index].getType(x, y & 15, z);
+    }
+
+    /**
+     * Get the key of the biome at a block, like minecraft:forest
+     * @return The key, or null if the section has no biome data
+     */
+    public String getBiomeKey(int x, int y, int z) {
+        int index = (y >> 4) - minSection;
+        if (index < 0 || index >= sections.length || sections[index] == null) {
+            return null;
+        }
+        return sections[index].getBiome(x >> 2, (y & 15) >> 2, z >> 2);
+    }
+
+    /**
+     * Y of the highest block in a column, leaves included
+     * This is the MOTION_BLOCKING height map, the one loaded chunks and snapshots report as
+     * their highest block
+     */
+    public int getCanopyY(int x, int z) {
+        return canopy[(z << 4) | x];
+    }
+
+    /**
+     * Y of the highest block in a column ignoring leaves
+     */
+    public int getGroundY(int x, int z) {
+        return ground[(z << 4) | x];
+    }
+
+    /**
+     * One 16x16x16 section: block and biome palettes with their packed indices
+     */
+    private static final class Section {
+        private final Material[] blocks;
+        private final long[] blockData; // Null when the palette has one entry
+        private final int blockBits;
+        private final String[] biomes;
+        private final long[] biomeData;
+        private final int biomeBits;
+
+        private Section(Material[] blocks, long[] blockData, String[] biomes, long[] biomeData) {
+            this.blocks = blocks;
+            this.blockData = blockData;
+            this.blockBits = Math.max(4, bitsFor(blocks.length));
+            this.biomes = biomes;
+            this.biomeData = biomeData;
+            this.biomeBits = bitsFor(biomes.length);
+        }
+
+        static Section decode(Map<String, Object> nbt) {
+            Material[] blocks = {Material.AIR};
+            long[] blockData = null;
+            if (nbt.get("block_states") instanceof Map<?, ?> states && states.get("palette") instanceof List<?> palette &&
+                !palette.isEmpty()) {
+                blocks = new Material[palette.size()];
+                for (int i = 0; i < blocks.length; i++) {
+                    Object name = palette.get(i) instanceof Map<?, ?> state ? state.get("Name") : null;
+                    blocks[i] = name instanceof String blockName ? materialOf(blockName) : Material.AIR;
+                }
+                if (blocks.length > 1 && states.get("data") instanceof long[] data) {
+                    blockData = data;
+                }
+            }
+
+            String[] biomes = {};
+            long[] biomeData = null;
+            if (nbt.get("biomes") instanceof Map<?, ?> biomeStates && biomeStates.get("palette") instanceof List<?> palette) {
+                biomes = new String[palette.size()];
+                for (int i = 0; i < biomes.length; i++) {
+                    biomes[i] = palette.get(i) instanceof String key ? key : null;
+                }
+                if (biomes.length > 1 && biomeStates.get("data") instanceof long[] data) {
+                    biomeData = data;
+                }
+            }
+            return new Section(blocks, blockData, biomes, biomeData);
+        }
+
+        Material getType(int x, int y, int z) {
+            if (blockData == null) {
+                return blocks[0];
+            }
+            int index = unpack(blockData, blockBits, (y << 8) | (z << 4) | x);
+            return index < blocks.length ? blocks[index] : Material.AIR;
+        }
+
+        String getBiome(int cellX, int cellY, int cellZ) {
+            if (biomes.length == 0) {
+                return null;
+            }
+            if (biomeData == null) {
+                return biomes[0];
+            }
+            int index = unpack(biomeData, biomeBits, (cellY << 4) | (cellZ << 2) | cellX);
+            return index < biomes.length ? biomes[index] : null;
+        }
+    }
+}
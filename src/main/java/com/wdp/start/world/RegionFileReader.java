@@ -0,0 +1,158 @@
+package com.wdp.start.world;
+
+import org.bukkit.World;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read-only access to chunk NBT in a world's region files, without the server
+ *
+ * Region files are opened read-only and kept open until {@link #close()}; one reader
+ * belongs to one thread. The server may be writing the same files, a chunk caught half
+ * written fails to parse and is reported like a missing one by callers.
+ */
+public final class RegionFileReader implements AutoCloseable {
+
+    private static final int SECTOR_BYTES = 4096;
+
+    // Compression types of the chunk header, external chunks set the high bit
+    private static final int GZIP = 1;
+    private static final int ZLIB = 2;
+    private static final int NONE = 3;
+    private static final int EXTERNAL = 128;
+
+    private final Path regionFolder;
+    private final Map<Long, FileChannel> channels = new HashMap<>();
+
+    public RegionFileReader(Path regionFolder) {
+        this.regionFolder = regionFolder;
+    }
+
+    /**
+     * Region folder of a world (overworld, nether or end layout)
+     */
+    public static Path regionFolder(World world) {
+        File folder = world.getWorldFolder();
+        folder = switch (world.getEnvironment()) {
+            case NETHER -> new File(folder, "DIM-1");
+            case THE_END -> new File(folder, "DIM1");
+            default -> folder;
+        };
+        return new File(folder, "region").toPath();
+    }
+
+    /**
+     * Read the NBT of a chunk
+     * @return The chunk's root compound, or null if the chunk is not in its region file
+     */
+    public Map<String, Object> readChunk(int chunkX, int chunkZ) throws IOException {
+        FileChannel channel = getChannel(chunkX >> 5, chunkZ >> 5);
+        if (channel == null) {
+            return null;
+        }
+
+        // Location entry: 3 bytes sector offset, 1 byte sector count
+        ByteBuffer entry = ByteBuffer.allocate(4);
+        readFully(channel, entry, ((chunkX & 31) + (chunkZ & 31) * 32) * 4L);
+        int location = entry.getInt(0);
+        int sector = location >>> 8;
+        int sectors = location & 0xFF;
+        if (sector < 2 || sectors == 0) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(sectors * SECTOR_BYTES);
+        readFully(channel, data, (long) sector * SECTOR_BYTES);
+        int length = data.getInt(0);
+        int compression = data.get(4) & 0xFF;
+
+        InputStream raw;
+        if ((compression & EXTERNAL) != 0) {
+            // Chunk too large for the region file, stored next to it
+            Path external = regionFolder.resolve("c." + chunkX + "." + chunkZ + ".mcc");
+            if (!Files.exists(external)) {
+                return null;
+            }
+            raw = new BufferedInputStream(Files.newInputStream(external));
+        } else {
+            // External chunks keep only the compression type here, others need their data
+            if (length <= 1) {
+                return null;
+            }
+            if (length - 1 > data.capacity() - 5) {
+                throw new IOException("Chunk " + chunkX + ", " + chunkZ + " runs past its sectors");
+            }
+            raw = new ByteArrayInputStream(data.array(), 5, length - 1);
+        }
+
+        try (DataInputStream in = new DataInputStream(decompress(raw, compression & ~EXTERNAL))) {
+            return NbtReader.read(in);
+        }
+    }
+
+    private static InputStream decompress(InputStream raw, int compression) throws IOException {
+        return switch (compression) {
+            case GZIP -> new BufferedInputStream(new GZIPInputStream(raw));
+            case ZLIB -> new BufferedInputStream(new InflaterInputStream(raw));
+            case NONE -> raw;
+            default -> {
+                raw.close();
+                throw new IOException("Unsupported chunk compression: " + compression);
+            }
+        };
+    }
+
+    private FileChannel getChannel(int regionX, int regionZ) throws IOException {
+        long key = ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+        if (channels.containsKey(key)) {
+            return channels.get(key);
+        }
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(regionFolder.resolve("r." + regionX + "." + regionZ + ".mca"), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            channel = null;
+        }
+        channels.put(key, channel);
+        return channel;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Region file ends early");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (FileChannel channel : channels.values()) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Read-only, nothing to lose
+                }
+            }
+        }
+        channels.clear();
+    }
+}
@@ -0,0 +1,97 @@
+package com.wdp.start.world;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Block source reading chunk snapshots, safe to use off the main thread
+ *
+ * Add all snapshots before handing the source to another thread. Blocks in chunks
+ * without a snapshot are read from the fallback source, or as {@link Material#VOID_AIR}
+ * without one. Snapshots must be taken with the max block Y included for
+ * {@link #getHighestBlockYAt(int, int)} to work.
+ */
+public class SnapshotBlockSource implements BlockSource {
+
+    private final World world;
+    private final int minHeight;
+    private final int maxHeight;
+    private final BlockSource fallback;
+    private final Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+
+    /**
+     * @param world World the snapshots were taken from (heights are read here, on the calling thread)
+     */
+    public SnapshotBlockSource(World world) {
+        this(world, null);
+    }
+
+    /**
+     * @param world World the snapshots were taken from (heights are read here, on the calling thread)
+     * @param fallback Read for chunks without a snapshot, on the thread reading this source (null for none)
+     */
+    public SnapshotBlockSource(World world, BlockSource fallback) {
+        this.world = world;
+        this.minHeight = world.getMinHeight();
+        this.maxHeight = world.getMaxHeight();
+        this.fallback = fallback;
+    }
+
+    /**
+     * Add a snapshot, replacing any older one of the same chunk
+     */
+    public void add(ChunkSnapshot snapshot) {
+        snapshots.put(chunkKey(snapshot.getX(), snapshot.getZ()), snapshot);
+    }
+
+    /**
+     * Check if the chunk containing a block has a snapshot
+     */
+    public boolean contains(int x, int z) {
+        return snapshots.containsKey(chunkKey(x >> 4, z >> 4));
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        ChunkSnapshot snapshot = snapshots.get(chunkKey(x >> 4, z >> 4));
+        if (snapshot == null && fallback != null) {
+            return fallback.getType(x, y, z);
+        }
+        if (snapshot == null || y < minHeight || y >= maxHeight) {
+            return Material.VOID_AIR;
+        }
+        return snapshot.getBlockType(x & 15, y, z & 15);
+    }
+
+    @Override
+    public int getHighestBlockYAt(int x, int z) {
+        ChunkSnapshot snapshot = snapshots.get(chunkKey(x >> 4, z >> 4));
+        if (snapshot == null) {
+            return fallback != null ? fallback.getHighestBlockYAt(x, z) : minHeight;
+        }
+        return snapshot.getHighestBlockYAt(x & 15, z & 15);
+    }
+
+    @Override
+    public int getMinHeight() {
+        return minHeight;
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    @Override
+    public World getWorld() {
+        return world;
+    }
+
+    private static long chunkKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
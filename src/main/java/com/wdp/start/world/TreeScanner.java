@@ -0,0 +1,114 @@
+package com.wdp.start.world;
+
+import org.bukkit.Location;
+
+/**
+ * Tree detection used by the RTP destination search
+ *
+ * Trees are found from column heights: where the height with leaves is above the height
+ * without leaves, the column is under a canopy. Blocks are only read there, to find the
+ * trunk. Works on any {@link BlockSource}, so the same scan runs against the live world,
+ * chunk snapshots or a synthetic grid.
+ */
+public final class TreeScanner {
+
+    // Spacing of the sampled columns
+    public static final int SAMPLE_STEP = 5;
+
+    // How far from a canopy column a trunk is looked for
+    private static final int TRUNK_REACH = 2;
+
+    private TreeScanner() {
+    }
+
+    /**
+     * Find a tree trunk, searching outwards from a center column
+     * Column heights are worked out from the blocks, see {@link ColumnHeights#of(BlockSource)}
+     * @return Trunk block location (top log), or null if no tree was found
+     */
+    public static Location findNearbyTree(BlockSource blocks, int centerX, int centerZ, int searchRadius,
+                                          int minY, int maxY) {
+        return findNearbyTree(blocks, ColumnHeights.of(blocks), centerX, centerZ, searchRadius, minY, maxY);
+    }
+
+    /**
+     * Find a tree trunk, searching outwards from a center column
+     * @param heights Heights of at least every {@link #SAMPLE_STEP}-th column around the center
+     * @return Trunk block location (top log), or null if no tree was found
+     */
+    public static Location findNearbyTree(BlockSource blocks, ColumnHeights heights, int centerX, int centerZ,
+                                          int searchRadius, int minY, int maxY) {
+        return findNearbyTree(blocks, heights, centerX, centerZ, searchRadius, SAMPLE_STEP, minY, maxY);
+    }
+
+    /**
+     * Find a tree trunk, searching outwards from a center column
+     * @param heights Heights of at least every step-th column around the center
+     * @param step Spacing of the sampled columns, trees with a smaller canopy can be missed
+     * @return Trunk block location (top log), or null if no tree was found
+     */
+    public static Location findNearbyTree(BlockSource blocks, ColumnHeights heights, int centerX, int centerZ,
+                                          int searchRadius, int step, int minY, int maxY) {
+        // Spiral search pattern for efficiency
+        for (int radius = 0; radius <= searchRadius; radius += step) {
+            for (int dx = -radius; dx <= radius; dx += step) {
+                for (int dz = -radius; dz <= radius; dz += step) {
+                    if (Math.abs(dx) != radius && Math.abs(dz) != radius) continue; // Only check border
+
+                    int x = centerX + dx;
+                    int z = centerZ + dz;
+
+                    // Leaves on top of the column means a tree canopy
+                    int canopyY = heights.getCanopyY(x, z);
+                    if (canopyY < minY || canopyY > maxY) continue;
+                    int groundY = heights.getGroundY(x, z);
+                    if (canopyY <= groundY) continue;
+
+                    Location trunk = findTrunk(blocks, x, z, groundY, canopyY);
+                    if (trunk != null) {
+                        return trunk;
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Find the top log of a trunk under a canopy column
+     */
+    private static Location findTrunk(BlockSource blocks, int x, int z, int groundY, int canopyY) {
+        // Usually the column itself is the trunk, its height without leaves is then the top log
+        if ((blocks.getTraits(x, groundY, z) & MaterialTraits.TREE_LOG) != 0) {
+            return new Location(blocks.getWorld(), x, groundY, z);
+        }
+
+        for (int dx = -TRUNK_REACH; dx <= TRUNK_REACH; dx++) {
+            for (int dz = -TRUNK_REACH; dz <= TRUNK_REACH; dz++) {
+                for (int y = canopyY; y >= groundY; y--) {
+                    if ((blocks.getTraits(x + dx, y, z + dz) & MaterialTraits.TREE_LOG) != 0) {
+                        return new Location(blocks.getWorld(), x + dx, y, z + dz);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if there are leaves near a location (to verify it's a tree)
+     */
+    public static boolean hasLeavesNearby(BlockSource blocks, int x, int y, int z) {
+        for (int dx = -3; dx <= 3; dx++) {
+            for (int dy = 0; dy <= 5; dy++) {
+                for (int dz = -3; dz <= 3; dz++) {
+                    if ((blocks.getTraits(x + dx, y + dy, z + dz) & MaterialTraits.LEAVES) != 0) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.wdp.start.world;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * Block source reading a live world (main thread only)
+ */
+public class WorldBlockSource implements BlockSource {
+
+    private final World world;
+
+    public WorldBlockSource(World world) {
+        this.world = world;
+    }
+
+    @Override
+    public Material getType(int x, int y, int z) {
+        return world.getType(x, y, z);
+    }
+
+    @Override
+    public int getHighestBlockYAt(int x, int z) {
+        return world.getHighestBlockYAt(x, z);
+    }
+
+    @Override
+    public int getMinHeight() {
+        return world.getMinHeight();
+    }
+
+    @Override
+    public int getMaxHeight() {
+        return world.getMaxHeight();
+    }
+
+    @Override
+    public World getWorld() {
+        return world;
+    }
+}
@@ -0,0 +1,207 @@
+package com.wdp.start.path;
+
+import com.wdp.start.world.BlockSource;
+import com.wdp.start.world.MaterialTraits;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DStarLitePlannerTest {
+
+    private static final int SIZE = 32;
+    private static final int WALL_X = 16;
+    private static final int GAP_Z = 28;
+    private static final int LONG_SIZE = 160;
+
+    @BeforeAll
+    static void installTraits() {
+        MaterialTraits.load(Map.of(
+            Material.AIR, MaterialTraits.PASSABLE,
+            Material.STONE, MaterialTraits.SOLID | MaterialTraits.STONE));
+    }
+
+    @Test
+    void replanGoesAroundWallAfterChange() {
+        Grid grid = new Grid();
+        DStarLitePlanner planner = DStarLitePlanner.create(grid, at(2, 16), at(29, 16), 20000);
+        assertNotNull(planner);
+
+        List<Location> before = plan(planner, at(2, 16));
+        assertReaches(before, 29, 16);
+        assertTrue(before.stream().anyMatch(loc -> loc.getBlockX() == WALL_X && loc.getBlockZ() != GAP_Z),
+            "open field path should cross the wall line away from the gap");
+
+        // Two high wall with a single gap, too high to jump onto
+        for (int z = 0; z < SIZE; z++) {
+            if (z == GAP_Z) {
+                continue;
+            }
+            for (int y = 1; y <= 2; y++) {
+                grid.setSolid(WALL_X, y, z);
+                planner.onBlockChange(WALL_X, y, z);
+            }
+        }
+
+        List<Location> after = plan(planner, at(2, 16));
+        assertReaches(after, 29, 16);
+        for (Location loc : after) {
+            if (loc.getBlockX() == WALL_X) {
+                assertEquals(GAP_Z, loc.getBlockZ(), "path must pass the wall through the gap");
+            }
+        }
+        assertTrue(after.stream().anyMatch(loc -> loc.getBlockX() == WALL_X), "path must cross the wall line");
+    }
+
+    @Test
+    void replanFindsNothingOnceWalledOff() {
+        Grid grid = new Grid();
+        DStarLitePlanner planner = DStarLitePlanner.create(grid, at(2, 16), at(29, 16), 20000);
+        assertNotNull(planner);
+        assertReaches(plan(planner, at(2, 16)), 29, 16);
+
+        for (int z = 0; z < SIZE; z++) {
+            for (int y = 1; y <= 2; y++) {
+                grid.setSolid(WALL_X, y, z);
+                planner.onBlockChange(WALL_X, y, z);
+            }
+        }
+
+        assertTrue(plan(planner, at(2, 16)).isEmpty());
+    }
+
+    @Test
+    void replanAfterMovingKeepsReachingGoal() {
+        Grid grid = new Grid();
+        DStarLitePlanner planner = DStarLitePlanner.create(grid, at(2, 16), at(29, 16), 20000);
+        assertNotNull(planner);
+        assertReaches(plan(planner, at(2, 16)), 29, 16);
+
+        List<Location> moved = plan(planner, at(6, 10));
+        assertEquals(6, moved.get(0).getBlockX());
+        assertEquals(10, moved.get(0).getBlockZ());
+        assertReaches(moved, 29, 16);
+    }
+
+    @Test
+    void repairExpandsFewerNodesThanFreshSearch() {
+        // Long field crossed corner to corner, so many paths of the same cost exist
+        Grid grid = new Grid(LONG_SIZE, SIZE);
+        Location from = at(2, 1);
+        Location target = at(LONG_SIZE - 3, SIZE - 2);
+        DStarLitePlanner planner = DStarLitePlanner.create(grid, from, target, 200000);
+        assertNotNull(planner);
+        List<Location> before = plan(planner, from);
+        assertReaches(before, LONG_SIZE - 3, SIZE - 2);
+
+        // One pillar halfway along the path, too high to jump onto
+        Location blocked = before.get(before.size() / 2);
+        int bx = blocked.getBlockX();
+        int bz = blocked.getBlockZ();
+        for (int y = 1; y <= 2; y++) {
+            grid.setSolid(bx, y, bz);
+            planner.onBlockChange(bx, y, bz);
+        }
+
+        List<Location> repaired = plan(planner, from);
+        assertReaches(repaired, LONG_SIZE - 3, SIZE - 2);
+        assertTrue(repaired.stream().noneMatch(loc -> loc.getBlockX() == bx && loc.getBlockZ() == bz),
+            "repaired path must avoid the pillar");
+        int repairExpansions = planner.getLastExpansions();
+
+        DStarLitePlanner fresh = DStarLitePlanner.create(grid, from, target, 200000);
+        assertNotNull(fresh);
+        List<Location> freshPath = plan(fresh, from);
+        assertReaches(freshPath, LONG_SIZE - 3, SIZE - 2);
+        int freshExpansions = fresh.getLastExpansions();
+
+        assertEquals(freshPath.size(), repaired.size(), "repair must find a path as short as a fresh search");
+        assertTrue(repairExpansions > 0, "the change must be repaired");
+        assertTrue(repairExpansions * 4 <= freshExpansions,
+            "repair expanded " + repairExpansions + " nodes, a fresh search " + freshExpansions);
+    }
+
+    private static List<Location> plan(DStarLitePlanner planner, Location from) {
+        SlicedSearch search = planner.replan(from, 1000);
+        assertTrue(search.step(Long.MAX_VALUE));
+        return search.getResult();
+    }
+
+    private static void assertReaches(List<Location> path, int x, int z) {
+        assertFalse(path.isEmpty(), "no path found");
+        Location last = path.get(path.size() - 1);
+        assertEquals(x, last.getBlockX());
+        assertEquals(z, last.getBlockZ());
+    }
+
+    private static Location at(int x, int z) {
+        return new Location(null, x + 0.5, 1, z + 0.5);
+    }
+
+    /**
+     * Stone floor at y = 0 with air above, everything outside the floor is air
+     */
+    private static class Grid implements BlockSource {
+        private final int sizeX;
+        private final int sizeZ;
+        private final boolean[][][] solid;
+
+        Grid() {
+            this(SIZE, SIZE);
+        }
+
+        Grid(int sizeX, int sizeZ) {
+            this.sizeX = sizeX;
+            this.sizeZ = sizeZ;
+            this.solid = new boolean[sizeX][8][sizeZ];
+            for (int x = 0; x < sizeX; x++) {
+                for (int z = 0; z < sizeZ; z++) {
+                    solid[x][0][z] = true;
+                }
+            }
+        }
+
+        void setSolid(int x, int y, int z) {
+            solid[x][y][z] = true;
+        }
+
+        @Override
+        public Material getType(int x, int y, int z) {
+            if (x < 0 || x >= sizeX || y < 0 || y >= 8 || z < 0 || z >= sizeZ) {
+                return Material.AIR;
+            }
+            return solid[x][y][z] ? Material.STONE : Material.AIR;
+        }
+
+        @Override
+        public int getHighestBlockYAt(int x, int z) {
+            for (int y = 7; y >= 0; y--) {
+                if (getType(x, y, z) != Material.AIR) {
+                    return y;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public int getMinHeight() {
+            return -1;
+        }
+
+        @Override
+        public int getMaxHeight() {
+            return 8;
+        }
+
+        @Override
+        public World getWorld() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.wdp.start.world;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes maps, lists, boxed numbers, strings and arrays as NBT, the reverse of {@link NbtReader}
+ */
+final class NbtBytes {
+
+    private NbtBytes() {
+    }
+
+    /**
+     * Uncompressed bytes of a root compound with an empty name
+     */
+    static byte[] of(Map<String, Object> root) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(10);
+            out.writeUTF("");
+            writePayload(out, root);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int typeOf(Object value) {
+        if (value instanceof Byte) return 1;
+        if (value instanceof Short) return 2;
+        if (value instanceof Integer) return 3;
+        if (value instanceof Long) return 4;
+        if (value instanceof Float) return 5;
+        if (value instanceof Double) return 6;
+        if (value instanceof byte[]) return 7;
+        if (value instanceof String) return 8;
+        if (value instanceof List<?>) return 9;
+        if (value instanceof Map<?, ?>) return 10;
+        if (value instanceof int[]) return 11;
+        if (value instanceof long[]) return 12;
+        throw new IllegalArgumentException("No NBT type for " + value);
+    }
+
+    private static void writePayload(DataOutput out, Object value) throws IOException {
+        if (value instanceof Byte b) {
+            out.writeByte(b);
+        } else if (value instanceof Short s) {
+            out.writeShort(s);
+        } else if (value instanceof Integer i) {
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeLong(l);
+        } else if (value instanceof Float f) {
+            out.writeFloat(f);
+        } else if (value instanceof Double d) {
+            out.writeDouble(d);
+        } else if (value instanceof byte[] array) {
+            out.writeInt(array.length);
+            out.write(array);
+        } else if (value instanceof String s) {
+            out.writeUTF(s);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(list.isEmpty() ? 0 : typeOf(list.get(0)));
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writePayload(out, element);
+            }
+        } else if (value instanceof Map<?, ?> compound) {
+            for (Map.Entry<?, ?> entry : compound.entrySet()) {
+                out.writeByte(typeOf(entry.getValue()));
+                out.writeUTF((String) entry.getKey());
+                writePayload(out, entry.getValue());
+            }
+            out.writeByte(0);
+        } else if (value instanceof int[] array) {
+            out.writeInt(array.length);
+            for (int element : array) {
+                out.writeInt(element);
+            }
+        } else if (value instanceof long[] array) {
+            out.writeInt(array.length);
+            for (long element : array) {
+                out.writeLong(element);
+            }
+        } else {
+            throw new IllegalArgumentException("No NBT type for " + value);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.wdp.start.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NbtReaderTest {
+
+    @Test
+    void readsEveryTagType() throws IOException {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("Name", "minecraft:stone");
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("byte", (byte) -3);
+        root.put("short", (short) 1200);
+        root.put("int", 70000);
+        root.put("long", 1L << 40);
+        root.put("float", 1.5f);
+        root.put("double", -2.25);
+        root.put("bytes", new byte[] {1, 2, 3});
+        root.put("string", "minecraft:full");
+        root.put("list", List.of(nested, nested));
+        root.put("empty", List.of());
+        root.put("compound", nested);
+        root.put("ints", new int[] {-1, 0, 1});
+        root.put("longs", new long[] {Long.MIN_VALUE, 7L});
+
+        Map<String, Object> read = read(NbtBytes.of(root));
+
+        assertEquals((byte) -3, read.get("byte"));
+        assertEquals((short) 1200, read.get("short"));
+        assertEquals(70000, read.get("int"));
+        assertEquals(1L << 40, read.get("long"));
+        assertEquals(1.5f, read.get("float"));
+        assertEquals(-2.25, read.get("double"));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) read.get("bytes"));
+        assertEquals("minecraft:full", read.get("string"));
+        assertEquals(List.of(nested, nested), read.get("list"));
+        assertEquals(List.of(), read.get("empty"));
+        assertEquals(nested, read.get("compound"));
+        assertArrayEquals(new int[] {-1, 0, 1}, (int[]) read.get("ints"));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 7L}, (long[]) read.get("longs"));
+    }
+
+    @Test
+    void rootMustBeACompound() {
+        byte[] bytes = {8, 0, 0, 0, 1, 'a'};
+        assertThrows(IOException.class, () -> read(bytes));
+    }
+
+    @Test
+    void truncatedDataThrows() throws IOException {
+        byte[] bytes = NbtBytes.of(Map.of("longs", new long[] {1, 2, 3, 4}));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 10);
+        assertThrows(IOException.class, () -> read(truncated));
+    }
+
+    @Test
+    void negativeLengthThrows() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(10);
+            out.writeUTF("");
+            out.writeByte(12);
+            out.writeUTF("data");
+            out.writeInt(-1);
+        }
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+    }
+
+    @Test
+    void unknownTagThrows() {
+        byte[] bytes = {10, 0, 0, 13, 0, 1, 'x', 0};
+        assertThrows(IOException.class, () -> read(bytes));
+    }
+
+    @Test
+    void deepNestingThrows() throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        Map<String, Object> inner = root;
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> next = new LinkedHashMap<>();
+            inner.put("c", next);
+            inner = next;
+        }
+        byte[] bytes = NbtBytes.of(root);
+        assertThrows(IOException.class, () -> read(bytes));
+    }
+
+    private static Map<String, Object> read(byte[] bytes) throws IOException {
+        return NbtReader.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,210 @@
+package com.wdp.start.world;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionChunkTest {
+
+    private static final int MIN_HEIGHT = -64;
+    private static final int MAX_HEIGHT = 320;
+
+    // Height map entries for 384 blocks of height: 9 bits, 7 per long
+    private static final int HEIGHT_BITS = 9;
+
+    private static final List<String> WIDE_PALETTE = List.of(
+        "minecraft:air", "minecraft:stone", "minecraft:dirt", "minecraft:grass_block", "minecraft:oak_log",
+        "minecraft:oak_leaves", "minecraft:water", "minecraft:lava", "minecraft:sand", "minecraft:gravel",
+        "minecraft:granite", "minecraft:diorite", "minecraft:andesite", "minecraft:deepslate", "minecraft:bedrock",
+        "minecraft:cobblestone", "minecraft:birch_log", "minecraft:birch_leaves", "minecraft:spruce_log",
+        "minecraft:spruce_leaves", "minecraft:jungle_log", "minecraft:jungle_leaves", "minecraft:acacia_log",
+        "minecraft:acacia_leaves", "minecraft:dark_oak_log", "minecraft:dark_oak_leaves", "minecraft:cactus",
+        "minecraft:snow", "minecraft:glass", "minecraft:oak_planks", "minecraft:magma_block", "minecraft:cobweb",
+        "minecraft:smooth_stone", "minecraft:stone_bricks", "minecraft:fire", "minecraft:campfire");
+
+    @Test
+    void singleEntryPaletteFillsTheSection() {
+        Map<String, Object> section = section(0, List.of("minecraft:stone"), null);
+        RegionChunk chunk = decode(chunk(List.of(section)));
+
+        assertEquals(Material.STONE, chunk.getType(0, 0, 0));
+        assertEquals(Material.STONE, chunk.getType(15, 15, 15));
+        assertEquals(Material.AIR, chunk.getType(3, 16, 3), "sections without data are air");
+        assertEquals(Material.AIR, chunk.getType(3, MIN_HEIGHT, 3));
+    }
+
+    @Test
+    void smallPalettesUseFourBits() {
+        // Two entries would fit one bit, block indices never use fewer than four
+        int[] indices = new int[4096];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = blockX(i) == blockY(i) ? 1 : 0;
+        }
+        Map<String, Object> section = section(4, List.of("minecraft:air", "minecraft:oak_log"), pack(indices, 4));
+        RegionChunk chunk = decode(chunk(List.of(section)));
+
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                assertEquals(x == y ? Material.OAK_LOG : Material.AIR, chunk.getType(x, 64 + y, 7));
+            }
+        }
+    }
+
+    @Test
+    void widePalettesUseFiveAndMoreBits() {
+        for (int size : new int[] {17, 33}) {
+            int bits = size <= 32 ? 5 : 6;
+            List<String> palette = WIDE_PALETTE.subList(0, size);
+            int[] indices = new int[4096];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = i % size;
+            }
+            Map<String, Object> section = section(-1, palette, pack(indices, bits));
+            RegionChunk chunk = decode(chunk(List.of(section)));
+
+            for (int i = 0; i < indices.length; i += 37) {
+                Material expected = Material.matchMaterial(palette.get(indices[i]));
+                assertEquals(expected, chunk.getType(blockX(i), -16 + blockY(i), blockZ(i)), size + " entries at " + i);
+            }
+        }
+    }
+
+    @Test
+    void biomePalettesUseOneBitAndUp() {
+        int[] cells = new int[64];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (i & 3) == ((i >> 2) & 3) ? 1 : 0; // Forest where cell X equals cell Z
+        }
+        Map<String, Object> section = section(0, List.of("minecraft:stone"), null);
+        section.put("biomes", biomes(List.of("minecraft:plains", "minecraft:forest"), pack(cells, 1)));
+        RegionChunk chunk = decode(chunk(List.of(section)));
+
+        assertEquals("minecraft:forest", chunk.getBiomeKey(0, 0, 0));
+        assertEquals("minecraft:forest", chunk.getBiomeKey(13, 9, 12));
+        assertEquals("minecraft:plains", chunk.getBiomeKey(4, 0, 0));
+        assertEquals("minecraft:plains", chunk.getBiomeKey(0, 15, 15));
+        assertNull(chunk.getBiomeKey(0, 16, 0), "sections without data have no biome");
+    }
+
+    @Test
+    void heightMapsAreDecodedAboveTheWorldBottom() {
+        int[] canopy = new int[256];
+        int[] ground = new int[256];
+        for (int i = 0; i < 256; i++) {
+            canopy[i] = 70 + (i % 16) + (i / 16);
+            ground[i] = i == 0 ? MIN_HEIGHT - 1 : 64;
+        }
+        RegionChunk chunk = decode(chunk(List.of(), canopy, ground));
+
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                assertEquals(70 + x + z, chunk.getCanopyY(x, z));
+            }
+        }
+        assertEquals(MIN_HEIGHT - 1, chunk.getGroundY(0, 0), "empty column");
+        assertEquals(64, chunk.getGroundY(15, 15));
+    }
+
+    @Test
+    void unfinishedChunksAreNotDecoded() {
+        Map<String, Object> proto = chunk(List.of());
+        proto.put("Status", "minecraft:features");
+        assertNull(RegionChunk.decode(proto, MIN_HEIGHT, MAX_HEIGHT));
+
+        Map<String, Object> noHeights = chunk(List.of());
+        noHeights.remove("Heightmaps");
+        assertNull(RegionChunk.decode(noHeights, MIN_HEIGHT, MAX_HEIGHT));
+
+        Map<String, Object> shortHeights = chunk(List.of());
+        shortHeights.put("Heightmaps", Map.of("MOTION_BLOCKING", new long[10], "MOTION_BLOCKING_NO_LEAVES", new long[10]));
+        assertNull(RegionChunk.decode(shortHeights, MIN_HEIGHT, MAX_HEIGHT));
+    }
+
+    private static RegionChunk decode(Map<String, Object> nbt) {
+        RegionChunk chunk = RegionChunk.decode(nbt, MIN_HEIGHT, MAX_HEIGHT);
+        assertNotNull(chunk);
+        return chunk;
+    }
+
+    private static Map<String, Object> chunk(List<Map<String, Object>> sections) {
+        int[] flat = new int[256];
+        Arrays.fill(flat, 64);
+        return chunk(sections, flat, flat);
+    }
+
+    private static Map<String, Object> chunk(List<Map<String, Object>> sections, int[] canopy, int[] ground) {
+        Map<String, Object> heightmaps = new LinkedHashMap<>();
+        heightmaps.put("MOTION_BLOCKING", packHeights(canopy));
+        heightmaps.put("MOTION_BLOCKING_NO_LEAVES", packHeights(ground));
+        Map<String, Object> nbt = new LinkedHashMap<>();
+        nbt.put("Status", "minecraft:full");
+        nbt.put("Heightmaps", heightmaps);
+        nbt.put("sections", new ArrayList<Object>(sections));
+        return nbt;
+    }
+
+    private static Map<String, Object> section(int y, List<String> palette, long[] data) {
+        List<Object> states = new ArrayList<>();
+        for (String name : palette) {
+            states.add(Map.of("Name", name));
+        }
+        Map<String, Object> blockStates = new LinkedHashMap<>();
+        blockStates.put("palette", states);
+        if (data != null) {
+            blockStates.put("data", data);
+        }
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("Y", (byte) y);
+        section.put("block_states", blockStates);
+        return section;
+    }
+
+    private static Map<String, Object> biomes(List<String> palette, long[] data) {
+        Map<String, Object> biomes = new LinkedHashMap<>();
+        biomes.put("palette", new ArrayList<Object>(palette));
+        biomes.put("data", data);
+        return biomes;
+    }
+
+    /**
+     * Height map entries are stored as the first free Y above the world bottom
+     */
+    private static long[] packHeights(int[] heights) {
+        int[] stored = new int[heights.length];
+        for (int i = 0; i < heights.length; i++) {
+            stored[i] = heights[i] - MIN_HEIGHT + 1;
+        }
+        return pack(stored, HEIGHT_BITS);
+    }
+
+    /**
+     * Pack values the way chunks store them, low bits first and never across two longs
+     */
+    private static long[] pack(int[] values, int bits) {
+        int perLong = 64 / bits;
+        long[] data = new long[(values.length + perLong - 1) / perLong];
+        for (int i = 0; i < values.length; i++) {
+            data[i / perLong] |= (long) values[i] << ((i % perLong) * bits);
+        }
+        return data;
+    }
+
+    private static int blockX(int index) {
+        return index & 15;
+    }
+
+    private static int blockZ(int index) {
+        return (index >> 4) & 15;
+    }
+
+    private static int blockY(int index) {
+        return index >> 8;
+    }
+}
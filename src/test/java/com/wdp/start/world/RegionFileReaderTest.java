@@ -0,0 +1,198 @@
+package com.wdp.start.world;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionFileReaderTest {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int GZIP = 1;
+    private static final int ZLIB = 2;
+    private static final int NONE = 3;
+    private static final int EXTERNAL = 128;
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void readsEveryCompression() throws IOException {
+        Region region = new Region();
+        region.put(0, 0, entry(ZLIB, zlib(chunkNbt(0, 0))));
+        region.put(1, 0, entry(GZIP, gzip(chunkNbt(1, 0))));
+        region.put(31, 31, entry(NONE, NbtBytes.of(chunkNbt(31, 31))));
+        region.write(folder.resolve("r.0.0.mca"));
+
+        try (RegionFileReader reader = new RegionFileReader(folder)) {
+            assertEquals(chunkNbt(0, 0), reader.readChunk(0, 0));
+            assertEquals(chunkNbt(1, 0), reader.readChunk(1, 0));
+            assertEquals(chunkNbt(31, 31), reader.readChunk(31, 31));
+        }
+    }
+
+    @Test
+    void findsNegativeChunksInTheirRegion() throws IOException {
+        Region region = new Region();
+        region.put(31, 31, entry(ZLIB, zlib(chunkNbt(-1, -1))));
+        region.write(folder.resolve("r.-1.-1.mca"));
+
+        try (RegionFileReader reader = new RegionFileReader(folder)) {
+            assertEquals(chunkNbt(-1, -1), reader.readChunk(-1, -1));
+            assertNull(reader.readChunk(-32, -32));
+        }
+    }
+
+    @Test
+    void missingChunksAndRegionsAreNull() throws IOException {
+        Region region = new Region();
+        region.put(0, 0, entry(ZLIB, zlib(chunkNbt(0, 0))));
+        region.write(folder.resolve("r.0.0.mca"));
+
+        try (RegionFileReader reader = new RegionFileReader(folder)) {
+            assertNull(reader.readChunk(5, 5), "no location entry");
+            assertNull(reader.readChunk(40, 0), "no region file");
+        }
+    }
+
+    @Test
+    void externalChunksAreReadNextToTheRegion() throws IOException {
+        Map<String, Object> large = chunkNbt(3, 4);
+        large.put("padding", new long[SECTOR_BYTES]); // More than a region entry can hold
+        Region region = new Region();
+        region.put(3, 4, external(ZLIB));
+        region.put(5, 4, external(ZLIB));
+        region.write(folder.resolve("r.0.0.mca"));
+        Files.write(folder.resolve("c.3.4.mcc"), zlib(large));
+
+        try (RegionFileReader reader = new RegionFileReader(folder)) {
+            Map<String, Object> read = reader.readChunk(3, 4);
+            assertNotNull(read);
+            assertEquals(3, read.get("xPos"));
+            assertArrayEquals(new long[SECTOR_BYTES], (long[]) read.get("padding"));
+            assertNull(reader.readChunk(5, 4), "external file missing");
+        }
+    }
+
+    @Test
+    void entriesLongerThanTheirSectorsThrow() throws IOException {
+        byte[] entry = entry(ZLIB, zlib(chunkNbt(0, 0)));
+        ByteBuffer.wrap(entry).putInt(0, SECTOR_BYTES * 3); // Claims more than its one sector
+        Region region = new Region();
+        region.put(0, 0, entry);
+        region.write(folder.resolve("r.0.0.mca"));
+
+        try (RegionFileReader reader = new RegionFileReader(folder)) {
+            assertThrows(IOException.class, () -> reader.readChunk(0, 0));
+        }
+    }
+
+    @Test
+    void truncatedEntriesThrow() throws IOException {
+        // The header points at two sectors, the file ends inside the first
+        Region region = new Region();
+        region.put(0, 0, entry(ZLIB, zlib(chunkNbt(0, 0))));
+        region.putLocation(1, 0, 3, 2);
+        Path file = folder.resolve("r.0.0.mca");
+        region.write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, 3 * SECTOR_BYTES + 100));
+
+        // The compressed data stops halfway
+        byte[] compressed = zlib(chunkNbt(2, 0));
+        byte[] cut = entry(ZLIB, Arrays.copyOf(compressed, compressed.length / 2));
+        Region halfWritten = new Region();
+        halfWritten.put(2, 0, cut);
+        halfWritten.write(folder.resolve("r.1.0.mca"));
+
+        try (RegionFileReader reader = new RegionFileReader(folder)) {
+            assertEquals(chunkNbt(0, 0), reader.readChunk(0, 0));
+            assertThrows(IOException.class, () -> reader.readChunk(1, 0));
+            assertThrows(IOException.class, () -> reader.readChunk(34, 0));
+        }
+    }
+
+    private static Map<String, Object> chunkNbt(int chunkX, int chunkZ) {
+        Map<String, Object> nbt = new LinkedHashMap<>();
+        nbt.put("xPos", chunkX);
+        nbt.put("zPos", chunkZ);
+        nbt.put("Status", "minecraft:full");
+        nbt.put("sections", List.of(Map.of("Y", (byte) 4)));
+        return nbt;
+    }
+
+    /**
+     * Chunk entry as stored in its sectors: length, compression type, data
+     */
+    private static byte[] entry(int compression, byte[] data) {
+        ByteBuffer entry = ByteBuffer.allocate(5 + data.length);
+        entry.putInt(data.length + 1);
+        entry.put((byte) compression);
+        entry.put(data);
+        return entry.array();
+    }
+
+    /**
+     * Entry of a chunk stored in its own .mcc file, only the compression type is kept
+     */
+    private static byte[] external(int compression) {
+        return entry(compression | EXTERNAL, new byte[0]);
+    }
+
+    private static byte[] zlib(Map<String, Object> nbt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(NbtBytes.of(nbt));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gzip(Map<String, Object> nbt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(NbtBytes.of(nbt));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Region file being built: the 8 KiB header, then each entry padded to whole sectors
+     */
+    private static class Region {
+        private final ByteBuffer header = ByteBuffer.allocate(2 * SECTOR_BYTES);
+        private final ByteArrayOutputStream sectors = new ByteArrayOutputStream();
+        private int nextSector = 2;
+
+        void put(int localX, int localZ, byte[] entry) {
+            int count = (entry.length + SECTOR_BYTES - 1) / SECTOR_BYTES;
+            putLocation(localX, localZ, nextSector, count);
+            sectors.writeBytes(entry);
+            sectors.writeBytes(new byte[count * SECTOR_BYTES - entry.length]);
+            nextSector += count;
+        }
+
+        void putLocation(int localX, int localZ, int sector, int count) {
+            header.putInt((localX + localZ * 32) * 4, (sector << 8) | count);
+        }
+
+        void write(Path file) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            bytes.writeBytes(header.array());
+            bytes.writeBytes(sectors.toByteArray());
+            Files.write(file, bytes.toByteArray());
+        }
+    }
+}